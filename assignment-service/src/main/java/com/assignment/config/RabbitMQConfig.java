@@ -1,16 +1,16 @@
 package com.assignment.config;
 
+import com.ticket.codec.EventFormat;
+import com.ticket.codec.EventMessageConverters;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 @Configuration
 public class RabbitMQConfig {
@@ -30,6 +30,9 @@ public class RabbitMQConfig {
     public static final String TICKET_ASSIGNED_KEY = "ticket.assigned";
     public static final String TICKET_STATUS_CHANGED_KEY = "ticket.status.changed";
     
+    @Value("${ticket.events.format:json}")
+    private String eventFormat;
+    
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(EXCHANGE, true, false);
@@ -73,9 +76,7 @@ public class RabbitMQConfig {
     
     @Bean
     public MessageConverter messageConverter() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return new Jackson2JsonMessageConverter(objectMapper);
+        return EventMessageConverters.create(EventFormat.fromString(eventFormat));
     }
     
     @Bean
@@ -1,12 +1,12 @@
 package com.notification.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ticket.codec.EventFormat;
+import com.ticket.codec.EventMessageConverters;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -25,6 +25,9 @@ public class RabbitMQConfig {
 
     public static final String TICKET_ESCALATED_KEY="ticket.escalated";
     
+    @Value("${ticket.events.format:json}")
+    private String eventFormat;
+    
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(EXCHANGE);
@@ -79,9 +82,7 @@ public class RabbitMQConfig {
     
     @Bean
     public MessageConverter messageConverter() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return new Jackson2JsonMessageConverter(objectMapper);
+        return EventMessageConverters.create(EventFormat.fromString(eventFormat));
     }
     
     @Bean
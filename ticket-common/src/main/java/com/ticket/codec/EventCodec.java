@@ -0,0 +1,73 @@
+package com.ticket.codec;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.time.temporal.Temporal;
+
+/**
+ * Encodes and decodes events in one {@link EventFormat}.
+ *
+ * JSON is written exactly as before. The binary formats also drop the string date patterns
+ * that the events declare for JSON readers: dates go out as numeric arrays, which Smile and
+ * CBOR store in a few bytes each.
+ */
+public class EventCodec {
+
+    private final EventFormat format;
+    private final ObjectMapper objectMapper;
+
+    public EventCodec(EventFormat format) {
+        this.format = format;
+        this.objectMapper = createObjectMapper(format);
+    }
+
+    public EventFormat getFormat() {
+        return format;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public byte[] encode(Object event) throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    public <T> T decode(byte[] payload, Class<T> type) throws IOException {
+        return objectMapper.readValue(payload, type);
+    }
+
+    static ObjectMapper createObjectMapper(EventFormat format) {
+        ObjectMapper objectMapper = switch (format) {
+            case JSON -> new ObjectMapper();
+            case SMILE -> new SmileMapper();
+            case CBOR -> new CBORMapper();
+        };
+        objectMapper.registerModule(new JavaTimeModule());
+        if (format != EventFormat.JSON) {
+            objectMapper.setAnnotationIntrospector(new NumericDatesIntrospector());
+        }
+        return objectMapper;
+    }
+
+    /**
+     * Ignores @JsonFormat on date/time properties so they keep the compact numeric form
+     */
+    private static class NumericDatesIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public JsonFormat.Value findFormat(Annotated annotated) {
+            if (Temporal.class.isAssignableFrom(annotated.getRawType())) {
+                return JsonFormat.Value.empty();
+            }
+            return super.findFormat(annotated);
+        }
+    }
+}
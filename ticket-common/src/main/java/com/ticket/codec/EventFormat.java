@@ -0,0 +1,33 @@
+package com.ticket.codec;
+
+/**
+ * Wire formats for inter-service events, identified by the AMQP content type.
+ *
+ * Each service writes the format named by ticket.events.format (json, smile or cbor; json by
+ * default) and reads all three, so producers can be switched one service at a time.
+ */
+public enum EventFormat {
+
+    JSON("application/json"),
+    SMILE("application/x-jackson-smile"),
+    CBOR("application/cbor");
+
+    private final String contentType;
+
+    EventFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static EventFormat fromString(String value) {
+        for (EventFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported event format: " + value);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ticket.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+
+/**
+ * The AMQP message converter every service uses for events.
+ *
+ * Incoming messages are decoded by their content type, so JSON and binary producers can run
+ * side by side during a rollout; outgoing messages use the configured format. All formats
+ * carry the usual __TypeId__ header, so type-based listeners work unchanged.
+ */
+public final class EventMessageConverters {
+
+    private EventMessageConverters() {
+    }
+
+    public static MessageConverter create(EventFormat writeFormat) {
+        ContentTypeDelegatingMessageConverter converter =
+                new ContentTypeDelegatingMessageConverter(converterFor(writeFormat));
+        for (EventFormat format : EventFormat.values()) {
+            converter.addDelegate(format.getContentType(), converterFor(format));
+        }
+        return converter;
+    }
+
+    static MessageConverter converterFor(EventFormat format) {
+        ObjectMapper objectMapper = EventCodec.createObjectMapper(format);
+        if (format == EventFormat.JSON) {
+            return new Jackson2JsonMessageConverter(objectMapper);
+        }
+        return new BinaryJackson2MessageConverter(objectMapper, format);
+    }
+
+    /**
+     * Jackson converter for a binary data format. AbstractJackson2MessageConverter goes through
+     * strings for text encodings, so this one reads and writes the bytes itself, resolving the
+     * target type from the listener argument or the __TypeId__ header like the JSON converter.
+     */
+    private static class BinaryJackson2MessageConverter extends AbstractMessageConverter {
+
+        private final ObjectMapper objectMapper;
+        private final String contentType;
+        private final DefaultJackson2JavaTypeMapper javaTypeMapper = new DefaultJackson2JavaTypeMapper();
+
+        BinaryJackson2MessageConverter(ObjectMapper objectMapper, EventFormat format) {
+            this.objectMapper = objectMapper;
+            this.contentType = format.getContentType();
+            this.javaTypeMapper.setTrustedPackages("*");
+        }
+
+        @Override
+        protected Message createMessage(Object object, MessageProperties messageProperties) {
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(object);
+            } catch (IOException e) {
+                throw new MessageConversionException("Failed to convert event to " + contentType, e);
+            }
+            messageProperties.setContentType(contentType);
+            messageProperties.setContentLength(body.length);
+            javaTypeMapper.fromJavaType(objectMapper.constructType(object.getClass()), messageProperties);
+            return new Message(body, messageProperties);
+        }
+
+        @Override
+        public Object fromMessage(Message message) {
+            try {
+                return objectMapper.readValue(message.getBody(),
+                        javaTypeMapper.toJavaType(message.getMessageProperties()));
+            } catch (IOException e) {
+                throw new MessageConversionException("Failed to convert " + contentType + " message", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ticket.codec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost per event class and format. main() prints payload sizes first, then runs JMH:
+ *
+ *   mvn -pl ticket-common test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.ticket.codec.EventCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private EventFormat format;
+
+    @Param({"TicketCreatedEvent", "TicketAssignedEvent", "TicketStatusChangedEvent", "CommentAddedEvent",
+            "TicketEscalatedEvent", "SlaWarningEvent", "SlaBreachEvent"})
+    private String eventClass;
+
+    private EventCodec codec;
+    private Object event;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        codec = new EventCodec(format);
+        event = EventSamples.all().stream()
+                .filter(sample -> sample.getClass().getSimpleName().equals(eventClass))
+                .findFirst()
+                .orElseThrow();
+        payload = codec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return codec.encode(event);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return codec.decode(payload, event.getClass());
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-26s %8s %8s %8s%n", "payload bytes", "JSON", "SMILE", "CBOR");
+        for (Object sample : EventSamples.all()) {
+            System.out.printf("%-26s %8d %8d %8d%n", sample.getClass().getSimpleName(),
+                    new EventCodec(EventFormat.JSON).encode(sample).length,
+                    new EventCodec(EventFormat.SMILE).encode(sample).length,
+                    new EventCodec(EventFormat.CBOR).encode(sample).length);
+        }
+        new Runner(new OptionsBuilder().include(EventCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
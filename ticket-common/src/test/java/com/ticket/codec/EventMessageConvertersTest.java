@@ -0,0 +1,96 @@
+package com.ticket.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.event.TicketCreatedEvent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventMessageConvertersTest {
+
+    private final ObjectMapper jsonMapper = EventCodec.createObjectMapper(EventFormat.JSON);
+
+    private JsonNode tree(Object event) {
+        return jsonMapper.valueToTree(event);
+    }
+
+    // ==================== ROUND TRIP TESTS ====================
+
+    @ParameterizedTest
+    @EnumSource(EventFormat.class)
+    void testRoundTrip_EveryEventClass(EventFormat format) throws Exception {
+        // Arrange
+        MessageConverter converter = EventMessageConverters.create(format);
+
+        for (Object event : EventSamples.all()) {
+            // Act
+            Message message = converter.toMessage(event, new MessageProperties());
+            Object decoded = converter.fromMessage(message);
+
+            // Assert
+            assertEquals(format.getContentType(), message.getMessageProperties().getContentType());
+            assertEquals(event.getClass().getName(), message.getMessageProperties().getHeader("__TypeId__"));
+            assertEquals(event.getClass(), decoded.getClass());
+            assertEquals(tree(event), tree(decoded), event.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testJson_WireFormatUnchanged() {
+        // Arrange
+        MessageConverter converter = EventMessageConverters.create(EventFormat.JSON);
+
+        // Act
+        Message message = converter.toMessage(EventSamples.ticketCreated(), new MessageProperties());
+
+        // Assert
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"createdAt\":\"2024-03-14T09:26:53\""));
+        assertTrue(body.contains("\"ticketNumber\":\"TKT-20240314-00042\""));
+    }
+
+    // ==================== CONTENT TYPE TESTS ====================
+
+    @Test
+    void testFromMessage_SelectsCodecByContentType() {
+        // Arrange: a JSON consumer receiving from a producer that already switched to CBOR
+        MessageConverter producer = EventMessageConverters.create(EventFormat.CBOR);
+        MessageConverter consumer = EventMessageConverters.create(EventFormat.JSON);
+        Message message = producer.toMessage(EventSamples.ticketCreated(), new MessageProperties());
+
+        // Act
+        Object decoded = consumer.fromMessage(message);
+
+        // Assert
+        TicketCreatedEvent event = assertInstanceOf(TicketCreatedEvent.class, decoded);
+        assertEquals("TKT-20240314-00042", event.getTicketNumber());
+        assertEquals(EventSamples.ticketCreated().getCreatedAt(), event.getCreatedAt());
+    }
+
+    @Test
+    void testBinaryFormats_SmallerThanJson() throws Exception {
+        EventCodec json = new EventCodec(EventFormat.JSON);
+        for (EventFormat format : new EventFormat[] {EventFormat.SMILE, EventFormat.CBOR}) {
+            EventCodec binary = new EventCodec(format);
+            for (Object event : EventSamples.all()) {
+                assertTrue(binary.encode(event).length < json.encode(event).length,
+                        format + " " + event.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    void testEventFormatFromString() {
+        assertEquals(EventFormat.SMILE, EventFormat.fromString("smile"));
+        assertThrows(IllegalArgumentException.class, () -> EventFormat.fromString("avro"));
+    }
+}
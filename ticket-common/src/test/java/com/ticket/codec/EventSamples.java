@@ -0,0 +1,107 @@
+package com.ticket.codec;
+
+import com.ticket.event.CommentAddedEvent;
+import com.ticket.event.SlaBreachEvent;
+import com.ticket.event.SlaWarningEvent;
+import com.ticket.event.TicketAssignedEvent;
+import com.ticket.event.TicketCreatedEvent;
+import com.ticket.event.TicketEscalatedEvent;
+import com.ticket.event.TicketStatusChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One realistic instance of every event class, shared by the codec test and benchmark
+ */
+final class EventSamples {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 3, 14, 9, 26, 53);
+
+    private EventSamples() {
+    }
+
+    static List<Object> all() {
+        return List.of(ticketCreated(), ticketAssigned(), ticketStatusChanged(), commentAdded(),
+                ticketEscalated(), slaWarning(), slaBreach());
+    }
+
+    static TicketCreatedEvent ticketCreated() {
+        return new TicketCreatedEvent("65f2c1a9e4b0a1b2c3d4e5f6", "TKT-20240314-00042", "VPN drops every 10 minutes",
+                "Since this morning the VPN client disconnects roughly every ten minutes.",
+                "65f2c0d1e4b0a1b2c3d4e001", "jdoe", "NETWORK_ISSUE", "HIGH", AT);
+    }
+
+    static TicketAssignedEvent ticketAssigned() {
+        return new TicketAssignedEvent("65f2c1a9e4b0a1b2c3d4e5f6", "TKT-20240314-00042",
+                "65f2c0d1e4b0a1b2c3d4e002", "asmith", "SYSTEM", "AutoAssignment", "AUTO", AT);
+    }
+
+    static TicketStatusChangedEvent ticketStatusChanged() {
+        return new TicketStatusChangedEvent("65f2c1a9e4b0a1b2c3d4e5f6", "TKT-20240314-00042", "ASSIGNED",
+                "IN_PROGRESS", "65f2c0d1e4b0a1b2c3d4e002", "asmith", "Looking into the VPN gateway logs", AT);
+    }
+
+    static CommentAddedEvent commentAdded() {
+        return new CommentAddedEvent("65f2c3b7e4b0a1b2c3d4e700", "65f2c1a9e4b0a1b2c3d4e5f6", "TKT-20240314-00042",
+                "65f2c0d1e4b0a1b2c3d4e002", "asmith", "Can you send the client log from %APPDATA%?", false, AT);
+    }
+
+    static TicketEscalatedEvent ticketEscalated() {
+        TicketEscalatedEvent event = new TicketEscalatedEvent();
+        event.setTicketId("65f2c1a9e4b0a1b2c3d4e5f6");
+        event.setTicketNumber("TKT-20240314-00042");
+        event.setTitle("VPN drops every 10 minutes");
+        event.setCategory("NETWORK_ISSUE");
+        event.setPriority("HIGH");
+        event.setEscalationType("SLA_BREACH");
+        event.setEscalationReason("No progress for two days");
+        event.setEscalatedBy("65f2c0d1e4b0a1b2c3d4e001");
+        event.setEscalatedByUsername("jdoe");
+        event.setEscalatedToUserId("65f2c0d1e4b0a1b2c3d4e003");
+        event.setEscalatedToUsername("mmanager");
+        event.setEscalatedToEmail("mmanager@example.com");
+        event.setPreviousAgentId("65f2c0d1e4b0a1b2c3d4e002");
+        event.setPreviousAgentUsername("asmith");
+        event.setEscalatedAt(AT);
+        return event;
+    }
+
+    static SlaWarningEvent slaWarning() {
+        SlaWarningEvent event = new SlaWarningEvent();
+        event.setTrackingId("65f2c4c8e4b0a1b2c3d4e800");
+        event.setTicketId("65f2c1a9e4b0a1b2c3d4e5f6");
+        event.setTicketNumber("TKT-20240314-00042");
+        event.setPriority("HIGH");
+        event.setCategory("NETWORK_ISSUE");
+        event.setWarningType("RESOLUTION");
+        event.setDueAt(AT.plusHours(8));
+        event.setMinutesRemaining(96);
+        event.setPercentageTimeUsed(80.0);
+        event.setAssignedAgentId("65f2c0d1e4b0a1b2c3d4e002");
+        event.setAssignedAgentUsername("asmith");
+        event.setAssignedAgentEmail("asmith@example.com");
+        event.setWarningTime(AT);
+        return event;
+    }
+
+    static SlaBreachEvent slaBreach() {
+        SlaBreachEvent event = new SlaBreachEvent();
+        event.setTrackingId("65f2c4c8e4b0a1b2c3d4e800");
+        event.setTicketId("65f2c1a9e4b0a1b2c3d4e5f6");
+        event.setTicketNumber("TKT-20240314-00042");
+        event.setPriority("HIGH");
+        event.setCategory("NETWORK_ISSUE");
+        event.setBreachType("RESOLUTION");
+        event.setDueAt(AT);
+        event.setBreachedAt(AT.plusMinutes(12));
+        event.setMinutesOverdue(12);
+        event.setBreachReason("Resolution time exceeded");
+        event.setAssignedAgentId("65f2c0d1e4b0a1b2c3d4e002");
+        event.setAssignedAgentUsername("asmith");
+        event.setAssignedAgentEmail("asmith@example.com");
+        event.setResponseBreached(false);
+        event.setResolutionBreached(true);
+        return event;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ticket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AttachmentUploadConfig {
+    
+    @Value("${ticket.attachments.upload-threads:8}")
+    private int uploadThreads;
+    
+    @Value("${ticket.attachments.upload-queue-capacity:64}")
+    private int uploadQueueCapacity;
+    
+    @Value("${ticket.attachments.archive.prefetch-threads:4}")
+    private int prefetchThreads;
+    
+    /**
+     * Bounded pool for parallel S3 uploads.
+     * When the queue is full the request thread runs the upload itself, which throttles callers
+     * instead of failing them.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor attachmentUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadThreads);
+        executor.setMaxPoolSize(uploadThreads);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("attachment-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+    
+    /**
+     * Opens the next storage object while a ZIP archive is still streaming the current one.
+     * Prefetch tasks are short (they only wait for the first bytes), so no queue is needed:
+     * when all threads are busy the request thread opens the stream itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor attachmentPrefetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(prefetchThreads);
+        executor.setMaxPoolSize(prefetchThreads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("attachment-prefetch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticket.config;
+
+import com.ticket.entity.Attachment;
+import com.ticket.entity.Comment;
+import com.ticket.entity.OutboxEvent;
+import com.ticket.entity.Ticket;
+import com.ticket.entity.TicketActivity;
+import com.ticket.entity.TicketActivityBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the entities once all singletons exist, before the web server,
+ * the RabbitMQ listeners and the outbox relay start.
+ *
+ * Unique indexes enforce invariants (one attachment per upload slot, one activity bucket per
+ * sequence number) and the text index backs ticket search, so startup fails if any of them cannot
+ * be created. A missing secondary index only costs speed; it is logged and startup goes on.
+ */
+@Component
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    static final List<Class<?>> INDEXED_ENTITIES =
+            List.of(Ticket.class, Comment.class, Attachment.class, TicketActivity.class, TicketActivityBucket.class,
+                    OutboxEvent.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    /**
+     * Create the entity-declared indexes; no-op for indexes that already exist
+     */
+    void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            String collection = mongoTemplate.getCollectionName(entity);
+            resolver.resolveIndexFor(entity).forEach(index -> {
+                Object name = index.getIndexOptions().get("name");
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (Exception e) {
+                    if (isRequired(index)) {
+                        throw new IllegalStateException("Could not create index " + name + " on " + collection, e);
+                    }
+                    log.warn("Could not ensure index {} on {}: {}", name, collection, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Unique and text indexes; the service is wrong or broken without them, not just slower
+     */
+    static boolean isRequired(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"))
+                || index.getIndexKeys().values().contains("text");
+    }
+}
@@ -0,0 +1,135 @@
+package com.ticket.config;
+
+import com.ticket.entity.Attachment;
+import com.ticket.entity.Comment;
+import com.ticket.entity.OutboxEvent;
+import com.ticket.entity.Ticket;
+import com.ticket.entity.TicketActivity;
+import com.ticket.entity.TicketActivityBucket;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Explains the query shapes the service depends on and logs a warning for any that the planner
+ * would answer with a COLLSCAN. The indexes themselves are created by MongoIndexInitializer.
+ *
+ * Runs once the application is ready and never blocks it: failures are logged and the service
+ * keeps going. Disable with ticket.mongo.index-check.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.mongo.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoIndexVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexVerifier.class);
+
+    // Any value works for the probes, the planner only looks at the shape
+    private static final String PROBE_ID = "index-check";
+
+    /**
+     * A query shape that must be served by an index
+     */
+    record QueryShape(String name, Class<?> entity, Document filter, Document sort) {}
+
+    static final List<QueryShape> QUERY_SHAPES = List.of(
+            new QueryShape("tickets by number", Ticket.class,
+                    new Document("ticketNumber", PROBE_ID), new Document()),
+            new QueryShape("tickets newest first", Ticket.class,
+                    new Document(), new Document("createdAt", -1).append("_id", -1)),
+            new QueryShape("tickets by status", Ticket.class,
+                    new Document("status", "OPEN"), new Document("createdAt", -1).append("_id", -1)),
+            new QueryShape("tickets created by user", Ticket.class,
+                    new Document("createdByUserId", PROBE_ID), new Document("createdAt", -1).append("_id", -1)),
+            new QueryShape("tickets assigned to agent", Ticket.class,
+                    new Document("assignedToUserId", PROBE_ID), new Document("assignedAt", -1).append("_id", -1)),
+            new QueryShape("comments by ticket", Comment.class,
+                    new Document("ticketId", PROBE_ID), new Document("createdAt", -1).append("_id", -1)),
+            new QueryShape("public comments by ticket", Comment.class,
+                    new Document("ticketId", PROBE_ID).append("isInternal", false),
+                    new Document("createdAt", -1).append("_id", -1)),
+            new QueryShape("attachments by ticket", Attachment.class,
+                    new Document("ticketId", PROBE_ID), new Document("uploadedAt", -1)),
+            new QueryShape("activity by ticket", TicketActivity.class,
+                    new Document("ticketId", PROBE_ID), new Document("createdAt", -1)),
+            new QueryShape("activity buckets by ticket", TicketActivityBucket.class,
+                    new Document("ticketId", PROBE_ID).append("seq", new Document("$lte", 0)), new Document("seq", -1)),
+            new QueryShape("outbox events available to claim", OutboxEvent.class,
+                    new Document("availableAt", new Document("$lte", new Date())), new Document("createdAt", 1))
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexVerifier(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        int collectionScans = 0;
+        for (QueryShape shape : QUERY_SHAPES) {
+            if (!explainUsesIndex(shape)) {
+                collectionScans++;
+            }
+        }
+
+        if (collectionScans == 0) {
+            log.info("Index check passed for {} query shapes", QUERY_SHAPES.size());
+        }
+    }
+
+    /**
+     * Explain the query shape; false (and a warning) when the winning plan is a collection scan
+     */
+    private boolean explainUsesIndex(QueryShape shape) {
+        String collection = mongoTemplate.getCollectionName(shape.entity());
+        try {
+            Document explain = mongoTemplate.getCollection(collection)
+                    .find(shape.filter())
+                    .sort(shape.sort())
+                    .explain();
+
+            if (usesCollectionScan(explain)) {
+                log.warn("Query '{}' on {} runs as COLLSCAN (filter={}, sort={}); check its index",
+                        shape.name(), collection, shape.filter().toJson(), shape.sort().toJson());
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not explain query '{}' on {}: {}", shape.name(), collection, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Whether the winning plan contains a COLLSCAN stage anywhere
+     * (classic and SBE plan layouts, and per-shard plans on a sharded cluster)
+     */
+    static boolean usesCollectionScan(Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        if (queryPlanner == null) {
+            return false;
+        }
+        return containsStage(queryPlanner.get("winningPlan"), "COLLSCAN");
+    }
+
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
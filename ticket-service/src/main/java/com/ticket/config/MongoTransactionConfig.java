@@ -0,0 +1,22 @@
+package com.ticket.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Makes the service's @Transactional methods real Mongo transactions, so an entity change and
+ * its outbox event commit together. Needs a replica set. On by default, because the outbox
+ * depends on it (see OutboxTransactionCheck); turn it off only together with the outbox.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ticket.mongo.transactions.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ticket.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Refuses to start with the outbox on but no MongoTransactionManager. Without one, a ticket
+ * change and its outbox event are two separate writes, and a crash between them loses the event.
+ * Run Mongo as a replica set with ticket.mongo.transactions.enabled (the default), or turn the
+ * outbox off with ticket.outbox.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ticket.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxTransactionCheck {
+
+    public OutboxTransactionCheck(ObjectProvider<MongoTransactionManager> transactionManager) {
+        if (transactionManager.getIfAvailable() == null) {
+            throw new IllegalStateException("ticket.outbox.enabled needs Mongo transactions: "
+                    + "set ticket.mongo.transactions.enabled=true (replica set required) or ticket.outbox.enabled=false");
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package com.ticket.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ticket.codec.EventFormat;
+import com.ticket.codec.EventMessageConverters;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +13,9 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
     
+    @Value("${ticket.events.format:json}")
+    private String eventFormat;
+    
     @Value("${rabbitmq.exchange.name}")
     private String exchange;
     
@@ -35,6 +37,9 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key.comment-added}")
     private String commentAddedKey;
     
+    @Value("${rabbitmq.routing-key.ticket-cache-invalidated:ticket.cache.invalidated}")
+    private String ticketCacheInvalidatedKey;
+    
     /**
      * Create exchange
      */
@@ -101,13 +106,26 @@ public class RabbitMQConfig {
     }
     
     /**
-     * JSON message converter with JSR310 support for LocalDateTime
+     * Per-instance queue for ticket cache invalidations; removed when the instance disconnects
+     */
+    @Bean
+    public Queue ticketCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+    
+    @Bean
+    public Binding ticketCacheInvalidationBinding(Queue ticketCacheInvalidationQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(ticketCacheInvalidationQueue)
+                .to(exchange)
+                .with(ticketCacheInvalidatedKey);
+    }
+    
+    /**
+     * Event message converter, see EventMessageConverters
      */
     @Bean
     public MessageConverter messageConverter() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());  //   Add this!
-        return new Jackson2JsonMessageConverter(objectMapper);
+        return EventMessageConverters.create(EventFormat.fromString(eventFormat));
     }
     
     /**
@@ -0,0 +1,46 @@
+package com.ticket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * General-purpose executors of the service.
+ *
+ * Spring Boot's applicationTaskExecutor is declared here because Boot only creates it when the context has no other Executor bean, and the attachment pools in
+ * {@link AttachmentUploadConfig} are Executors. Without it Spring MVC runs StreamingResponseBody
+ * (ticket export, attachment archives) on a SimpleAsyncTaskExecutor, one new thread per request.
+ * Sized by the usual spring.task.execution.* properties.
+ */
+@Configuration
+public class TaskExecutionConfig {
+
+    @Value("${ticket.cache.invalidation.queue-capacity:1000}")
+    private int invalidationQueueCapacity;
+
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Sends cache invalidation hints to the broker so request threads never wait on it.
+     * One thread keeps them in order; a full queue rejects new hints, which the TTL makes safe to drop.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheInvalidationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(invalidationQueueCapacity);
+        executor.setThreadNamePrefix("cache-invalidation-");
+        return executor;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ticket.config;
+
+import com.ticket.entity.Ticket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives tickets stored before Ticket had a @Version field a version of 0.
+ *
+ * Spring Data treats an entity with a null version as new and would insert it on save(),
+ * failing with a duplicate key; with a version the save becomes the usual conditional update.
+ * Runs before the message listeners start, is a no-op once every ticket has a version, and never
+ * blocks startup. Disable with ticket.mongo.version-backfill.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.mongo.version-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketVersionBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketVersionBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public TicketVersionBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void backfillVersions() {
+        try {
+            long updated = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    Ticket.class).getModifiedCount();
+            if (updated > 0) {
+                log.info("Set version 0 on {} tickets saved before versioning", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Could not backfill ticket versions: {}", e.getMessage());
+        }
+    }
+}
@@ -2,10 +2,15 @@ package com.ticket.controller;
 
 import com.ticket.dto.*;
 import com.ticket.service.AdminTicketService;
+import com.ticket.service.TicketExportService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -16,8 +21,11 @@ public class AdminTicketController {
     
     private AdminTicketService adminTicketService;
 
-    public AdminTicketController( AdminTicketService adminTicketService){
+    private TicketExportService ticketExportService;
+
+    public AdminTicketController( AdminTicketService adminTicketService, TicketExportService ticketExportService){
         this.adminTicketService=adminTicketService;
+        this.ticketExportService=ticketExportService;
     }
     
     /**
@@ -43,6 +51,56 @@ public class AdminTicketController {
         return ResponseEntity.ok(tickets);
     }
     
+    /**
+     * Get all tickets with keyset (cursor) pagination and filtering
+     * GET /admin/tickets?cursor=&size=50&status=OPEN&includeTotal=true
+     * Pass an empty cursor for the first page, then the nextCursor of each response.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<AdminTicketDTO>> getAllTicketsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String assignedToUserId,
+            @RequestParam(required = false) String createdByUserId,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+
+        TicketFilterRequest filterRequest= new TicketFilterRequest(0, size, status, priority, category, assignedToUserId, createdByUserId, search);
+
+        CursorPage<AdminTicketDTO> tickets = adminTicketService.getAllTicketsByCursor(
+                filterRequest, cursor, includeTotal);
+        return ResponseEntity.ok(tickets);
+    }
+    
+    /**
+     * Export all tickets matching the filter, streamed as they are read
+     * GET /admin/tickets/export?format=ndjson|csv&status=OPEN&search=login
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String assignedToUserId,
+            @RequestParam(required = false) String createdByUserId,
+            @RequestParam(required = false) String search
+    ) {
+        TicketExportService.Format exportFormat = TicketExportService.Format.fromString(format);
+        TicketFilterRequest filterRequest= new TicketFilterRequest(0, 0, status, priority, category, assignedToUserId, createdByUserId, search);
+
+        StreamingResponseBody body = out -> ticketExportService.export(filterRequest, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+    
     /**
      * Get ticket by ID
      * GET /admin/tickets/{ticketId}
@@ -140,6 +198,21 @@ public class AdminTicketController {
         return ResponseEntity.ok(tickets);
     }
     
+    /**
+     * Get user's tickets with keyset (cursor) pagination
+     * GET /admin/tickets/user/{userId}?cursor=
+     */
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    public ResponseEntity<CursorPage<AdminTicketDTO>> getUserTicketsByCursor(
+            @PathVariable String userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        CursorPage<AdminTicketDTO> tickets = adminTicketService.getUserTicketsByCursor(userId, cursor, size, includeTotal);
+        return ResponseEntity.ok(tickets);
+    }
+    
     /**
      * Get agent's assigned tickets
      * GET /admin/tickets/agent/{agentId}
@@ -153,4 +226,19 @@ public class AdminTicketController {
         Page<AdminTicketDTO> tickets = adminTicketService.getAgentTickets(agentId, page, size);
         return ResponseEntity.ok(tickets);
     }
+    
+    /**
+     * Get agent's assigned tickets with keyset (cursor) pagination
+     * GET /admin/tickets/agent/{agentId}?cursor=
+     */
+    @GetMapping(value = "/agent/{agentId}", params = "cursor")
+    public ResponseEntity<CursorPage<AdminTicketDTO>> getAgentTicketsByCursor(
+            @PathVariable String agentId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        CursorPage<AdminTicketDTO> tickets = adminTicketService.getAgentTicketsByCursor(agentId, cursor, size, includeTotal);
+        return ResponseEntity.ok(tickets);
+    }
 }
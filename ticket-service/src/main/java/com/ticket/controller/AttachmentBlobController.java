@@ -0,0 +1,39 @@
+package com.ticket.controller;
+
+import com.ticket.service.AttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Downloads of deduplicated attachment content kept in local storage.
+ * Shared content is not owned by one ticket, so it lives outside /tickets/{ticketId}.
+ */
+@RestController
+@RequestMapping("/attachments/blobs")
+public class AttachmentBlobController {
+    
+    private AttachmentService attachmentService;
+
+    public AttachmentBlobController( AttachmentService attachmentService){
+        this.attachmentService=attachmentService;
+    }
+    
+    /**
+     * Download shared attachment content
+     */
+    @GetMapping("/{sha256}/{fileName:.+}")
+    public void downloadBlob(
+            @PathVariable String sha256,
+            @PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AttachmentService.AttachmentContent content = attachmentService.getBlobContent(sha256, fileName);
+        AttachmentFileResponder.write(content, request, response);
+    }
+}
@@ -1,11 +1,22 @@
 package com.ticket.controller;
 
 import com.ticket.dto.AttachmentDTO;
+import com.ticket.dto.AttachmentUploadSlotDTO;
+import com.ticket.dto.AttachmentUploadSlotRequest;
+import com.ticket.dto.ConfirmAttachmentUploadRequest;
+import com.ticket.service.AttachmentArchiveService;
 import com.ticket.service.AttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -15,9 +26,12 @@ import java.util.List;
 public class AttachmentController {
     
     private AttachmentService attachmentService;
+    
+    private AttachmentArchiveService attachmentArchiveService;
 
-    public AttachmentController( AttachmentService attachmentService){
+    public AttachmentController( AttachmentService attachmentService, AttachmentArchiveService attachmentArchiveService){
         this.attachmentService=attachmentService;
+        this.attachmentArchiveService=attachmentArchiveService;
     }
     
     /**
@@ -33,6 +47,30 @@ public class AttachmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
     }
     
+    /**
+     * Request a presigned PUT URL to upload a file straight to storage
+     */
+    @PostMapping("/upload-slots")
+    public ResponseEntity<AttachmentUploadSlotDTO> createUploadSlot(
+            @PathVariable String ticketId,
+            @Valid @RequestBody AttachmentUploadSlotRequest request) {
+        AttachmentUploadSlotDTO slot = attachmentService.createUploadSlot(ticketId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(slot);
+    }
+    
+    /**
+     * Record a file uploaded through an upload slot
+     */
+    @PostMapping("/confirm")
+    public ResponseEntity<AttachmentDTO> confirmUpload(
+            @PathVariable String ticketId,
+            @Valid @RequestBody ConfirmAttachmentUploadRequest request,
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader("X-Username") String username) {
+        AttachmentDTO attachment = attachmentService.confirmUpload(ticketId, request, userId, username);
+        return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
+    }
+    
     /**
      * Get all attachments for ticket
      */
@@ -42,6 +80,34 @@ public class AttachmentController {
         return ResponseEntity.ok(attachments);
     }
     
+    /**
+     * Download all attachments of the ticket as one ZIP, streamed as it is built
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@PathVariable String ticketId) {
+        List<AttachmentArchiveService.ArchiveEntry> entries = attachmentArchiveService.listEntries(ticketId);
+        
+        StreamingResponseBody body = out -> attachmentArchiveService.writeArchive(entries, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(ticketId + "-attachments.zip").build().toString())
+                .body(body);
+    }
+    
+    /**
+     * Download an attachment kept in local storage (S3 attachments use their presigned URL)
+     */
+    @GetMapping("/files/{fileName:.+}")
+    public void downloadFile(
+            @PathVariable String ticketId,
+            @PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AttachmentService.AttachmentContent content = attachmentService.getAttachmentContent(ticketId, fileName);
+        AttachmentFileResponder.write(content, request, response);
+    }
+    
     /**
      * Delete attachment
      */
@@ -1,7 +1,9 @@
 package com.ticket.controller;
 
 import com.ticket.dto.CommentDTO;
+import com.ticket.dto.CommentThreadSummaryDTO;
 import com.ticket.dto.CreateCommentRequest;
+import com.ticket.dto.CursorPage;
 import com.ticket.service.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -44,4 +46,32 @@ public class CommentController {
         List<CommentDTO> comments = commentService.getCommentsByTicket(ticketId, includeInternal);
         return ResponseEntity.ok(comments);
     }
+    
+    /**
+     * Get comments for ticket with cursor pagination, newest first
+     * GET /tickets/{ticketId}/comments?before=&size=20&includeInternal=false
+     * Pass an empty before for the latest page, then the nextCursor of each response.
+     */
+    @GetMapping(params = "before")
+    public ResponseEntity<CursorPage<CommentDTO>> getCommentsBefore(
+            @PathVariable String ticketId,
+            @RequestParam String before,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeInternal) {
+        CursorPage<CommentDTO> comments = commentService.getCommentsByTicketBefore(ticketId, includeInternal, before, size);
+        return ResponseEntity.ok(comments);
+    }
+    
+    /**
+     * Get comment count and latest comments for ticket in one call
+     * GET /tickets/{ticketId}/comments/summary?latest=5&includeInternal=false
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<CommentThreadSummaryDTO> getThreadSummary(
+            @PathVariable String ticketId,
+            @RequestParam(defaultValue = "5") int latest,
+            @RequestParam(defaultValue = "false") boolean includeInternal) {
+        CommentThreadSummaryDTO summary = commentService.getThreadSummary(ticketId, includeInternal, latest);
+        return ResponseEntity.ok(summary);
+    }
 }
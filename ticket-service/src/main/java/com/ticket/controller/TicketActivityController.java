@@ -1,8 +1,8 @@
 package com.ticket.controller;
 
+import com.ticket.dto.CursorPage;
 import com.ticket.dto.TicketActivityDTO;
-import com.ticket.entity.TicketActivity;
-import com.ticket.repository.TicketActivityRepository;
+import com.ticket.service.TicketActivityTimelineService;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,10 +13,10 @@ import java.util.List;
 @RequestMapping("/tickets/{ticketId}/activities")
 public class TicketActivityController {
     
-    private TicketActivityRepository ticketActivityRepository;
+    private TicketActivityTimelineService timelineService;
 
-    public TicketActivityController( TicketActivityRepository ticketActivityRepository){
-        this.ticketActivityRepository=ticketActivityRepository;
+    public TicketActivityController( TicketActivityTimelineService timelineService){
+        this.timelineService=timelineService;
     }
     
     /**
@@ -24,29 +24,20 @@ public class TicketActivityController {
      */
     @GetMapping
     public ResponseEntity<List<TicketActivityDTO>> getActivities(@PathVariable String ticketId) {
-        List<TicketActivity> activities = ticketActivityRepository.findByTicketIdOrderByCreatedAtDesc(ticketId);
-        
-        List<TicketActivityDTO> activityDTOs = activities.stream()
-                .map(this::convertToDTO)
-                .toList();
-        
-        return ResponseEntity.ok(activityDTOs);
+        return ResponseEntity.ok(timelineService.getAllActivities(ticketId));
     }
     
     /**
-     * Convert entity to DTO
+     * Get activity log for ticket with cursor pagination, newest first
+     * GET /tickets/{ticketId}/activities?cursor=&size=20
+     * Pass an empty cursor for the latest page, then the nextCursor of each response.
      */
-    private TicketActivityDTO convertToDTO(TicketActivity activity) {
-        return new TicketActivityDTO(
-                activity.getActivityId(),
-                activity.getTicketId(),
-                activity.getActivityType(),
-                activity.getDescription(),
-                activity.getPerformedByUserId(),
-                activity.getPerformedByUsername(),
-                activity.getOldValue(),
-                activity.getNewValue(),
-                activity.getCreatedAt()
-        );
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<TicketActivityDTO>> getActivitiesByCursor(
+            @PathVariable String ticketId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(timelineService.getActivitiesByCursor(ticketId, cursor, size));
     }
 }
@@ -4,6 +4,7 @@ import com.ticket.dto.*;
 import com.ticket.service.AttachmentService;
 import com.ticket.service.TicketService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -61,20 +62,12 @@ public class TicketController {
         // Step 1: Create ticket (without attachments)
         TicketDTO ticket = ticketService.createTicket(request, userId, username);
         
-        // Step 2: Upload attachments if provided
+        // Step 2: Upload attachments in parallel (also updates the attachment count)
         if (files != null && !files.isEmpty()) {
-            int uploadedCount = 0;
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    attachmentService.uploadAttachment(ticket.ticketId(), file, userId, username);
-                    uploadedCount++;
-                }
-            }
+            int uploadedCount = attachmentService.uploadAttachments(ticket.ticketId(), files, userId, username).size();
             
-            // Step 3: Update attachment count
+            // Step 3: Reflect attachment count in the response
             if (uploadedCount > 0) {
-                ticketService.updateAttachmentCount(ticket.ticketId(), uploadedCount);
-                
                 ticket = new TicketDTO(
                     ticket.ticketId(),
                     ticket.ticketNumber(),
@@ -166,6 +159,19 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
     
+    /**
+     * Get my tickets as a page of summaries
+     * GET /tickets/my?page=0&size=20
+     */
+    @GetMapping(value = "/my", params = "page")
+    public ResponseEntity<Slice<TicketSummaryDTO>> getMyTicketSummaries(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Slice<TicketSummaryDTO> tickets = ticketService.getMyTicketSummaries(userId, page, size);
+        return ResponseEntity.ok(tickets);
+    }
+    
     /**
      * Get tickets assigned to me
      */
@@ -176,6 +182,19 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
     
+    /**
+     * Get tickets assigned to me as a page of summaries
+     * GET /tickets/assigned?page=0&size=20
+     */
+    @GetMapping(value = "/assigned", params = "page")
+    public ResponseEntity<Slice<TicketSummaryDTO>> getAssignedTicketSummaries(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Slice<TicketSummaryDTO> tickets = ticketService.getAssignedTicketSummaries(userId, page, size);
+        return ResponseEntity.ok(tickets);
+    }
+    
     /**
      * Get tickets by status
      */
@@ -185,6 +204,19 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
     
+    /**
+     * Get tickets by status as a page of summaries
+     * GET /tickets/status/{status}?page=0&size=20
+     */
+    @GetMapping(value = "/status/{status}", params = "page")
+    public ResponseEntity<Slice<TicketSummaryDTO>> getTicketSummariesByStatus(
+            @PathVariable String status,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Slice<TicketSummaryDTO> tickets = ticketService.getTicketSummariesByStatus(status, page, size);
+        return ResponseEntity.ok(tickets);
+    }
+    
     /**
      * Get all tickets
      */
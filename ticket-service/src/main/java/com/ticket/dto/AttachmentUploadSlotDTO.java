@@ -0,0 +1,16 @@
+package com.ticket.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Presigned PUT target for a direct-to-storage upload.
+ * The client PUTs the file to uploadUrl with exactly these headers before expiresAt,
+ * then confirms with s3Key; the signature pins content type and length.
+ */
+public record AttachmentUploadSlotDTO(
+        String s3Key,
+        String uploadUrl,
+        Map<String, String> headers,
+        Instant expiresAt
+) {}
@@ -0,0 +1,13 @@
+package com.ticket.dto;
+
+import java.util.List;
+
+/**
+ * Comment count and the latest comments of a ticket, for the ticket view.
+ * nextCursor continues the thread through ?before= when more comments exist.
+ */
+public record CommentThreadSummaryDTO(
+        long totalComments,
+        List<CommentDTO> latestComments,
+        String nextCursor
+) {}
@@ -0,0 +1,11 @@
+package com.ticket.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record ConfirmAttachmentUploadRequest(
+        @NotBlank(message = "S3 key is required")
+        String s3Key,
+        
+        @NotBlank(message = "File name is required")
+        String fileName
+) {}
@@ -0,0 +1,15 @@
+package com.ticket.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing.
+ * nextCursor is opaque to clients; pass it back as ?cursor= to fetch the following page.
+ * totalElements is only filled in when requested and may be an estimate for unfiltered listings.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) {}
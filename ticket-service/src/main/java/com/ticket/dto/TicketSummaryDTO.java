@@ -0,0 +1,18 @@
+package com.ticket.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim ticket row for list screens; loaded with a field projection, no description or tags
+ */
+public record TicketSummaryDTO(
+        String ticketId,
+        String ticketNumber,
+        String title,
+        String status,
+        String priority,
+        String category,
+        String assignedToUsername,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
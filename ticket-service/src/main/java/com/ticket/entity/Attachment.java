@@ -1,10 +1,13 @@
 package com.ticket.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndex(name = "ticket_uploaded_at", def = "{'ticketId': 1, 'uploadedAt': -1}")
 @Document(collection = "attachments")
 public class Attachment {
     
@@ -21,10 +24,16 @@ public class Attachment {
     
     private Long fileSize; // in bytes
     
-    private String s3Key; // S3 object key
+    @Indexed
+    private String s3Key; // S3 object key, shared by attachments with identical content
     
     private String s3Url; // Pre-signed URL (temporary)
     
+    // Key of the direct-upload slot this record confirmed; unset for other uploads.
+    // s3Key cannot be unique once content is shared, so this is what makes a slot confirmable only once.
+    @Indexed(name = "upload_slot", unique = true, sparse = true)
+    private String uploadSlot;
+    
     private String uploadedByUserId;
     
     private String uploadedByUsername;
@@ -122,4 +131,12 @@ public class Attachment {
     public void setUploadedAt(LocalDateTime uploadedAt) {
         this.uploadedAt = uploadedAt;
     }
+    
+    public String getUploadSlot() {
+        return uploadSlot;
+    }
+    
+    public void setUploadSlot(String uploadSlot) {
+        this.uploadSlot = uploadSlot;
+    }
 }
@@ -0,0 +1,78 @@
+package com.ticket.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored object shared by every attachment with the same content.
+ * refCount is the number of attachments pointing at storageKey; the object is
+ * deleted when it drops to zero.
+ */
+@Document(collection = "attachment_blobs")
+public class AttachmentBlob {
+    
+    @Id
+    private String sha256; // hex SHA-256 of the content
+    
+    private String storageKey;
+    
+    private Long fileSize;
+    
+    private int refCount;
+    
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public AttachmentBlob() {}
+    
+    public AttachmentBlob(String sha256, String storageKey, Long fileSize) {
+        this.sha256 = sha256;
+        this.storageKey = storageKey;
+        this.fileSize = fileSize;
+        this.refCount = 1;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getSha256() {
+        return sha256;
+    }
+    
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+    
+    public String getStorageKey() {
+        return storageKey;
+    }
+    
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public int getRefCount() {
+        return refCount;
+    }
+    
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,10 +1,17 @@
 package com.ticket.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndexes({
+    @CompoundIndex(name = "ticket_created_at_id", def = "{'ticketId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "ticket_internal_created_at_id",
+            def = "{'ticketId': 1, 'isInternal': 1, 'createdAt': -1, '_id': -1}")
+})
 @Document(collection = "comments")
 public class Comment {
     
@@ -0,0 +1,135 @@
+package com.ticket.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A domain event waiting to be published to RabbitMQ.
+ * The event is stored already converted to an AMQP message body, so the relay sends exactly
+ * what a direct convertAndSend would have. The document is deleted once the broker confirms it.
+ */
+@Document(collection = "outbox_events")
+// Sort field first: the relay walks the outbox oldest first and filters on availableAt inside the index
+@CompoundIndex(name = "created_available_idx", def = "{'createdAt': 1, 'availableAt': 1}")
+public class OutboxEvent {
+    
+    @Id
+    private String id;
+    
+    private String exchange;
+    
+    private String routingKey;
+    
+    private byte[] body;
+    
+    private String contentType;
+    
+    private Map<String, String> headers;
+    
+    private Instant createdAt;
+    
+    // Not claimable before this time: set while a relay holds the claim, and as retry backoff
+    private Instant availableAt;
+    
+    private String claimedBy;
+    
+    private int attempts;
+    
+    // Constructors
+    public OutboxEvent() {}
+    
+    public OutboxEvent(String exchange, String routingKey, byte[] body, String contentType, Map<String, String> headers) {
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.body = body;
+        this.contentType = contentType;
+        this.headers = headers;
+        this.createdAt = Instant.now();
+        this.availableAt = this.createdAt;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getExchange() {
+        return exchange;
+    }
+    
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+    
+    public String getRoutingKey() {
+        return routingKey;
+    }
+    
+    public void setRoutingKey(String routingKey) {
+        this.routingKey = routingKey;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+    
+    public void setBody(byte[] body) {
+        this.body = body;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+    
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Instant getAvailableAt() {
+        return availableAt;
+    }
+    
+    public void setAvailableAt(Instant availableAt) {
+        this.availableAt = availableAt;
+    }
+    
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
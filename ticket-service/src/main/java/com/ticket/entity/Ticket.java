@@ -5,22 +5,37 @@ import com.ticket.enums.TicketCategory;
 import com.ticket.enums.TicketPriority;
 import com.ticket.enums.TicketStatus;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+@CompoundIndexes({
+    @CompoundIndex(name = "created_at", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_created_at", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "created_by_created_at", def = "{'createdByUserId': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "assigned_to_assigned_at", def = "{'assignedToUserId': 1, 'assignedAt': -1, '_id': -1}")
+})
 @Document(collection = "tickets")
 public class Ticket {
     
     @Id
     private String ticketId;
     
+    @Indexed
+    @TextIndexed(weight = 2)
     private String ticketNumber; 
     
+    @TextIndexed(weight = 3)
     private String title;
     
+    @TextIndexed
     private String description;
     
     private TicketStatus status;
@@ -52,6 +67,10 @@ public class Ticket {
     private Integer commentCount;
     
     private Integer attachmentCount;
+    
+    // Bumped by every write, so a save() of a stale copy fails instead of overwriting newer changes
+    @Version
+    private Long version;
 
 
     // Escalated fields
@@ -286,4 +305,12 @@ public void setEscalatedAt(LocalDateTime escalatedAt) {
     public void setAttachmentCount(Integer attachmentCount) {
         this.attachmentCount = attachmentCount;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,10 +1,12 @@
 package com.ticket.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndex(name = "ticket_created_at", def = "{'ticketId': 1, 'createdAt': -1}")
 @Document(collection = "ticket_activity")
 public class TicketActivity {
     
@@ -0,0 +1,105 @@
+package com.ticket.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A run of consecutive activities for one ticket, oldest first.
+ * Buckets are numbered 0, 1, 2... per ticket; only the highest-numbered one is ever appended to,
+ * and a new one is opened once it holds ticket.activity.bucket-size entries.
+ */
+@CompoundIndex(name = "ticket_seq", def = "{'ticketId': 1, 'seq': -1}", unique = true)
+@Document(collection = "ticket_activity_buckets")
+public class TicketActivityBucket {
+
+    @Id
+    private String bucketId;
+
+    private String ticketId;
+
+    private int seq;
+
+    private int count;
+
+    private List<TicketActivity> activities = new ArrayList<>();
+
+    private LocalDateTime firstAt;
+
+    private LocalDateTime lastAt;
+
+    // Constructors
+    public TicketActivityBucket() {}
+
+    public TicketActivityBucket(String ticketId, int seq, List<TicketActivity> activities) {
+        this.ticketId = ticketId;
+        this.seq = seq;
+        this.activities = activities;
+        this.count = activities.size();
+        if (!activities.isEmpty()) {
+            this.firstAt = activities.get(0).getCreatedAt();
+            this.lastAt = activities.get(activities.size() - 1).getCreatedAt();
+        }
+    }
+
+    // Getters and Setters
+    public String getBucketId() {
+        return bucketId;
+    }
+
+    public void setBucketId(String bucketId) {
+        this.bucketId = bucketId;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    public void setSeq(int seq) {
+        this.seq = seq;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<TicketActivity> getActivities() {
+        return activities;
+    }
+
+    public void setActivities(List<TicketActivity> activities) {
+        this.activities = activities;
+    }
+
+    public LocalDateTime getFirstAt() {
+        return firstAt;
+    }
+
+    public void setFirstAt(LocalDateTime firstAt) {
+        this.firstAt = firstAt;
+    }
+
+    public LocalDateTime getLastAt() {
+        return lastAt;
+    }
+
+    public void setLastAt(LocalDateTime lastAt) {
+        this.lastAt = lastAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ticket.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Per-day counter backing ticket numbers (TKT-YYYYMMDD-NNNNN).
+ * The document id is the date part, value is the highest number handed out so far.
+ */
+@Document(collection = "ticket_sequences")
+public class TicketSequence {
+
+    @Id
+    private String sequenceId; // yyyyMMdd
+
+    private long value;
+
+    // Constructors
+    public TicketSequence() {}
+
+    // Getters and Setters
+    public String getSequenceId() {
+        return sequenceId;
+    }
+
+    public void setSequenceId(String sequenceId) {
+        this.sequenceId = sequenceId;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
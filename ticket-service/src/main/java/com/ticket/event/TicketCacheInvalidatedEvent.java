@@ -0,0 +1,46 @@
+package com.ticket.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.io.Serializable;
+
+/**
+ * Broadcast between ticket-service instances when a ticket changes, so each one drops its cached copy.
+ * originInstanceId lets the sender ignore its own message.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TicketCacheInvalidatedEvent implements Serializable {
+
+    private String ticketId;
+    private String originInstanceId;
+
+    // Constructors
+    public TicketCacheInvalidatedEvent() {}
+
+    public TicketCacheInvalidatedEvent(String ticketId, String originInstanceId) {
+        this.ticketId = ticketId;
+        this.originInstanceId = originInstanceId;
+    }
+
+    // Getters and Setters
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public String getOriginInstanceId() {
+        return originInstanceId;
+    }
+
+    public void setOriginInstanceId(String originInstanceId) {
+        this.originInstanceId = originInstanceId;
+    }
+
+    @Override
+    public String toString() {
+        return "TicketCacheInvalidatedEvent{ticketId='" + ticketId + "', originInstanceId='" + originInstanceId + "'}";
+    }
+}
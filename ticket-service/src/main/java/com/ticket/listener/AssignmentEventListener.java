@@ -1,14 +1,16 @@
 package com.ticket.listener;
 
-import com.ticket.entity.Ticket;
 import com.ticket.entity.TicketActivity;
 import com.ticket.enums.TicketStatus;
 import com.ticket.event.TicketAssignedEvent;
-import com.ticket.repository.TicketActivityRepository;
+import com.ticket.repository.TicketChanges;
 import com.ticket.repository.TicketRepository;
+import com.ticket.service.TicketActivityWriter;
+import com.ticket.service.TicketCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -21,11 +23,14 @@ public class AssignmentEventListener {
     
     private TicketRepository ticketRepository;
     
-    private TicketActivityRepository ticketActivityRepository;
+    private TicketActivityWriter ticketActivityWriter;
+    
+    private TicketCache ticketCache;
 
-    public AssignmentEventListener( TicketRepository ticketRepository, TicketActivityRepository ticketActivityRepository){
+    public AssignmentEventListener( TicketRepository ticketRepository, TicketActivityWriter ticketActivityWriter, TicketCache ticketCache){
         this.ticketRepository=ticketRepository;
-        this.ticketActivityRepository=ticketActivityRepository;
+        this.ticketActivityWriter=ticketActivityWriter;
+        this.ticketCache=ticketCache;
     }
     
     /**
@@ -38,30 +43,26 @@ public class AssignmentEventListener {
             log.info("Received TicketAssignedEvent: Ticket {} assigned to {}", 
                      event.getTicketNumber(), event.getAssignedToUsername());
             
-            // Find ticket
-            Optional<Ticket> ticketOpt = ticketRepository.findById(event.getTicketId());
-            if (ticketOpt.isEmpty()) {
-                log.warn("Ticket {} not found for assignment update", event.getTicketNumber());
-                return;
-            }
+            // Update ticket, unless it is already assigned to this agent (idempotency)
+            TicketChanges changes = new TicketChanges()
+                    .assignedTo(event.getAssignedToUserId(), event.getAssignedToUsername())
+                    .status(TicketStatus.ASSIGNED)
+                    .assignedAt(event.getAssignedAt())
+                    .updatedAt(LocalDateTime.now());
+            Optional<TicketChanges.Applied> applied = ticketRepository.applyChanges(event.getTicketId(),
+                    Criteria.where("assignedToUserId").ne(event.getAssignedToUserId()), changes);
             
-            Ticket ticket = ticketOpt.get();
-            
-            // Check if already assigned to this agent (idempotency)
-            if (event.getAssignedToUserId().equals(ticket.getAssignedToUserId())) {
-                log.info("Ticket {} already assigned to {}, skipping", 
-                         event.getTicketNumber(), event.getAssignedToUsername());
+            if (applied.isEmpty()) {
+                if (ticketRepository.existsById(event.getTicketId())) {
+                    log.info("Ticket {} already assigned to {}, skipping", 
+                             event.getTicketNumber(), event.getAssignedToUsername());
+                } else {
+                    log.warn("Ticket {} not found for assignment update", event.getTicketNumber());
+                }
                 return;
             }
             
-            // Update ticket
-            ticket.setAssignedToUserId(event.getAssignedToUserId());
-            ticket.setAssignedToUsername(event.getAssignedToUsername());
-            ticket.setStatus(TicketStatus.ASSIGNED);
-            ticket.setAssignedAt(event.getAssignedAt());
-            ticket.setUpdatedAt(LocalDateTime.now());
-            
-            ticketRepository.save(ticket);
+            ticketCache.evict(event.getTicketId());
             log.info("Updated ticket {} with assignment to {}", 
                      event.getTicketNumber(), event.getAssignedToUsername());
             
@@ -84,8 +85,7 @@ public class AssignmentEventListener {
             );
             activity.setNewValue(event.getAssignedToUsername());
             
-            ticketActivityRepository.save(activity);
-            log.info("Logged activity for ticket assignment: {}", event.getTicketNumber());
+            ticketActivityWriter.record(activity);
             
         } catch (Exception e) {
             log.error("Error handling TicketAssignedEvent for ticket {}: {}", 
@@ -0,0 +1,24 @@
+package com.ticket.listener;
+
+import com.ticket.event.TicketCacheInvalidatedEvent;
+import com.ticket.service.TicketCache;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TicketCacheInvalidationListener {
+
+    private final TicketCache ticketCache;
+
+    public TicketCacheInvalidationListener(TicketCache ticketCache) {
+        this.ticketCache = ticketCache;
+    }
+
+    /**
+     * Listen to cache invalidations from other ticket-service instances
+     */
+    @RabbitListener(queues = "#{ticketCacheInvalidationQueue.name}")
+    public void handleTicketCacheInvalidated(TicketCacheInvalidatedEvent event) {
+        ticketCache.onRemoteInvalidation(event);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ticket.repository;
+
+import com.ticket.entity.AttachmentBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AttachmentBlobRepository extends MongoRepository<AttachmentBlob, String>, AttachmentBlobRepositoryCustom {
+}
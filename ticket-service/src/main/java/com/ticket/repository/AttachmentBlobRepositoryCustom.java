@@ -0,0 +1,26 @@
+package com.ticket.repository;
+
+import com.ticket.entity.AttachmentBlob;
+
+import java.util.Optional;
+
+/**
+ * Atomic reference counting on attachment blobs.
+ */
+public interface AttachmentBlobRepositoryCustom {
+
+    /**
+     * Add a reference; empty when no blob with this hash exists
+     */
+    Optional<AttachmentBlob> addReference(String sha256);
+
+    /**
+     * Drop a reference and return the blob with its new count; empty when it does not exist
+     */
+    Optional<AttachmentBlob> releaseReference(String sha256);
+
+    /**
+     * Remove the blob document only if nothing references it any more
+     */
+    boolean deleteIfUnreferenced(String sha256);
+}
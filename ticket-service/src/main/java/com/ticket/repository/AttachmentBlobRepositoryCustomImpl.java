@@ -0,0 +1,45 @@
+package com.ticket.repository;
+
+import com.ticket.entity.AttachmentBlob;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+/**
+ * Reference counts are changed with findAndModify/$inc so concurrent uploads and
+ * deletes of the same content never lose an update.
+ */
+public class AttachmentBlobRepositoryCustomImpl implements AttachmentBlobRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AttachmentBlobRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<AttachmentBlob> addReference(String sha256) {
+        return incrementRefCount(sha256, 1);
+    }
+
+    @Override
+    public Optional<AttachmentBlob> releaseReference(String sha256) {
+        return incrementRefCount(sha256, -1);
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String sha256) {
+        Query query = new Query(Criteria.where("_id").is(sha256).and("refCount").lte(0));
+        return mongoTemplate.remove(query, AttachmentBlob.class).getDeletedCount() > 0;
+    }
+
+    private Optional<AttachmentBlob> incrementRefCount(String sha256, int delta) {
+        Query query = new Query(Criteria.where("_id").is(sha256));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, new Update().inc("refCount", delta),
+                FindAndModifyOptions.options().returnNew(true), AttachmentBlob.class));
+    }
+}
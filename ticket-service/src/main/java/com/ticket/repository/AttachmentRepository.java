@@ -5,6 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttachmentRepository extends MongoRepository<Attachment, String> {
@@ -12,4 +13,9 @@ public interface AttachmentRepository extends MongoRepository<Attachment, String
     List<Attachment> findByTicketIdOrderByUploadedAtDesc(String ticketId);
     
     Long countByTicketId(String ticketId);
+    
+    boolean existsByS3Key(String s3Key);
+    
+    // Several attachments share a key when their content was deduplicated
+    Optional<Attachment> findFirstByS3Key(String s3Key);
 }
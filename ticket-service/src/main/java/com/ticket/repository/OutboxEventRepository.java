@@ -0,0 +1,13 @@
+package com.ticket.repository;
+
+import com.ticket.entity.OutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String>, OutboxEventRepositoryCustom {
+    
+    Optional<OutboxEvent> findFirstByOrderByCreatedAtAsc();
+}
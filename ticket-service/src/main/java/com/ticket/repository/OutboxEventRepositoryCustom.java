@@ -0,0 +1,22 @@
+package com.ticket.repository;
+
+import com.ticket.entity.OutboxEvent;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Claiming outbox events so several ticket-service instances can relay without sending the same event twice.
+ */
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Claim up to limit available events, oldest first, for the lease duration
+     */
+    List<OutboxEvent> claimBatch(int limit, Duration lease);
+
+    /**
+     * Give a claimed event back after a failed publish; it becomes available again after the delay
+     */
+    void release(String id, Duration delay);
+}
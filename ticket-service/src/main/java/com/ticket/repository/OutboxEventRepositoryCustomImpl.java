@@ -0,0 +1,57 @@
+package com.ticket.repository;
+
+import com.ticket.entity.OutboxEvent;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A claim moves availableAt past the lease and tags the events with a one-off token; the
+ * conditional updateMulti makes sure an event is claimed by only one relay. If the relay dies
+ * the lease runs out and the events are picked up again.
+ */
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public OutboxEventRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<OutboxEvent> claimBatch(int limit, Duration lease) {
+        Instant now = Instant.now();
+        Query candidates = new Query(Criteria.where("availableAt").lte(now))
+                .with(Sort.by("createdAt"))
+                .limit(limit);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, OutboxEvent.class).stream()
+                .map(OutboxEvent::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String claim = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids).and("availableAt").lte(now)),
+                new Update().set("availableAt", now.plus(lease)).set("claimedBy", claim),
+                OutboxEvent.class);
+
+        return mongoTemplate.find(new Query(Criteria.where("_id").in(ids).and("claimedBy").is(claim))
+                .with(Sort.by("createdAt")), OutboxEvent.class);
+    }
+
+    @Override
+    public void release(String id, Duration delay) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(id)),
+                new Update().set("availableAt", Instant.now().plus(delay)).unset("claimedBy").inc("attempts", 1),
+                OutboxEvent.class);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticket.repository;
+
+import com.ticket.entity.TicketActivityBucket;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TicketActivityBucketRepository extends MongoRepository<TicketActivityBucket, String>,
+        TicketActivityBucketRepositoryCustom {
+
+    List<TicketActivityBucket> findByTicketIdOrderBySeqDesc(String ticketId);
+
+    List<TicketActivityBucket> findByTicketIdOrderBySeqDesc(String ticketId, Limit limit);
+
+    List<TicketActivityBucket> findByTicketIdAndSeqLessThanEqualOrderBySeqDesc(String ticketId, int seq, Limit limit);
+}
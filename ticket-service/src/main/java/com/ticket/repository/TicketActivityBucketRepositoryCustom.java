@@ -0,0 +1,17 @@
+package com.ticket.repository;
+
+import com.ticket.entity.TicketActivity;
+
+import java.util.List;
+
+/**
+ * Appending to a ticket's activity buckets.
+ */
+public interface TicketActivityBucketRepositoryCustom {
+
+    /**
+     * Append activities (oldest first) to the ticket's newest bucket,
+     * opening new buckets whenever it reaches bucketSize
+     */
+    void append(String ticketId, List<TicketActivity> activities, int bucketSize);
+}
@@ -0,0 +1,112 @@
+package com.ticket.repository;
+
+import com.ticket.entity.TicketActivity;
+import com.ticket.entity.TicketActivityBucket;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Only the newest bucket is appended to, and only while it has room, so every bucket below it
+ * is full and bucket order is activity order. Both steps are conditional: the push matches only
+ * if the bucket still has room, and a new bucket collides on the unique (ticketId, seq) index if
+ * another writer opened it first. Either way the loop re-reads the newest bucket and tries again.
+ *
+ * Activities get their ids before the first write, so an append that failed part-way can be
+ * retried with the same list: whatever already reached a bucket is skipped.
+ */
+public class TicketActivityBucketRepositoryCustomImpl implements TicketActivityBucketRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public TicketActivityBucketRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void append(String ticketId, List<TicketActivity> toAppend, int bucketSize) {
+        List<TicketActivity> activities = withoutStored(ticketId, toAppend);
+        for (TicketActivity activity : activities) {
+            // Embedded documents get no generated id
+            if (activity.getActivityId() == null) {
+                activity.setActivityId(new ObjectId().toHexString());
+            }
+        }
+
+        int next = 0;
+        while (next < activities.size()) {
+            TicketActivityBucket newest = findNewest(ticketId);
+            int remaining = activities.size() - next;
+
+            if (newest != null && newest.getCount() < bucketSize) {
+                int take = Math.min(remaining, bucketSize - newest.getCount());
+                List<TicketActivity> chunk = activities.subList(next, next + take);
+                if (push(newest, chunk, bucketSize)) {
+                    next += take;
+                }
+            } else {
+                int take = Math.min(remaining, bucketSize);
+                int seq = newest != null ? newest.getSeq() + 1 : 0;
+                try {
+                    mongoTemplate.insert(new TicketActivityBucket(ticketId, seq,
+                            new ArrayList<>(activities.subList(next, next + take))));
+                    next += take;
+                } catch (DuplicateKeyException e) {
+                    // Another writer opened this bucket first
+                }
+            }
+        }
+    }
+
+    /**
+     * Activities that already have an id went through an append that failed part-way; drop the
+     * ones that reached a bucket so that retrying the append does not store them twice
+     */
+    private List<TicketActivity> withoutStored(String ticketId, List<TicketActivity> activities) {
+        List<String> retried = activities.stream()
+                .map(TicketActivity::getActivityId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (retried.isEmpty()) {
+            return activities;
+        }
+        Query query = new Query(Criteria.where("ticketId").is(ticketId).and("activities.activityId").in(retried));
+        query.fields().include("activities.activityId");
+        Set<String> stored = new HashSet<>();
+        for (TicketActivityBucket bucket : mongoTemplate.find(query, TicketActivityBucket.class)) {
+            bucket.getActivities().forEach(activity -> stored.add(activity.getActivityId()));
+        }
+        return activities.stream()
+                .filter(activity -> !stored.contains(activity.getActivityId()))
+                .toList();
+    }
+
+    private TicketActivityBucket findNewest(String ticketId) {
+        Query query = new Query(Criteria.where("ticketId").is(ticketId))
+                .with(Sort.by(Sort.Direction.DESC, "seq"))
+                .limit(1);
+        query.fields().include("ticketId", "seq", "count");
+        return mongoTemplate.findOne(query, TicketActivityBucket.class);
+    }
+
+    private boolean push(TicketActivityBucket bucket, List<TicketActivity> chunk, int bucketSize) {
+        Query query = new Query(Criteria.where("ticketId").is(bucket.getTicketId())
+                .and("seq").is(bucket.getSeq())
+                .and("count").lte(bucketSize - chunk.size()));
+        Update update = new Update()
+                .push("activities").each(chunk.toArray())
+                .inc("count", chunk.size())
+                .max("lastAt", chunk.get(chunk.size() - 1).getCreatedAt());
+        return mongoTemplate.updateFirst(query, update, TicketActivityBucket.class).getMatchedCount() > 0;
+    }
+}
@@ -0,0 +1,147 @@
+package com.ticket.repository;
+
+import com.ticket.entity.Ticket;
+import com.ticket.enums.TicketCategory;
+import com.ticket.enums.TicketPriority;
+import com.ticket.enums.TicketStatus;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The fields changed on one ticket, written with {@link TicketRepositoryCustom#applyChanges}.
+ *
+ * Each change is recorded twice: as an update operator, so only these fields are sent to Mongo,
+ * and as an in-memory edit, so the post-image can be built from the pre-image that findAndModify
+ * returns. The two are applied atomically to the same document, so both images are exact.
+ * Every change also bumps the ticket's version, so a concurrent save() of an older copy fails.
+ */
+public class TicketChanges {
+
+    /**
+     * The ticket right before and right after the update
+     */
+    public record Applied(Ticket before, Ticket after) {}
+
+    private static final String VERSION = "version";
+
+    private final Update update = new Update().inc(VERSION, 1);
+    private final List<Consumer<Ticket>> edits = new ArrayList<>(List.of(TicketChanges::bumpVersion));
+    private final Set<String> fields = new LinkedHashSet<>();
+
+    public TicketChanges title(String title) {
+        return set("title", title, ticket -> ticket.setTitle(title));
+    }
+
+    public TicketChanges description(String description) {
+        return set("description", description, ticket -> ticket.setDescription(description));
+    }
+
+    public TicketChanges category(TicketCategory category) {
+        return set("category", category, ticket -> ticket.setCategory(category));
+    }
+
+    public TicketChanges priority(TicketPriority priority) {
+        return set("priority", priority, ticket -> ticket.setPriority(priority));
+    }
+
+    public TicketChanges tags(List<String> tags) {
+        return set("tags", tags, ticket -> ticket.setTags(tags));
+    }
+
+    public TicketChanges status(TicketStatus status) {
+        return set("status", status, ticket -> ticket.setStatus(status));
+    }
+
+    public TicketChanges assignedTo(String userId, String username) {
+        set("assignedToUserId", userId, ticket -> ticket.setAssignedToUserId(userId));
+        return set("assignedToUsername", username, ticket -> ticket.setAssignedToUsername(username));
+    }
+
+    public TicketChanges assignedAt(LocalDateTime assignedAt) {
+        return set("assignedAt", assignedAt, ticket -> ticket.setAssignedAt(assignedAt));
+    }
+
+    /**
+     * Set assignedAt only if the ticket was never assigned.
+     * Written as $min: a missing field takes the value, and an earlier assignment time always wins.
+     */
+    public TicketChanges assignedAtIfUnset(LocalDateTime assignedAt) {
+        fields.add("assignedAt");
+        update.min("assignedAt", assignedAt);
+        edits.add(ticket -> {
+            if (ticket.getAssignedAt() == null || assignedAt.isBefore(ticket.getAssignedAt())) {
+                ticket.setAssignedAt(assignedAt);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * The timestamps that go with moving to this status: first assignment, resolution, closing
+     */
+    public TicketChanges statusTimestamps(TicketStatus status, LocalDateTime at) {
+        if (status == TicketStatus.ASSIGNED) {
+            assignedAtIfUnset(at);
+        }
+        if (status == TicketStatus.RESOLVED) {
+            resolvedAt(at);
+        }
+        if (status == TicketStatus.CLOSED) {
+            closedAt(at);
+        }
+        return this;
+    }
+
+    public TicketChanges resolvedAt(LocalDateTime resolvedAt) {
+        return set("resolvedAt", resolvedAt, ticket -> ticket.setResolvedAt(resolvedAt));
+    }
+
+    public TicketChanges closedAt(LocalDateTime closedAt) {
+        return set("closedAt", closedAt, ticket -> ticket.setClosedAt(closedAt));
+    }
+
+    public TicketChanges updatedAt(LocalDateTime updatedAt) {
+        return set("updatedAt", updatedAt, ticket -> ticket.setUpdatedAt(updatedAt));
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Names of the changed fields, in the order they were set
+     */
+    public Set<String> fields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public Update toUpdate() {
+        return update;
+    }
+
+    /**
+     * Apply the changes to an in-memory ticket
+     */
+    public void applyTo(Ticket ticket) {
+        edits.forEach(edit -> edit.accept(ticket));
+    }
+
+    // $inc on a missing field starts from 0, as for tickets saved before versioning
+    private static void bumpVersion(Ticket ticket) {
+        ticket.setVersion(ticket.getVersion() == null ? 1 : ticket.getVersion() + 1);
+    }
+
+    private TicketChanges set(String field, Object value, Consumer<Ticket> edit) {
+        fields.add(field);
+        update.set(field, value);
+        edits.add(edit);
+        return this;
+    }
+}
@@ -2,22 +2,41 @@ package com.ticket.repository;
 
 import com.ticket.entity.Ticket;
 import com.ticket.enums.TicketStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TicketRepository extends MongoRepository<Ticket, String> {
+public interface TicketRepository extends MongoRepository<Ticket, String>, TicketRepositoryCustom {
+    
+    // Fields needed for TicketSummaryDTO; list queries below load only these
+    String SUMMARY_FIELDS = "{ 'ticketNumber': 1, 'title': 1, 'status': 1, 'priority': 1, 'category': 1, "
+            + "'assignedToUsername': 1, 'createdAt': 1, 'updatedAt': 1 }";
     
     Optional<Ticket> findByTicketNumber(String ticketNumber);
     
-    List<Ticket> findByCreatedByUserId(String userId);
+    List<Ticket> findByCreatedByUserIdOrderByCreatedAtDesc(String userId, Limit limit);
+    
+    List<Ticket> findByAssignedToUserIdOrderByAssignedAtDesc(String userId, Limit limit);
+    
+    List<Ticket> findByStatusOrderByCreatedAtDesc(TicketStatus status, Limit limit);
+    
+    List<Ticket> findAllByOrderByCreatedAtDesc(Limit limit);
+    
+    @Query(value = "{ 'createdByUserId': ?0 }", fields = SUMMARY_FIELDS)
+    Slice<Ticket> findSummariesByCreatedByUserId(String userId, Pageable pageable);
     
-    List<Ticket> findByAssignedToUserId(String userId);
+    @Query(value = "{ 'assignedToUserId': ?0 }", fields = SUMMARY_FIELDS)
+    Slice<Ticket> findSummariesByAssignedToUserId(String userId, Pageable pageable);
     
-    List<Ticket> findByStatus(TicketStatus status);
+    @Query(value = "{ 'status': ?0 }", fields = SUMMARY_FIELDS)
+    Slice<Ticket> findSummariesByStatus(TicketStatus status, Pageable pageable);
     
     List<Ticket> findByCreatedByUserIdAndStatus(String userId, TicketStatus status);
     
@@ -0,0 +1,29 @@
+package com.ticket.repository;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Optional;
+
+/**
+ * Single-round-trip updates on ticket documents.
+ * The counter methods return false when no ticket with the given id exists.
+ */
+public interface TicketRepositoryCustom {
+
+    boolean incrementCommentCount(String ticketId, int delta);
+
+    boolean incrementAttachmentCount(String ticketId, int delta);
+
+    boolean setAttachmentCount(String ticketId, int count);
+
+    /**
+     * Write only the changed fields with one findAndModify and return the ticket before and after;
+     * empty when no ticket with this id exists
+     */
+    Optional<TicketChanges.Applied> applyChanges(String ticketId, TicketChanges changes);
+
+    /**
+     * Same, but only if the ticket also matches the precondition; empty when it does not
+     */
+    Optional<TicketChanges.Applied> applyChanges(String ticketId, Criteria precondition, TicketChanges changes);
+}
@@ -0,0 +1,82 @@
+package com.ticket.repository;
+
+import com.ticket.entity.Ticket;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+/**
+ * Counter updates applied server-side with $inc / $set, so concurrent
+ * comments and uploads never lose increments and the ticket is not re-read.
+ * Field edits go through findAndModify with only the changed fields, so concurrent
+ * edits of different fields do not overwrite each other.
+ * Every update also increments the ticket's version, so a whole-document save() of a copy
+ * read before it fails with an OptimisticLockingFailureException.
+ */
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public TicketRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean incrementCommentCount(String ticketId, int delta) {
+        return update(ticketId, new Update().inc("commentCount", delta));
+    }
+
+    @Override
+    public boolean incrementAttachmentCount(String ticketId, int delta) {
+        return update(ticketId, new Update().inc("attachmentCount", delta));
+    }
+
+    @Override
+    public boolean setAttachmentCount(String ticketId, int count) {
+        return update(ticketId, new Update().set("attachmentCount", count));
+    }
+
+    @Override
+    public Optional<TicketChanges.Applied> applyChanges(String ticketId, TicketChanges changes) {
+        return applyChanges(ticketId, null, changes);
+    }
+
+    @Override
+    public Optional<TicketChanges.Applied> applyChanges(String ticketId, Criteria precondition, TicketChanges changes) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No ticket fields to update");
+        }
+        Query query = new Query(Criteria.where("_id").is(ticketId));
+        if (precondition != null) {
+            query.addCriteria(precondition);
+        }
+
+        // The pre-image; the post-image is that plus our changes, since nothing else ran in between
+        Ticket before = mongoTemplate.findAndModify(query, changes.toUpdate(),
+                FindAndModifyOptions.options().returnNew(false), Ticket.class);
+        if (before == null) {
+            return Optional.empty();
+        }
+        Ticket after = copy(before);
+        changes.applyTo(after);
+        return Optional.of(new TicketChanges.Applied(before, after));
+    }
+
+    private Ticket copy(Ticket ticket) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        Document document = new Document();
+        converter.write(ticket, document);
+        return converter.read(Ticket.class, document);
+    }
+
+    private boolean update(String ticketId, Update update) {
+        Query query = new Query(Criteria.where("_id").is(ticketId));
+        return mongoTemplate.updateFirst(query, update.inc("version", 1), Ticket.class).getMatchedCount() > 0;
+    }
+}
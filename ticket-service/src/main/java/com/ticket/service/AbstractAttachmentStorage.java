@@ -0,0 +1,153 @@
+package com.ticket.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Validation and key layout shared by every storage backend
+ */
+public abstract class AbstractAttachmentStorage implements AttachmentStorage {
+    
+    /**
+     * Custom exception for invalid file names.
+     */
+    class InvalidFileNameException extends RuntimeException {
+        public InvalidFileNameException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Custom exception for file size limit exceeded.
+     */
+    class FileSizeLimitExceededException extends RuntimeException {
+        public FileSizeLimitExceededException(String message) {
+            super(message);
+        }
+    }
+    
+    private static final List<String> ALLOWED_FILE_TYPES = Arrays.asList(
+        "application/pdf",
+        "image/png",
+        "image/jpeg",
+        "image/jpg",
+        "text/plain",
+        "application/vnd.openxmlformats-officedocument.wordprocessingml.document", // .docx
+        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" // .xlsx
+    );
+    
+    // Spring's multipart limits (spring.servlet.multipart.*) must be raised alongside this
+    @Value("${aws.s3.max-file-size:10MB}")
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
+    
+    // Direct uploads never pass through this service, so they can be larger than proxied ones
+    @Value("${aws.s3.direct-upload.max-file-size:100MB}")
+    private DataSize directUploadMaxFileSize = DataSize.ofMegabytes(100);
+    
+    protected static final String BLOB_PREFIX = "blobs/";
+    
+    /**
+     * Write the already validated file under the key
+     */
+    protected abstract void store(String key, MultipartFile file) throws IOException;
+    
+    @Override
+    public String uploadFile(String ticketId, MultipartFile file) throws IOException {
+        validateFile(file);
+        
+        String key = newObjectKey(ticketId, file.getOriginalFilename());
+        store(key, file);
+        return key;
+    }
+    
+    /**
+     * The UUID keeps a re-upload after the last reference was released from racing
+     * with the deletion of the previous object for the same content
+     */
+    @Override
+    public String uploadBlob(String sha256, MultipartFile file) throws IOException {
+        validateFile(file);
+        
+        String key = BLOB_PREFIX + sha256 + "/" + uniqueFileName(file.getOriginalFilename());
+        store(key, file);
+        return key;
+    }
+    
+    /**
+     * Unique object key under the ticket's prefix, keeping the original extension
+     */
+    protected String newObjectKey(String ticketId, String originalFileName) {
+        return ticketObjectPrefix(ticketId) + uniqueFileName(originalFileName);
+    }
+    
+    /**
+     * Unique file name keeping the original extension
+     */
+    private String uniqueFileName(String originalFileName) {
+        if (originalFileName == null || !originalFileName.contains(".")) {
+            throw new InvalidFileNameException("Invalid file name: file name is null or does not contain an extension.");
+        }
+        String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+        return UUID.randomUUID().toString() + fileExtension;
+    }
+    
+    private static String ticketObjectPrefix(String ticketId) {
+        return "tickets/" + ticketId + "/";
+    }
+    
+    /**
+     * Whether the key is one this service would have generated for the ticket
+     */
+    @Override
+    public boolean isTicketObjectKey(String ticketId, String key) {
+        String prefix = ticketObjectPrefix(ticketId);
+        return key.startsWith(prefix) && key.indexOf('/', prefix.length()) < 0 && !key.contains("..");
+    }
+    
+    /**
+     * Validate file type and size
+     */
+    @Override
+    public void validateFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new InvalidFileNameException("File is empty");
+        }
+        
+        validateUpload(file.getSize(), file.getContentType(), maxFileSize);
+    }
+    
+    /**
+     * Validate a file stored directly by the client, as reported by HEAD
+     */
+    @Override
+    public void validateDirectUpload(StoredObject storedObject) {
+        if (storedObject.contentLength() <= 0) {
+            throw new InvalidFileNameException("File is empty");
+        }
+        
+        validateUpload(storedObject.contentLength(), storedObject.contentType(), directUploadMaxFileSize);
+    }
+    
+    /**
+     * Validate the declared size and type of a direct upload before handing out a slot
+     */
+    protected void validateUploadSlot(long size, String contentType) {
+        validateUpload(size, contentType, directUploadMaxFileSize);
+    }
+    
+    private void validateUpload(long size, String contentType, DataSize limit) {
+        if (size > limit.toBytes()) {
+            throw new FileSizeLimitExceededException("File size exceeds maximum limit of " + limit.toMegabytes() + " MB");
+        }
+        
+        if (contentType == null || !ALLOWED_FILE_TYPES.contains(contentType)) {
+            throw new InvalidFileNameException("File type not allowed. Allowed types: PDF, PNG, JPG, TXT, DOCX, XLSX");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ticket.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor into a ticket's activity timeline (newest first).
+ * Inside the buckets it points at (bucket seq, array index): the next page starts with the entry
+ * just below it. Past the oldest bucket it moves on to the pre-bucket ticket_activity collection,
+ * carrying a {@link TicketCursor} over (createdAt, activityId); a null one means its first page.
+ * Encoded as URL-safe Base64 of "b|seq|index" or "l|ticketCursor".
+ */
+public record ActivityCursor(int seq, int index, boolean legacy, TicketCursor legacyPosition) {
+
+    private static final String BUCKET = "b";
+    private static final String LEGACY = "l";
+    private static final String SEPARATOR = "|";
+
+    public static ActivityCursor inBuckets(int seq, int index) {
+        return new ActivityCursor(seq, index, false, null);
+    }
+
+    public static ActivityCursor inLegacy(TicketCursor position) {
+        return new ActivityCursor(0, 0, true, position);
+    }
+
+    public String encode() {
+        String value = legacy
+                ? LEGACY + SEPARATOR + (legacyPosition != null ? legacyPosition.encode() : "")
+                : BUCKET + SEPARATOR + seq + SEPARATOR + index;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor; blank means "first page" and returns null
+     */
+    public static ActivityCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (parts.length == 2 && LEGACY.equals(parts[0])) {
+                return inLegacy(TicketCursor.decode(parts[1]));
+            }
+            if (parts.length == 3 && BUCKET.equals(parts[0])) {
+                int seq = Integer.parseInt(parts[1]);
+                int index = Integer.parseInt(parts[2]);
+                if (seq >= 0 && index >= 0) {
+                    return inBuckets(seq, index);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through
+        }
+        throw new TicketCursor.InvalidCursorException("Invalid cursor");
+    }
+}
@@ -7,24 +7,35 @@ import com.ticket.enums.TicketCategory;
 import com.ticket.enums.TicketPriority;
 import com.ticket.enums.TicketStatus;
 import com.ticket.event.TicketStatusChangedEvent;
-import com.ticket.repository.TicketActivityRepository;
+import com.ticket.repository.TicketChanges;
 import com.ticket.repository.TicketRepository;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 public class AdminTicketService {
@@ -32,26 +43,46 @@ public class AdminTicketService {
     private static final Logger log = LoggerFactory.getLogger(AdminTicketService.class);
     
     private final TicketRepository ticketRepository;
-    private final TicketActivityRepository ticketActivityRepository;
+    private final TicketActivityWriter ticketActivityWriter;
     private final EventPublisherService eventPublisher;
     private final MongoTemplate mongoTemplate;
+    private final TicketCache ticketCache;
+    private final long statsCacheTtlNanos;
+    
+    // Last computed stats, shared by all callers until it expires
+    private final Object statsLock = new Object();
+    private volatile CachedStats cachedStats;
 
     private static final String TICKETNOTFOUNDMESSAGE="Ticket Not Found!";
     
+    private static final String CREATED_AT = "createdAt";
+    private static final String ASSIGNED_AT = "assignedAt";
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    
+    // Full ticket number (TKT-20240101-00001) and anything that is clearly a prefix of one
+    private static final Pattern TICKET_NUMBER = Pattern.compile("TKT-\\d{8}-\\d{5,}", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TICKET_NUMBER_PREFIX = Pattern.compile("TKT-[\\d-]*", Pattern.CASE_INSENSITIVE);
+    
     //     FIX 1: Constructor injection instead of field injection
     public AdminTicketService(TicketRepository ticketRepository,
-                             TicketActivityRepository ticketActivityRepository,
+                             TicketActivityWriter ticketActivityWriter,
                              EventPublisherService eventPublisher,
-                             MongoTemplate mongoTemplate) {
+                             MongoTemplate mongoTemplate,
+                             TicketCache ticketCache,
+                             @Value("${ticket.stats.cache-ttl-ms:5000}") long statsCacheTtlMs) {
         this.ticketRepository = ticketRepository;
-        this.ticketActivityRepository = ticketActivityRepository;
+        this.ticketActivityWriter = ticketActivityWriter;
         this.eventPublisher = eventPublisher;
         this.mongoTemplate = mongoTemplate;
+        this.ticketCache = ticketCache;
+        this.statsCacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(statsCacheTtlMs);
     }
     
     /**
      * Get all tickets with pagination and filtering
      *     FIX 2 & 3: Reduced parameters by using TicketFilterRequest DTO
+     * Free-text searches are ordered by relevance first, then newest first.
      */
     public Page<AdminTicketDTO> getAllTickets(TicketFilterRequest filterRequest) {
         Pageable pageable = PageRequest.of(
@@ -76,7 +107,21 @@ public class AdminTicketService {
      * Build MongoDB query from filter request
      */
     private Query buildTicketQuery(TicketFilterRequest filterRequest) {
-        Query query = new Query();
+        TextCriteria textCriteria = buildTextCriteria(filterRequest.search());
+        Query query = textCriteria != null ? TextQuery.queryText(textCriteria).sortByScore() : new Query();
+        List<Criteria> criteria = buildTicketCriteria(filterRequest);
+        
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        }
+        
+        return query;
+    }
+    
+    /**
+     * Collect filter criteria from filter request
+     */
+    private List<Criteria> buildTicketCriteria(TicketFilterRequest filterRequest) {
         List<Criteria> criteria = new ArrayList<>();
         
         addStatusCriteria(criteria, filterRequest.status());
@@ -86,11 +131,7 @@ public class AdminTicketService {
         addCreatedByCriteria(criteria, filterRequest.createdByUserId());
         addSearchCriteria(criteria, filterRequest.search());
         
-        if (!criteria.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
-        }
-        
-        return query;
+        return criteria;
     }
     
     /**
@@ -154,19 +195,32 @@ public class AdminTicketService {
     }
     
     /**
-     * Add search criteria
+     * Add ticket number search criteria.
+     * Ticket numbers go through the ticketNumber index: exact match, or anchored prefix for partial numbers.
+     * Other searches are handled by the text index (see buildTextCriteria).
      */
     private void addSearchCriteria(List<Criteria> criteria, String search) {
-        if (search != null && !search.isBlank()) {
-            Criteria searchCriteria = new Criteria().orOperator(
-                    Criteria.where("ticketNumber").regex(search, "i"),
-                    Criteria.where("title").regex(search, "i"),
-                    Criteria.where("description").regex(search, "i")
-            );
-            criteria.add(searchCriteria);
+        if (search == null || search.isBlank()) {
+            return;
+        }
+        String term = search.trim().toUpperCase(Locale.ROOT);
+        if (TICKET_NUMBER.matcher(term).matches()) {
+            criteria.add(Criteria.where("ticketNumber").is(term));
+        } else if (TICKET_NUMBER_PREFIX.matcher(term).matches()) {
+            criteria.add(Criteria.where("ticketNumber").regex("^" + term));
         }
     }
     
+    /**
+     * Build $text criteria for free-text searches (title, ticket number and description, weighted in that order)
+     */
+    private TextCriteria buildTextCriteria(String search) {
+        if (search == null || search.isBlank() || TICKET_NUMBER_PREFIX.matcher(search.trim()).matches()) {
+            return null;
+        }
+        return TextCriteria.forDefaultLanguage().matching(search.trim());
+    }
+    
     /**
      * Get ticket by ID
      */
@@ -186,16 +240,14 @@ public class AdminTicketService {
         log.info("Admin {} changing priority for ticket {} to {}", 
                 adminUsername, ticketId, request.priority());
         
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
-        
-        TicketPriority oldPriority = ticket.getPriority();
         TicketPriority newPriority = TicketPriority.fromString(request.priority());
         
-        ticket.setPriority(newPriority);
-        ticket.setUpdatedAt(LocalDateTime.now());
-        
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        TicketChanges.Applied applied = ticketRepository.applyChanges(ticketId,
+                        new TicketChanges().priority(newPriority).updatedAt(LocalDateTime.now()))
+                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
+        TicketPriority oldPriority = applied.before().getPriority();
+        Ticket updatedTicket = applied.after();
+        ticketCache.evict(ticketId);
         
         // Log activity
         String activityMessage = buildPriorityChangeMessage(oldPriority, newPriority, request.reason());
@@ -203,7 +255,7 @@ public class AdminTicketService {
         logActivity(ticketId, "PRIORITY_CHANGED", activityMessage, adminId, adminUsername);
         
         log.info("Priority changed for ticket {}: {} -> {}", 
-                ticket.getTicketNumber(), oldPriority, newPriority);
+                updatedTicket.getTicketNumber(), oldPriority, newPriority);
         
         return convertToAdminDTO(updatedTicket);
     }
@@ -231,16 +283,14 @@ public class AdminTicketService {
         log.info("Admin {} changing category for ticket {} to {}", 
                 adminUsername, ticketId, request.category());
         
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
-        
-        TicketCategory oldCategory = ticket.getCategory();
         TicketCategory newCategory = TicketCategory.fromString(request.category());
         
-        ticket.setCategory(newCategory);
-        ticket.setUpdatedAt(LocalDateTime.now());
-        
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        TicketChanges.Applied applied = ticketRepository.applyChanges(ticketId,
+                        new TicketChanges().category(newCategory).updatedAt(LocalDateTime.now()))
+                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
+        TicketCategory oldCategory = applied.before().getCategory();
+        Ticket updatedTicket = applied.after();
+        ticketCache.evict(ticketId);
         
         // Log activity
         String activityMessage = String.format("Category changed from %s to %s by admin. Reason: %s", 
@@ -249,7 +299,7 @@ public class AdminTicketService {
         logActivity(ticketId, "CATEGORY_CHANGED", activityMessage, adminId, adminUsername);
         
         log.info("Category changed for ticket {}: {} -> {}", 
-                ticket.getTicketNumber(), oldCategory, newCategory);
+                updatedTicket.getTicketNumber(), oldCategory, newCategory);
         
         return convertToAdminDTO(updatedTicket);
     }
@@ -263,19 +313,20 @@ public class AdminTicketService {
         log.info("Admin {} force changing status for ticket {} to {}", 
                 adminUsername, ticketId, request.status());
         
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
-        
-        TicketStatus oldStatus = ticket.getStatus();
         TicketStatus newStatus = TicketStatus.valueOf(request.status().toUpperCase());
         
         // Admin can force any status change (no validation)
-        ticket.setStatus(newStatus);
-        ticket.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        TicketChanges changes = new TicketChanges()
+                .status(newStatus)
+                .statusTimestamps(newStatus, now)
+                .updatedAt(now);
         
-        updateTicketTimestamps(ticket, newStatus);
-        
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        TicketChanges.Applied applied = ticketRepository.applyChanges(ticketId, changes)
+                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
+        TicketStatus oldStatus = applied.before().getStatus();
+        Ticket updatedTicket = applied.after();
+        ticketCache.evict(ticketId);
         
         // Log activity
         String activityMessage = String.format("Status force changed from %s to %s by admin. Reason: %s", 
@@ -284,29 +335,14 @@ public class AdminTicketService {
         logActivity(ticketId, "STATUS_FORCE_CHANGED", activityMessage, adminId, adminUsername);
         
         // Publish event
-        publishStatusChangedEvent(ticket, oldStatus, newStatus, adminId, adminUsername, request.reason());
+        publishStatusChangedEvent(updatedTicket, oldStatus, newStatus, adminId, adminUsername, request.reason());
         
         log.info("Status force changed for ticket {}: {} -> {}", 
-                ticket.getTicketNumber(), oldStatus, newStatus);
+                updatedTicket.getTicketNumber(), oldStatus, newStatus);
         
         return convertToAdminDTO(updatedTicket);
     }
     
-    /**
-     * Update ticket timestamps based on status
-     */
-    private void updateTicketTimestamps(Ticket ticket, TicketStatus newStatus) {
-        if (newStatus == TicketStatus.ASSIGNED && ticket.getAssignedAt() == null) {
-            ticket.setAssignedAt(LocalDateTime.now());
-        }
-        if (newStatus == TicketStatus.RESOLVED) {
-            ticket.setResolvedAt(LocalDateTime.now());
-        }
-        if (newStatus == TicketStatus.CLOSED) {
-            ticket.setClosedAt(LocalDateTime.now());
-        }
-    }
-    
     /**
      * Publish ticket status changed event
      */
@@ -345,6 +381,7 @@ public class AdminTicketService {
      */
     private String performHardDelete(Ticket ticket, String adminUsername) {
         ticketRepository.delete(ticket);
+        ticketCache.evict(ticket.getTicketId());
         log.warn("Admin {} hard deleted ticket {}", adminUsername, ticket.getTicketNumber());
         return "Ticket permanently deleted";
     }
@@ -353,10 +390,14 @@ public class AdminTicketService {
      * Perform soft delete
      */
     private String performSoftDelete(Ticket ticket, String ticketId, String adminId, String adminUsername) {
-        ticket.setStatus(TicketStatus.CLOSED);
-        ticket.setClosedAt(LocalDateTime.now());
-        ticket.setUpdatedAt(LocalDateTime.now());
-        ticketRepository.save(ticket);
+        // Field-level, so it cannot clobber (or conflict with) a concurrent edit of the same ticket
+        LocalDateTime now = LocalDateTime.now();
+        ticketRepository.applyChanges(ticketId, new TicketChanges()
+                        .status(TicketStatus.CLOSED)
+                        .statusTimestamps(TicketStatus.CLOSED, now)
+                        .updatedAt(now))
+                .orElseThrow(() -> new RuntimeException(TICKETNOTFOUNDMESSAGE));
+        ticketCache.evict(ticketId);
         
         logActivity(ticketId, "TICKET_DELETED", 
                 "Ticket soft deleted by admin", adminId, adminUsername);
@@ -367,45 +408,87 @@ public class AdminTicketService {
     
     /**
      * Get ticket statistics
+     * Served from a short-lived cache; dashboards poll this far more often than the numbers change.
      */
     public TicketStatsDTO getTicketStats() {
-        long totalTickets = ticketRepository.count();
-        long openTickets = ticketRepository.countByStatus(TicketStatus.OPEN);
-        long assignedTickets = ticketRepository.countByStatus(TicketStatus.ASSIGNED);
-        long inProgressTickets = ticketRepository.countByStatus(TicketStatus.IN_PROGRESS);
-        long resolvedTickets = ticketRepository.countByStatus(TicketStatus.RESOLVED);
-        long closedTickets = ticketRepository.countByStatus(TicketStatus.CLOSED);
-        long escalatedTickets = ticketRepository.countByStatus(TicketStatus.ESCALATED);
-        
-        // Count by priority
-        long criticalTickets = countTicketsByPriority(TicketPriority.CRITICAL);
-        long highPriorityTickets = countTicketsByPriority(TicketPriority.HIGH);
-        long mediumPriorityTickets = countTicketsByPriority(TicketPriority.MEDIUM);
-        long lowPriorityTickets = countTicketsByPriority(TicketPriority.LOW);
-        long noPriorityTickets = countTicketsByPriority(null);
+        CachedStats cached = cachedStats;
+        if (cached != null && cached.isFresh()) {
+            return cached.stats();
+        }
+        synchronized (statsLock) {
+            cached = cachedStats;
+            if (cached == null || !cached.isFresh()) {
+                cached = new CachedStats(loadTicketStats(), System.nanoTime() + statsCacheTtlNanos);
+                cachedStats = cached;
+            }
+            return cached.stats();
+        }
+    }
+    
+    /**
+     * Count every status and priority bucket in one $facet aggregation
+     */
+    private TicketStatsDTO loadTicketStats() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                        .and(Aggregation.group("priority").count().as("count")).as("byPriority")
+                        .and(Aggregation.count().as("count")).as("total")
+        );
+        
+        Document result = mongoTemplate.aggregate(aggregation, Ticket.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+        
+        Map<TicketStatus, Long> byStatus = countBuckets(result, "byStatus", TicketStatus.class);
+        Map<TicketPriority, Long> byPriority = countBuckets(result, "byPriority", TicketPriority.class);
+        List<Document> total = result.getList("total", Document.class, List.of());
+        long totalTickets = total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue();
         
         return new TicketStatsDTO(
                 totalTickets,
-                openTickets,
-                assignedTickets,
-                inProgressTickets,
-                resolvedTickets,
-                closedTickets,
-                escalatedTickets,
-                criticalTickets,
-                highPriorityTickets,
-                mediumPriorityTickets,
-                lowPriorityTickets,
-                noPriorityTickets
+                byStatus.getOrDefault(TicketStatus.OPEN, 0L),
+                byStatus.getOrDefault(TicketStatus.ASSIGNED, 0L),
+                byStatus.getOrDefault(TicketStatus.IN_PROGRESS, 0L),
+                byStatus.getOrDefault(TicketStatus.RESOLVED, 0L),
+                byStatus.getOrDefault(TicketStatus.CLOSED, 0L),
+                byStatus.getOrDefault(TicketStatus.ESCALATED, 0L),
+                byPriority.getOrDefault(TicketPriority.CRITICAL, 0L),
+                byPriority.getOrDefault(TicketPriority.HIGH, 0L),
+                byPriority.getOrDefault(TicketPriority.MEDIUM, 0L),
+                byPriority.getOrDefault(TicketPriority.LOW, 0L),
+                countNullBucket(result, "byPriority")
         );
     }
     
     /**
-     * Count tickets by priority
+     * Read one facet of {_id, count} groups into an enum-keyed map, ignoring unknown values
+     */
+    private <E extends Enum<E>> Map<E, Long> countBuckets(Document result, String facet, Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (Document bucket : result.getList(facet, Document.class, List.of())) {
+            Object key = bucket.get("_id");
+            if (key == null) {
+                continue;
+            }
+            try {
+                counts.put(Enum.valueOf(type, key.toString()), ((Number) bucket.get("count")).longValue());
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown {} value in ticket stats: {}", type.getSimpleName(), key);
+            }
+        }
+        return counts;
+    }
+    
+    /**
+     * Count of the group whose key is null or missing
      */
-    private long countTicketsByPriority(TicketPriority priority) {
-        Query query = new Query(Criteria.where("priority").is(priority));
-        return mongoTemplate.count(query, Ticket.class);
+    private long countNullBucket(Document result, String facet) {
+        return result.getList(facet, Document.class, List.of()).stream()
+                .filter(bucket -> bucket.get("_id") == null)
+                .mapToLong(bucket -> ((Number) bucket.get("count")).longValue())
+                .findFirst()
+                .orElse(0L);
     }
     
     /**
@@ -442,6 +525,117 @@ public class AdminTicketService {
         return ticketPage.map(this::convertToAdminDTO);
     }
     
+    /**
+     * Get all tickets with keyset pagination (newest first)
+     * Cost per page is the same on page 1 and page 10,000: no skip, no count unless asked for.
+     */
+    public CursorPage<AdminTicketDTO> getAllTicketsByCursor(TicketFilterRequest filterRequest,
+                                                            String cursor, boolean includeTotal) {
+        return findByCursor(buildTicketCriteria(filterRequest), buildTextCriteria(filterRequest.search()),
+                CREATED_AT, cursor, filterRequest.size(), includeTotal);
+    }
+    
+    /**
+     * Get user's tickets (created by user) with keyset pagination
+     */
+    public CursorPage<AdminTicketDTO> getUserTicketsByCursor(String userId, String cursor,
+                                                             int size, boolean includeTotal) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("createdByUserId").is(userId));
+        return findByCursor(criteria, null, CREATED_AT, cursor, size, includeTotal);
+    }
+    
+    /**
+     * Get agent's assigned tickets with keyset pagination
+     */
+    public CursorPage<AdminTicketDTO> getAgentTicketsByCursor(String agentId, String cursor,
+                                                              int size, boolean includeTotal) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("assignedToUserId").is(agentId));
+        return findByCursor(criteria, null, ASSIGNED_AT, cursor, size, includeTotal);
+    }
+    
+    /**
+     * Fetch one keyset page sorted by (sortField desc, _id desc).
+     * Reads size + 1 documents to know whether another page exists.
+     * A text search only filters here; relevance order cannot be resumed from a cursor.
+     */
+    private CursorPage<AdminTicketDTO> findByCursor(List<Criteria> filterCriteria, TextCriteria textCriteria,
+                                                    String sortField, String cursor, int size,
+                                                    boolean includeTotal) {
+        int pageSize = size > 0 ? Math.min(size, MAX_CURSOR_PAGE_SIZE) : DEFAULT_CURSOR_PAGE_SIZE;
+        TicketCursor after = TicketCursor.decode(cursor);
+        
+        List<Criteria> criteria = new ArrayList<>(filterCriteria);
+        if (after != null) {
+            criteria.add(after.after(sortField));
+        }
+        
+        Query query = new Query();
+        if (textCriteria != null) {
+            query.addCriteria(textCriteria);
+        }
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        }
+        query.with(Sort.by(Sort.Order.desc(sortField), Sort.Order.desc("_id")));
+        query.limit(pageSize + 1);
+        
+        List<Ticket> tickets = mongoTemplate.find(query, Ticket.class);
+        boolean hasNext = tickets.size() > pageSize;
+        if (hasNext) {
+            tickets = tickets.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Ticket last = tickets.get(tickets.size() - 1);
+            LocalDateTime sortValue = ASSIGNED_AT.equals(sortField) ? last.getAssignedAt() : last.getCreatedAt();
+            nextCursor = new TicketCursor(sortValue, last.getTicketId()).encode();
+        }
+        
+        Long total = includeTotal ? countTickets(filterCriteria, textCriteria) : null;
+        
+        return new CursorPage<>(tickets.stream().map(this::convertToAdminDTO).toList(), nextCursor, hasNext, total);
+    }
+    
+    /**
+     * Stream every ticket matching the filter (newest first) straight off a Mongo cursor.
+     * Documents are fetched batchSize at a time; the caller must close the stream.
+     */
+    public Stream<AdminTicketDTO> streamTickets(TicketFilterRequest filterRequest, int batchSize) {
+        Query query = new Query();
+        TextCriteria textCriteria = buildTextCriteria(filterRequest.search());
+        if (textCriteria != null) {
+            query.addCriteria(textCriteria);
+        }
+        List<Criteria> criteria = buildTicketCriteria(filterRequest);
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        }
+        query.with(Sort.by(Sort.Order.desc(CREATED_AT), Sort.Order.desc("_id")));
+        query.cursorBatchSize(batchSize);
+        
+        return mongoTemplate.stream(query, Ticket.class).map(this::convertToAdminDTO);
+    }
+    
+    /**
+     * Total for a cursor listing: collection metadata estimate when unfiltered, exact count otherwise
+     */
+    private long countTickets(List<Criteria> filterCriteria, TextCriteria textCriteria) {
+        if (filterCriteria.isEmpty() && textCriteria == null) {
+            return mongoTemplate.estimatedCount(Ticket.class);
+        }
+        Query countQuery = new Query();
+        if (textCriteria != null) {
+            countQuery.addCriteria(textCriteria);
+        }
+        if (!filterCriteria.isEmpty()) {
+            countQuery.addCriteria(new Criteria().andOperator(filterCriteria.toArray(new Criteria[0])));
+        }
+        return mongoTemplate.count(countQuery, Ticket.class);
+    }
+    
     /**
      * Log activity
      */
@@ -450,7 +644,13 @@ public class AdminTicketService {
         TicketActivity activity = new TicketActivity(
                 ticketId, activityType, description, userId, username
         );
-        ticketActivityRepository.save(activity);
+        ticketActivityWriter.record(activity);
+    }
+    
+    private record CachedStats(TicketStatsDTO stats, long expiresAtNanos) {
+        boolean isFresh() {
+            return System.nanoTime() - expiresAtNanos < 0;
+        }
     }
     
     /**
@@ -0,0 +1,158 @@
+package com.ticket.service;
+
+import com.ticket.entity.Attachment;
+import com.ticket.repository.AttachmentRepository;
+import com.ticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds a ZIP of all attachments on a ticket while streaming it to the client.
+ * Each entry is copied from storage to the response through a small buffer, so neither a file
+ * nor the archive is ever held in memory. The next entry's stream is opened in the background
+ * while the current one is copied, hiding the storage round trip.
+ */
+@Service
+public class AttachmentArchiveService {
+    
+    private static final Logger log = LoggerFactory.getLogger(AttachmentArchiveService.class);
+    
+    /**
+     * One file in the archive
+     */
+    public record ArchiveEntry(String key, String entryName, LocalDateTime uploadedAt) {}
+    
+    private final AttachmentRepository attachmentRepository;
+    private final TicketRepository ticketRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final Executor prefetchExecutor;
+    private final int compressionLevel;
+    
+    public AttachmentArchiveService(AttachmentRepository attachmentRepository,
+                                    TicketRepository ticketRepository,
+                                    AttachmentStorage attachmentStorage,
+                                    @Qualifier("attachmentPrefetchExecutor") Executor prefetchExecutor,
+                                    // Attachments are mostly already compressed (PDF, images, Office files)
+                                    @Value("${ticket.attachments.archive.compression-level:1}") int compressionLevel) {
+        this.attachmentRepository = attachmentRepository;
+        this.ticketRepository = ticketRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.prefetchExecutor = prefetchExecutor;
+        this.compressionLevel = compressionLevel;
+    }
+    
+    /**
+     * Entries for the ticket's archive, newest first, with names made unique.
+     * Called before the response starts so an unknown ticket still gets a normal error.
+     */
+    public List<ArchiveEntry> listEntries(String ticketId) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new RuntimeException("Ticket not found");
+        }
+        
+        List<Attachment> attachments = attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId);
+        Set<String> usedNames = new HashSet<>();
+        List<ArchiveEntry> entries = new ArrayList<>(attachments.size());
+        for (Attachment attachment : attachments) {
+            entries.add(new ArchiveEntry(attachment.getS3Key(),
+                    uniqueEntryName(attachment.getOriginalFileName(), usedNames), attachment.getUploadedAt()));
+        }
+        return entries;
+    }
+    
+    /**
+     * Write the entries as a ZIP to the output
+     *
+     * @return number of entries written
+     */
+    public int writeArchive(List<ArchiveEntry> entries, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(compressionLevel);
+        
+        CompletableFuture<InputStream> next = entries.isEmpty() ? null : prefetch(entries.get(0));
+        int written = 0;
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                CompletableFuture<InputStream> current = next;
+                next = i + 1 < entries.size() ? prefetch(entries.get(i + 1)) : null;
+                
+                ArchiveEntry entry = entries.get(i);
+                try (InputStream content = await(current)) {
+                    ZipEntry zipEntry = new ZipEntry(entry.entryName());
+                    if (entry.uploadedAt() != null) {
+                        zipEntry.setTimeLocal(entry.uploadedAt());
+                    }
+                    zip.putNextEntry(zipEntry);
+                    content.transferTo(zip);
+                    zip.closeEntry();
+                }
+                written++;
+            }
+            zip.finish();
+            out.flush();
+        } finally {
+            // Client went away or storage failed: release a stream that was opened ahead
+            if (next != null) {
+                next.thenAccept(AttachmentArchiveService::closeQuietly);
+            }
+        }
+        
+        log.info("Streamed archive with {} attachments", written);
+        return written;
+    }
+    
+    private CompletableFuture<InputStream> prefetch(ArchiveEntry entry) {
+        return CompletableFuture.supplyAsync(() -> attachmentStorage.openStream(entry.key()), prefetchExecutor);
+    }
+    
+    private static InputStream await(CompletableFuture<InputStream> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.debug("Failed to close prefetched attachment stream: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * File name safe for a ZIP entry, with " (n)" added when it is already taken
+     */
+    static String uniqueEntryName(String fileName, Set<String> usedNames) {
+        String name = fileName == null || fileName.isBlank() ? "attachment" : fileName.replace('\\', '_').replace('/', '_');
+        String candidate = name;
+        int dot = name.lastIndexOf('.');
+        for (int n = 1; !usedNames.add(candidate); n++) {
+            candidate = dot > 0
+                    ? name.substring(0, dot) + " (" + n + ")" + name.substring(dot)
+                    : name + " (" + n + ")";
+        }
+        return candidate;
+    }
+}
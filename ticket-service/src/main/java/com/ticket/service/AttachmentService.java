@@ -1,32 +1,71 @@
 package com.ticket.service;
 
 import com.ticket.dto.AttachmentDTO;
+import com.ticket.dto.AttachmentUploadSlotDTO;
+import com.ticket.dto.AttachmentUploadSlotRequest;
+import com.ticket.dto.ConfirmAttachmentUploadRequest;
 import com.ticket.entity.Attachment;
 import com.ticket.repository.AttachmentRepository;
 import com.ticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
 
 @Service
 public class AttachmentService {
     
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+    
+    private static final Pattern BLOB_HASH = Pattern.compile("^[0-9a-f]{64}$");
+    
+    /**
+     * Thrown when a multi-file upload fails; files already stored by that call have been removed again.
+     */
+    public static class AttachmentUploadException extends RuntimeException {
+        public AttachmentUploadException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+    
+    /**
+     * Stored bytes of an attachment plus what a download response needs to describe them
+     */
+    public record AttachmentContent(Resource resource, String contentType, String fileName) {}
+    
     private AttachmentRepository attachmentRepository;
     
     private TicketRepository ticketRepository;
     
-    private S3StorageService s3StorageService;
+    private AttachmentStorage attachmentStorage;
     
     private TicketService ticketService;
+    
+    private Executor uploadExecutor;
+    
+    private PresignedUrlCache presignedUrlCache;
 
-    public AttachmentService( AttachmentRepository attachmentRepository, TicketRepository ticketRepository, S3StorageService s3StorageService, TicketService ticketService){
+    public AttachmentService( AttachmentRepository attachmentRepository, TicketRepository ticketRepository, AttachmentStorage attachmentStorage, TicketService ticketService,
+                              @Qualifier("attachmentUploadExecutor") Executor uploadExecutor, PresignedUrlCache presignedUrlCache){
         this.attachmentRepository=attachmentRepository;
         this.ticketRepository=ticketRepository;
-        this.s3StorageService=s3StorageService;
+        this.attachmentStorage=attachmentStorage;
         this.ticketService=ticketService;
+        this.uploadExecutor=uploadExecutor;
+        this.presignedUrlCache=presignedUrlCache;
     }
     
     /**
@@ -39,8 +78,8 @@ public class AttachmentService {
         ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         
-        // Upload to S3
-        String s3Key = s3StorageService.uploadFile(ticketId, file);
+        // Upload to storage
+        String s3Key = attachmentStorage.uploadFile(ticketId, file);
         
         // Create attachment record
         Attachment attachment = new Attachment();
@@ -60,26 +99,242 @@ public class AttachmentService {
         ticketService.incrementAttachmentCount(ticketId);
         
         // Generate pre-signed URL
-        String presignedUrl = s3StorageService.generatePresignedUrl(s3Key);
+        String presignedUrl = presignedUrlCache.get(s3Key);
         savedAttachment.setS3Url(presignedUrl);
         
         return convertToDTO(savedAttachment);
     }
     
+    /**
+     * Upload several attachments to one ticket.
+     * All files are validated first, then uploaded to storage in parallel on the upload executor.
+     * The records are inserted with one insertAll and the ticket count is bumped once.
+     *
+     * All or nothing: if any upload, the insert or the count update fails, the records and every
+     * object this call stored are deleted again and an AttachmentUploadException is thrown.
+     */
+    public List<AttachmentDTO> uploadAttachments(String ticketId, List<MultipartFile> files,
+                                                 String userId, String username) {
+        List<MultipartFile> nonEmptyFiles = files.stream().filter(file -> !file.isEmpty()).toList();
+        if (nonEmptyFiles.isEmpty()) {
+            return List.of();
+        }
+        
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new RuntimeException("Ticket not found");
+        }
+        nonEmptyFiles.forEach(attachmentStorage::validateFile);
+        
+        List<String> s3Keys = uploadAll(ticketId, nonEmptyFiles);
+        
+        List<Attachment> attachments = new ArrayList<>(nonEmptyFiles.size());
+        LocalDateTime uploadedAt = LocalDateTime.now();
+        for (int i = 0; i < nonEmptyFiles.size(); i++) {
+            MultipartFile file = nonEmptyFiles.get(i);
+            attachments.add(buildAttachment(ticketId, file.getOriginalFilename(), file.getContentType(), file.getSize(),
+                    s3Keys.get(i), userId, username, uploadedAt));
+        }
+        
+        List<Attachment> savedAttachments = null;
+        try {
+            savedAttachments = attachmentRepository.insert(attachments);
+            // Throws "Ticket not found" when the $inc matched nothing, e.g. the ticket was deleted meanwhile
+            ticketService.incrementAttachmentCount(ticketId, savedAttachments.size());
+        } catch (RuntimeException e) {
+            deleteInserted(savedAttachments);
+            deleteUploaded(s3Keys);
+            throw new AttachmentUploadException("Failed to save attachments: " + e.getMessage(), e);
+        }
+        
+        log.info("Uploaded {} attachments to ticket {}", savedAttachments.size(), ticketId);
+        
+        return savedAttachments.stream().map(attachment -> {
+            attachment.setS3Url(presignedUrlCache.get(attachment.getS3Key()));
+            return convertToDTO(attachment);
+        }).toList();
+    }
+    
+    /**
+     * Upload every file in parallel; returns keys in file order or rolls back and throws
+     */
+    private List<String> uploadAll(String ticketId, List<MultipartFile> files) {
+        List<CompletableFuture<String>> uploads = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> uploadToStorage(ticketId, file), uploadExecutor))
+                .toList();
+        
+        List<String> uploadedKeys = new ArrayList<>();
+        List<String> failedFiles = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (int i = 0; i < uploads.size(); i++) {
+            try {
+                uploadedKeys.add(uploads.get(i).join());
+            } catch (CompletionException e) {
+                failedFiles.add(files.get(i).getOriginalFilename());
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            }
+        }
+        
+        if (!failedFiles.isEmpty()) {
+            deleteUploaded(uploadedKeys);
+            throw new AttachmentUploadException("Failed to upload " + String.join(", ", failedFiles)
+                    + ": " + firstFailure.getMessage(), firstFailure);
+        }
+        return uploadedKeys;
+    }
+    
+    private String uploadToStorage(String ticketId, MultipartFile file) {
+        try {
+            return attachmentStorage.uploadFile(ticketId, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Remove the records of a failed multi-file upload before their objects, so none points at a missing object
+     */
+    private void deleteInserted(List<Attachment> inserted) {
+        if (inserted == null || inserted.isEmpty()) {
+            return;
+        }
+        try {
+            attachmentRepository.deleteAllById(inserted.stream().map(Attachment::getAttachmentId).toList());
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove {} attachment records of a failed upload: {}", inserted.size(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Best-effort removal of objects stored by a failed multi-file upload
+     */
+    private void deleteUploaded(List<String> s3Keys) {
+        for (String s3Key : s3Keys) {
+            try {
+                attachmentStorage.deleteFile(s3Key);
+            } catch (RuntimeException e) {
+                log.warn("Failed to remove orphaned upload {}: {}", s3Key, e.getMessage());
+            }
+        }
+    }
+    
+    private Attachment buildAttachment(String ticketId, String fileName, String contentType, long fileSize, String s3Key,
+                                       String userId, String username, LocalDateTime uploadedAt) {
+        Attachment attachment = new Attachment();
+        attachment.setTicketId(ticketId);
+        attachment.setFileName(fileName);
+        attachment.setOriginalFileName(fileName);
+        attachment.setFileType(contentType);
+        attachment.setFileSize(fileSize);
+        attachment.setS3Key(s3Key);
+        attachment.setUploadedByUserId(userId);
+        attachment.setUploadedByUsername(username);
+        attachment.setUploadedAt(uploadedAt);
+        return attachment;
+    }
+    
+    /**
+     * Step 1 of a direct upload: hand out a presigned PUT URL for the file.
+     * Nothing is recorded until the upload is confirmed.
+     */
+    public AttachmentUploadSlotDTO createUploadSlot(String ticketId, AttachmentUploadSlotRequest request) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new RuntimeException("Ticket not found");
+        }
+        DirectUploadStorage directUploads = attachmentStorage.directUploads()
+                .orElseThrow(() -> new RuntimeException("Direct uploads are not supported by the attachment storage"));
+        return directUploads.createUploadSlot(ticketId, request.fileName(), request.contentType(), request.fileSize());
+    }
+    
+    /**
+     * Step 2 of a direct upload: check the object with a HEAD request and record the attachment.
+     * An object that fails validation is deleted so it cannot be confirmed later.
+     */
+    public AttachmentDTO confirmUpload(String ticketId, ConfirmAttachmentUploadRequest request,
+                                       String userId, String username) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new RuntimeException("Ticket not found");
+        }
+        String s3Key = request.s3Key();
+        if (!attachmentStorage.isTicketObjectKey(ticketId, s3Key)) {
+            throw new RuntimeException("Upload does not belong to this ticket");
+        }
+        if (attachmentRepository.existsByS3Key(s3Key)) {
+            throw new RuntimeException("Upload already confirmed");
+        }
+        
+        AttachmentStorage.StoredObject storedObject = attachmentStorage.headObject(s3Key)
+                .orElseThrow(() -> new RuntimeException("Uploaded file not found"));
+        try {
+            attachmentStorage.validateDirectUpload(storedObject);
+        } catch (RuntimeException e) {
+            deleteUploaded(List.of(s3Key));
+            throw e;
+        }
+        
+        Attachment attachment = buildAttachment(ticketId, request.fileName(), storedObject.contentType(),
+                storedObject.contentLength(), s3Key, userId, username, LocalDateTime.now());
+        attachment.setUploadSlot(s3Key);
+        Attachment savedAttachment;
+        try {
+            // existsByS3Key above is only a fast path; the unique upload_slot index decides concurrent confirms
+            savedAttachment = attachmentRepository.insert(attachment);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("Upload already confirmed");
+        }
+        ticketService.incrementAttachmentCount(ticketId);
+        
+        savedAttachment.setS3Url(presignedUrlCache.get(s3Key));
+        return convertToDTO(savedAttachment);
+    }
+    
     /**
      * Get attachments for ticket
      */
     public List<AttachmentDTO> getAttachmentsByTicket(String ticketId) {
         List<Attachment> attachments = attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId);
         
-        // Generate fresh pre-signed URLs
+        // Pre-signed URLs are reused from the cache while they stay valid
         return attachments.stream().map(attachment -> {
-            String presignedUrl = s3StorageService.generatePresignedUrl(attachment.getS3Key());
+            String presignedUrl = presignedUrlCache.get(attachment.getS3Key());
             attachment.setS3Url(presignedUrl);
             return convertToDTO(attachment);
         }).toList();
     }
     
+    /**
+     * Attachment bytes for storage backends that are downloaded through this service
+     */
+    public AttachmentContent getAttachmentContent(String ticketId, String fileName) {
+        String key = "tickets/" + ticketId + "/" + fileName;
+        if (!attachmentStorage.isTicketObjectKey(ticketId, key)) {
+            throw new RuntimeException("Attachment not found");
+        }
+        return loadContent(key);
+    }
+    
+    /**
+     * Bytes of deduplicated content shared by one or more attachments
+     */
+    public AttachmentContent getBlobContent(String sha256, String fileName) {
+        if (!BLOB_HASH.matcher(sha256).matches() || fileName.contains("/") || fileName.contains("..")) {
+            throw new RuntimeException("Attachment not found");
+        }
+        return loadContent("blobs/" + sha256 + "/" + fileName);
+    }
+    
+    private AttachmentContent loadContent(String key) {
+        // Backends without served resources (S3) are downloaded from their presigned URL instead
+        ServedResourceStorage servedResources = attachmentStorage.servedResources()
+                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+        Attachment attachment = attachmentRepository.findFirstByS3Key(key)
+                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+        
+        return new AttachmentContent(servedResources.loadAsResource(key), attachment.getFileType(),
+                attachment.getOriginalFileName());
+    }
+    
     /**
      * Delete attachment
      */
@@ -88,8 +343,9 @@ public class AttachmentService {
         Attachment attachment = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new RuntimeException("Attachment not found"));
         
-        // Delete from S3
-        s3StorageService.deleteFile(attachment.getS3Key());
+        // Delete from storage
+        attachmentStorage.deleteFile(attachment.getS3Key());
+        presignedUrlCache.evict(attachment.getS3Key());
         
         // Delete from database
         attachmentRepository.deleteById(attachmentId);
@@ -0,0 +1,77 @@
+package com.ticket.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Where attachment bytes live. Selected with ticket.attachments.storage:
+ * "s3" (default, {@link S3StorageService}) or "local" ({@link LocalAttachmentStorage}).
+ *
+ * Keys have the form tickets/{ticketId}/{uuid}.{ext}, or blobs/{sha256}/{uuid}.{ext}
+ * for content shared between attachments.
+ *
+ * What only some backends can do is a separate capability interface, reached through
+ * {@link #directUploads()} and {@link #servedResources()}; callers branch on whether it is present.
+ */
+public interface AttachmentStorage {
+
+    /**
+     * Qualifier of the backend bean, for decorators that wrap it
+     */
+    String BACKEND = "attachmentStorageBackend";
+
+    /**
+     * Size and type of a stored object
+     */
+    record StoredObject(long contentLength, String contentType) {}
+
+    /**
+     * Store the file under a new key for the ticket and return the key
+     */
+    String uploadFile(String ticketId, MultipartFile file) throws IOException;
+
+    /**
+     * Store the file under a new key for content with the given SHA-256 and return the key
+     */
+    String uploadBlob(String sha256, MultipartFile file) throws IOException;
+
+    /**
+     * URL a client can download the object from; presigned for S3, served by ticket-service for local storage
+     */
+    String generatePresignedUrl(String key);
+
+    void deleteFile(String key);
+
+    /**
+     * Size and type of the object; empty if it does not exist
+     */
+    Optional<StoredObject> headObject(String key);
+
+    /**
+     * Stream the object's content; the caller must close it
+     */
+    InputStream openStream(String key);
+
+    void validateFile(MultipartFile file);
+
+    void validateDirectUpload(StoredObject storedObject);
+
+    boolean isTicketObjectKey(String ticketId, String key);
+
+    /**
+     * Direct-to-storage uploads, if this backend supports them
+     */
+    default Optional<DirectUploadStorage> directUploads() {
+        return Optional.empty();
+    }
+
+    /**
+     * Downloads streamed by ticket-service, if this backend serves its objects that way
+     */
+    default Optional<ServedResourceStorage> servedResources() {
+        return Optional.empty();
+    }
+}
@@ -1,12 +1,20 @@
 package com.ticket.service;
 
 import com.ticket.dto.CommentDTO;
+import com.ticket.dto.CommentThreadSummaryDTO;
 import com.ticket.dto.CreateCommentRequest;
+import com.ticket.dto.CursorPage;
 import com.ticket.entity.Comment;
 import com.ticket.entity.Ticket;
 import com.ticket.event.CommentAddedEvent;
 import com.ticket.repository.CommentRepository;
 import com.ticket.repository.TicketRepository;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +24,14 @@ import java.util.List;
 @Service
 public class CommentService {
     
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SUMMARY_SIZE = 5;
+    private static final String CREATED_AT = "createdAt";
+    
+    // Newest first; matches the ticket_created_at_id and ticket_internal_created_at_id indexes
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc(CREATED_AT), Sort.Order.desc("_id"));
+    
     private CommentRepository commentRepository;
     
     private TicketRepository ticketRepository;
@@ -23,12 +39,16 @@ public class CommentService {
     private TicketService ticketService;
     
     private EventPublisherService eventPublisherService;
+    
+    private MongoTemplate mongoTemplate;
 
-    public CommentService(EventPublisherService eventPublisherService, TicketService ticketService, TicketRepository ticketRepository, CommentRepository commentRepository){
+    public CommentService(EventPublisherService eventPublisherService, TicketService ticketService, TicketRepository ticketRepository, CommentRepository commentRepository,
+                          MongoTemplate mongoTemplate){
         this.eventPublisherService=eventPublisherService;
         this.ticketService=ticketService;
         this.ticketRepository=ticketRepository;
         this.commentRepository=commentRepository;
+        this.mongoTemplate=mongoTemplate;
     }
     
     
@@ -86,6 +106,78 @@ public class CommentService {
         return comments.stream().map(this::convertToDTO).toList();
     }
     
+    /**
+     * One page of comments, newest first, older than the before cursor (blank for the latest page).
+     * Reads size + 1 comments to know whether another page exists.
+     */
+    public CursorPage<CommentDTO> getCommentsByTicketBefore(String ticketId, boolean includeInternal,
+                                                            String before, int size) {
+        int pageSize = size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        TicketCursor cursor = TicketCursor.decode(before);
+        
+        Query query = new Query(threadCriteria(ticketId, includeInternal));
+        if (cursor != null) {
+            query.addCriteria(cursor.after(CREATED_AT));
+        }
+        query.with(NEWEST_FIRST);
+        query.limit(pageSize + 1);
+        
+        List<Comment> comments = mongoTemplate.find(query, Comment.class);
+        boolean hasNext = comments.size() > pageSize;
+        if (hasNext) {
+            comments = comments.subList(0, pageSize);
+        }
+        
+        String nextCursor = hasNext ? cursorAfter(comments.get(comments.size() - 1)) : null;
+        return new CursorPage<>(comments.stream().map(this::convertToDTO).toList(), nextCursor, hasNext, null);
+    }
+    
+    /**
+     * Comment count plus the latest comments, in one $facet aggregation.
+     * The match and sort run on the index before the facet splits the stream.
+     */
+    public CommentThreadSummaryDTO getThreadSummary(String ticketId, boolean includeInternal, int latest) {
+        int latestSize = latest > 0 ? Math.min(latest, MAX_PAGE_SIZE) : DEFAULT_SUMMARY_SIZE;
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(threadCriteria(ticketId, includeInternal)),
+                Aggregation.sort(NEWEST_FIRST),
+                Aggregation.facet(Aggregation.count().as("count")).as("total")
+                        .and(Aggregation.limit(latestSize)).as("latest")
+        );
+        
+        Document result = mongoTemplate.aggregate(aggregation, Comment.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+        
+        List<Document> total = result.getList("total", Document.class, List.of());
+        long totalComments = total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue();
+        List<Comment> comments = result.getList("latest", Document.class, List.of()).stream()
+                .map(document -> mongoTemplate.getConverter().read(Comment.class, document))
+                .toList();
+        
+        String nextCursor = totalComments > comments.size() && !comments.isEmpty()
+                ? cursorAfter(comments.get(comments.size() - 1))
+                : null;
+        return new CommentThreadSummaryDTO(totalComments, comments.stream().map(this::convertToDTO).toList(),
+                nextCursor);
+    }
+    
+    /**
+     * Comments of one ticket; customers only see the ones not marked internal
+     */
+    private Criteria threadCriteria(String ticketId, boolean includeInternal) {
+        Criteria criteria = Criteria.where("ticketId").is(ticketId);
+        if (!includeInternal) {
+            criteria.and("isInternal").is(false);
+        }
+        return criteria;
+    }
+    
+    private String cursorAfter(Comment comment) {
+        return new TicketCursor(comment.getCreatedAt(), comment.getCommentId()).encode();
+    }
+    
     /**
      * Convert entity to DTO
      */
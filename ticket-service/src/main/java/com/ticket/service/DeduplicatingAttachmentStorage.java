@@ -0,0 +1,163 @@
+package com.ticket.service;
+
+import com.ticket.entity.AttachmentBlob;
+import com.ticket.repository.AttachmentBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage in front of the configured backend.
+ *
+ * Uploads are hashed (SHA-256) and recorded in a reference-counted blob index, so identical
+ * content is stored once and later uploads only add a reference. Deleting a blob key drops a
+ * reference; the object is removed when the last one goes. Direct uploads and other ticket keys
+ * pass straight through. Disable with ticket.attachments.dedup.enabled=false.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "ticket.attachments.dedup.enabled", havingValue = "true", matchIfMissing = true)
+public class DeduplicatingAttachmentStorage implements AttachmentStorage {
+    
+    private static final Logger log = LoggerFactory.getLogger(DeduplicatingAttachmentStorage.class);
+    
+    private static final Pattern BLOB_KEY = Pattern.compile("^blobs/([0-9a-f]{64})/[^/]+$");
+    
+    private final AttachmentStorage backend;
+    
+    private final AttachmentBlobRepository blobRepository;
+    
+    public DeduplicatingAttachmentStorage(@Qualifier(AttachmentStorage.BACKEND) AttachmentStorage backend,
+                                          AttachmentBlobRepository blobRepository) {
+        this.backend = backend;
+        this.blobRepository = blobRepository;
+    }
+    
+    /**
+     * Store the file once per distinct content; returns the shared key
+     */
+    @Override
+    public String uploadFile(String ticketId, MultipartFile file) throws IOException {
+        backend.validateFile(file);
+        String sha256 = sha256(file);
+        
+        Optional<AttachmentBlob> existing = blobRepository.addReference(sha256);
+        if (existing.isPresent()) {
+            log.debug("Reusing stored content {} for ticket {}", sha256, ticketId);
+            return existing.get().getStorageKey();
+        }
+        
+        String key = backend.uploadBlob(sha256, file);
+        try {
+            blobRepository.insert(new AttachmentBlob(sha256, key, file.getSize()));
+            return key;
+        } catch (DuplicateKeyException e) {
+            // A concurrent upload of the same content registered first; keep theirs
+            backend.deleteFile(key);
+            return blobRepository.addReference(sha256)
+                    .map(AttachmentBlob::getStorageKey)
+                    .orElseThrow(() -> new RuntimeException("Attachment content was removed during upload, please retry"));
+        }
+    }
+    
+    @Override
+    public String uploadBlob(String sha256, MultipartFile file) throws IOException {
+        return backend.uploadBlob(sha256, file);
+    }
+    
+    /**
+     * Drop one reference to a blob key, deleting the object once unreferenced; other keys are deleted directly
+     */
+    @Override
+    public void deleteFile(String key) {
+        Matcher matcher = BLOB_KEY.matcher(key);
+        if (!matcher.matches()) {
+            backend.deleteFile(key);
+            return;
+        }
+        
+        String sha256 = matcher.group(1);
+        Optional<AttachmentBlob> released = blobRepository.releaseReference(sha256);
+        if (released.isEmpty()) {
+            // Not registered (e.g. an upload whose index insert lost a race), so nothing else uses it
+            backend.deleteFile(key);
+            return;
+        }
+        if (released.get().getRefCount() <= 0 && blobRepository.deleteIfUnreferenced(sha256)) {
+            backend.deleteFile(released.get().getStorageKey());
+            log.debug("Deleted unreferenced content {}", sha256);
+        }
+    }
+    
+    static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = file.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    @Override
+    public String generatePresignedUrl(String key) {
+        return backend.generatePresignedUrl(key);
+    }
+    
+    @Override
+    public Optional<StoredObject> headObject(String key) {
+        return backend.headObject(key);
+    }
+    
+    @Override
+    public InputStream openStream(String key) {
+        return backend.openStream(key);
+    }
+    
+    // Direct uploads use ticket-scoped keys and blobs live in the backend, so both capabilities pass through
+    @Override
+    public Optional<DirectUploadStorage> directUploads() {
+        return backend.directUploads();
+    }
+    
+    @Override
+    public Optional<ServedResourceStorage> servedResources() {
+        return backend.servedResources();
+    }
+    
+    @Override
+    public void validateFile(MultipartFile file) {
+        backend.validateFile(file);
+    }
+    
+    @Override
+    public void validateDirectUpload(StoredObject storedObject) {
+        backend.validateDirectUpload(storedObject);
+    }
+    
+    @Override
+    public boolean isTicketObjectKey(String ticketId, String key) {
+        return backend.isTicketObjectKey(ticketId, key);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ticket.service;
+
+import com.ticket.dto.AttachmentUploadSlotDTO;
+
+/**
+ * Storage capability: clients upload straight to the store through a presigned target,
+ * bypassing ticket-service. Reached through {@link AttachmentStorage#directUploads()}.
+ */
+public interface DirectUploadStorage {
+
+    /**
+     * Target for a direct-to-storage upload that bypasses ticket-service
+     */
+    AttachmentUploadSlotDTO createUploadSlot(String ticketId, String fileName, String contentType, long fileSize);
+}
@@ -16,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -26,12 +27,29 @@ public class EscalationService {
     private final AssignmentServiceClient assignmentServiceClient;
     private final UserServiceClient userServiceClient;
     private final EventPublisherService eventPublisherService;
+    private final TicketCache ticketCache;
+    private final TicketUpdateRetrier ticketUpdateRetrier;
     
     public Ticket escalateTicket(String ticketId, String escalatedBy, String escalatedByUsername, 
                                  EscalateTicketRequest request, EscalationType escalationType) {
         
         log.info("Escalating ticket: {} by {}", ticketId, escalatedByUsername);
         
+        Ticket current = findEscalatable(ticketId);
+        AssignmentDTO assignment = fetchAssignment(ticketId);
+        UserDTO manager = fetchManager(assignment.getAssignedBy());
+        
+        // Escalation rewrites the whole ticket; if another write lands between our read and save,
+        // the save fails on the version and only the read, check and save are redone
+        AtomicReference<Ticket> firstRead = new AtomicReference<>(current);
+        return ticketUpdateRetrier.execute("escalate", () -> {
+            Ticket ticket = firstRead.getAndSet(null);
+            return escalate(ticket != null ? ticket : findEscalatable(ticketId), assignment, manager,
+                    escalatedBy, escalatedByUsername, request, escalationType);
+        });
+    }
+    
+    private Ticket findEscalatable(String ticketId) {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found: " + ticketId));
         
@@ -42,7 +60,10 @@ public class EscalationService {
         if (ticket.getStatus() == TicketStatus.CLOSED) {
             throw new TicketEscalationException("Cannot escalate a closed ticket");
         }
-        
+        return ticket;
+    }
+    
+    private AssignmentDTO fetchAssignment(String ticketId) {
         AssignmentDTO assignment;
         try {
             assignment = assignmentServiceClient.getAssignmentByTicketId(ticketId);
@@ -54,17 +75,23 @@ public class EscalationService {
         if (assignment == null) {
             throw new TicketEscalationException("Ticket is not assigned. Cannot escalate unassigned ticket.");
         }
-        
-        String managerId = assignment.getAssignedBy();
-        String managerUsername = assignment.getAssignedByUsername();
-        
-        UserDTO manager;
+        return assignment;
+    }
+    
+    private UserDTO fetchManager(String managerId) {
         try {
-            manager = userServiceClient.getUserById(managerId);
+            return userServiceClient.getUserById(managerId);
         } catch (Exception e) {
             log.error("Failed to fetch manager details: {}", e.getMessage());
             throw new TicketEscalationException("Failed to fetch manager details");
         }
+    }
+    
+    private Ticket escalate(Ticket ticket, AssignmentDTO assignment, UserDTO manager, String escalatedBy,
+                            String escalatedByUsername, EscalateTicketRequest request, EscalationType escalationType) {
+        String ticketId = ticket.getTicketId();
+        String managerId = assignment.getAssignedBy();
+        String managerUsername = assignment.getAssignedByUsername();
         
         String previousAgentId = ticket.getAssignedToUserId();
         String previousAgentUsername = ticket.getAssignedToUsername();
@@ -82,6 +109,7 @@ public class EscalationService {
         ticket.setUpdatedAt(LocalDateTime.now());
         
         Ticket savedTicket = ticketRepository.save(ticket);
+        ticketCache.evict(ticketId);
         
         TicketEscalatedEvent event = new TicketEscalatedEvent();
         event.setTicketId(savedTicket.getTicketId());
@@ -1,30 +1,57 @@
 package com.ticket.service;
 
+import com.ticket.entity.OutboxEvent;
 import com.ticket.event.CommentAddedEvent;
+import com.ticket.event.TicketCacheInvalidatedEvent;
 import com.ticket.event.TicketCreatedEvent;
 import com.ticket.event.TicketEscalatedEvent;
 import com.ticket.event.TicketStatusChangedEvent;
+import com.ticket.repository.OutboxEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Publishes ticket-service domain events.
+ * With the outbox enabled (the default) an event is only written to the outbox collection,
+ * inside the caller's transaction, and OutboxRelay sends it to RabbitMQ in the background.
+ * Failures propagate, so a change is never committed without its event.
+ * Cache invalidations are instance-to-instance hints; they go to the broker directly, but from
+ * a small background queue so a slow or unreachable broker never holds up a ticket write.
+ */
 @Service
 public class EventPublisherService {
     
     private static final Logger log = LoggerFactory.getLogger(EventPublisherService.class);
     
     private RabbitTemplate rabbitTemplate;
+    
+    private OutboxEventRepository outboxEventRepository;
+    
+    private Executor cacheInvalidationExecutor;
 
-    private static final String EXCHANGE_LOG_MSG = "Exchange: {}";
-    private static final String ROUTING_KEY_LOG_MSG = "Routing Key: {}";
-    private static final String TICKET_NUMBER_LOG_MSG = "Ticket Number: {}";
 
-    public EventPublisherService(RabbitTemplate rabbitTemplate){
+    public EventPublisherService(RabbitTemplate rabbitTemplate, OutboxEventRepository outboxEventRepository,
+                                 @Qualifier("cacheInvalidationExecutor") Executor cacheInvalidationExecutor){
         this.rabbitTemplate=rabbitTemplate;
+        this.outboxEventRepository=outboxEventRepository;
+        this.cacheInvalidationExecutor=cacheInvalidationExecutor;
     }
     
+    @Value("${ticket.outbox.enabled:true}")
+    private boolean outboxEnabled = true;
+    
     @Value("${rabbitmq.exchange.name}")
     private String ticketExchange;
 
@@ -39,56 +66,85 @@ public class EventPublisherService {
     @Value("${rabbitmq.routing-key.comment-added}")
     private String commentAddedRoutingKey;
     
+    @Value("${rabbitmq.routing-key.ticket-cache-invalidated:ticket.cache.invalidated}")
+    private String ticketCacheInvalidatedRoutingKey;
+    
     /**
      * Publish ticket created event
      */
     public void publishTicketCreated(TicketCreatedEvent event) {
-        log.info("=== PUBLISHING TICKET CREATED EVENT ===");
-        log.info(EXCHANGE_LOG_MSG, ticketExchange);
-        log.info(ROUTING_KEY_LOG_MSG, ticketCreatedRoutingKey);
-        log.info(TICKET_NUMBER_LOG_MSG, event.getTicketNumber());
-        log.info("Event: {}", event);
-        
-        rabbitTemplate.convertAndSend(ticketExchange, ticketCreatedRoutingKey, event);
-        
-        log.info("  TicketCreatedEvent published successfully for: {}", event.getTicketNumber());
+        send(ticketExchange, ticketCreatedRoutingKey, event);
+        log.debug("TicketCreatedEvent queued for: {}", event.getTicketNumber());
     }
     
     /**
      * Publish ticket status changed event
      */
     public void publishTicketStatusChanged(TicketStatusChangedEvent event) {
-        log.info("=== PUBLISHING TICKET STATUS CHANGED EVENT ===");
-        log.info(EXCHANGE_LOG_MSG, ticketExchange);
-        log.info(ROUTING_KEY_LOG_MSG, ticketStatusChangedRoutingKey);
-        log.info(TICKET_NUMBER_LOG_MSG, event.getTicketNumber());
-        
-        rabbitTemplate.convertAndSend(ticketExchange, ticketStatusChangedRoutingKey, event);
-        
-        log.info("  TicketStatusChangedEvent published for: {}", event.getTicketNumber());
+        send(ticketExchange, ticketStatusChangedRoutingKey, event);
+        log.debug("TicketStatusChangedEvent queued for: {}", event.getTicketNumber());
     }
     
     /**
      * Publish comment added event
      */
     public void publishCommentAdded(CommentAddedEvent event) {
-        log.info("=== PUBLISHING COMMENT ADDED EVENT ===");
-        log.info(EXCHANGE_LOG_MSG, ticketExchange);
-        log.info(ROUTING_KEY_LOG_MSG, commentAddedRoutingKey);
-        log.info(TICKET_NUMBER_LOG_MSG, event.getTicketNumber());
-        
-        rabbitTemplate.convertAndSend(ticketExchange, commentAddedRoutingKey, event);
-        
-        log.info("  CommentAddedEvent published for ticket: {}", event.getTicketNumber());
+        send(ticketExchange, commentAddedRoutingKey, event);
+        log.debug("CommentAddedEvent queued for ticket: {}", event.getTicketNumber());
     }
 
-    public void publishTicketEscalated(TicketEscalatedEvent event) {
+    /**
+     * Publish ticket cache invalidation to the other ticket-service instances.
+     * Best effort: a lost message only means a peer serves its copy until the cache TTL expires.
+     * Returns immediately; the message is sent on the cacheInvalidationExecutor.
+     */
+    public void publishTicketCacheInvalidated(TicketCacheInvalidatedEvent event) {
         try {
-            rabbitTemplate.convertAndSend(EXCHANGE, "ticket.escalated", event);
-            log.info("TicketEscalatedEvent published successfully for: {}", event.getTicketNumber());
+            cacheInvalidationExecutor.execute(() -> sendCacheInvalidation(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Cache invalidation queue full, dropping invalidation of {}", event.getTicketId());
+        }
+    }
+    
+    private void sendCacheInvalidation(TicketCacheInvalidatedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(ticketExchange, ticketCacheInvalidatedRoutingKey, event);
+            log.debug("TicketCacheInvalidatedEvent published for: {}", event.getTicketId());
         } catch (Exception e) {
-            log.error("Failed to publish TicketEscalatedEvent: {}", e.getMessage(), e);
+            log.warn("Failed to publish TicketCacheInvalidatedEvent for {}: {}", event.getTicketId(), e.getMessage());
         }
     }
 
+    /**
+     * Publish ticket escalated event
+     */
+    public void publishTicketEscalated(TicketEscalatedEvent event) {
+        send(EXCHANGE, "ticket.escalated", event);
+        log.debug("TicketEscalatedEvent queued for: {}", event.getTicketNumber());
+    }
+    
+    /**
+     * Write the event to the outbox, or send it right away when the outbox is disabled
+     */
+    private void send(String exchange, String routingKey, Object event) {
+        if (!outboxEnabled) {
+            rabbitTemplate.convertAndSend(exchange, routingKey, event);
+            return;
+        }
+        // Outside a transaction the change is already stored, and a crash before this insert loses the event
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of the change they describe");
+        }
+        
+        Message message = rabbitTemplate.getMessageConverter().toMessage(event, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+        Map<String, String> headers = new HashMap<>();
+        properties.getHeaders().forEach((name, value) -> {
+            if (value != null) {
+                headers.put(name, value.toString());
+            }
+        });
+        outboxEventRepository.save(new OutboxEvent(exchange, routingKey, message.getBody(),
+                properties.getContentType(), headers));
+    }
 }
@@ -0,0 +1,134 @@
+package com.ticket.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Attachment storage on the local disk, for on-prem and test deployments without S3.
+ *
+ * Files are sharded into one directory per ticket (root/tickets/{ticketId}/{uuid}.{ext}), or per
+ * content hash for deduplicated blobs (root/blobs/{sha256}/{uuid}.{ext}), and
+ * downloaded through ticket-service itself, which streams them without copying through the heap.
+ * Download URLs are not signed; access control is left to the gateway.
+ */
+@Service
+@Qualifier(AttachmentStorage.BACKEND)
+@ConditionalOnProperty(name = "ticket.attachments.storage", havingValue = "local")
+public class LocalAttachmentStorage extends AbstractAttachmentStorage implements ServedResourceStorage {
+    
+    private static final Logger log = LoggerFactory.getLogger(LocalAttachmentStorage.class);
+    
+    private final Path rootDir;
+    
+    private final String baseUrl;
+    
+    public LocalAttachmentStorage(
+            @Value("${ticket.attachments.local.root-dir:${java.io.tmpdir}/ticket-attachments}") String rootDir,
+            @Value("${ticket.attachments.local.base-url:}") String baseUrl) {
+        this.rootDir = Path.of(rootDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+        log.info("Storing attachments under {}", this.rootDir);
+    }
+    
+    /**
+     * Custom exception for local storage errors.
+     */
+    public static class LocalStorageException extends RuntimeException {
+        public LocalStorageException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+    
+    @Override
+    protected void store(String key, MultipartFile file) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        // Moves the multipart temp file where the container allows it instead of copying
+        file.transferTo(target);
+    }
+    
+    /**
+     * tickets/{ticketId}/{file} is served at {base-url}/tickets/{ticketId}/attachments/files/{file},
+     * shared blobs/{sha256}/{file} at {base-url}/attachments/blobs/{sha256}/{file}
+     */
+    @Override
+    public String generatePresignedUrl(String key) {
+        if (key.startsWith(BLOB_PREFIX)) {
+            return baseUrl + "/attachments/" + key;
+        }
+        int lastSlash = key.lastIndexOf('/');
+        return baseUrl + "/" + key.substring(0, lastSlash) + "/attachments/files/" + key.substring(lastSlash + 1);
+    }
+    
+    @Override
+    public void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new LocalStorageException("Failed to delete file: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Optional<StoredObject> headObject(String key) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            String contentType = MediaTypeFactory.getMediaType(key).map(MediaType::toString).orElse(null);
+            return Optional.of(new StoredObject(Files.size(path), contentType));
+        } catch (IOException e) {
+            throw new LocalStorageException("Failed to read file: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public InputStream openStream(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new LocalStorageException("Failed to read file: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Optional<ServedResourceStorage> servedResources() {
+        return Optional.of(this);
+    }
+    
+    @Override
+    public Resource loadAsResource(String key) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            throw new RuntimeException("Attachment file not found");
+        }
+        return new FileSystemResource(path);
+    }
+    
+    /**
+     * Path for the key, refusing anything that would escape the root directory
+     */
+    private Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+            throw new InvalidFileNameException("Invalid attachment key: " + key);
+        }
+        return path;
+    }
+}
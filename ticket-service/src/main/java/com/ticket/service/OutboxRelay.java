@@ -0,0 +1,219 @@
+package com.ticket.service;
+
+import com.ticket.entity.OutboxEvent;
+import com.ticket.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves events from the outbox to RabbitMQ.
+ *
+ * Each poll claims a batch (up to batch-size events, so an event waits at most one poll
+ * interval), sends every message on a single channel with correlation data and then waits for
+ * the broker's confirms; confirmed events are deleted, nacked or timed-out ones are released
+ * for a retry with exponential backoff. Delivery is at least once: an event can be sent again
+ * if the relay dies between the confirm and the delete.
+ *
+ * Confirms need spring.rabbitmq.publisher-confirm-type=correlated, which application.yml sets;
+ * if the deployed config turns it off, a send that did not throw is treated as delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final Duration claimLease;
+    private final Duration confirmTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicBoolean noConfirmsLogged = new AtomicBoolean();
+    
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${ticket.outbox.batch-size:100}") int batchSize,
+                       @Value("${ticket.outbox.claim-lease:30s}") Duration claimLease,
+                       @Value("${ticket.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                       @Value("${ticket.outbox.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${ticket.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.claimLease = claimLease;
+        this.confirmTimeout = confirmTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        
+        this.publishedCounter = Counter.builder("ticket.outbox.published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ticket.outbox.failed")
+                .description("Outbox publish attempts that will be retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("ticket.outbox.batch")
+                .description("Time to publish and confirm one outbox batch")
+                .register(meterRegistry);
+        TimeGauge.builder("ticket.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest event still in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("ticket.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Drain the outbox: keep publishing while batches come back full
+     */
+    @Scheduled(fixedDelayString = "${ticket.outbox.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize);
+            updateBacklogMetrics();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay run failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Publish one claimed batch
+     *
+     * @return number of events claimed
+     */
+    int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(batchSize, claimLease);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        Timer.Sample sample = Timer.start();
+        boolean confirms = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        if (!confirms && noConfirmsLogged.compareAndSet(false, true)) {
+            log.error("Publisher confirms are off (spring.rabbitmq.publisher-confirm-type); "
+                    + "outbox events are deleted as soon as they are sent and can be lost");
+        }
+        List<OutboxEvent> sent = new ArrayList<>(batch.size());
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        
+        // One channel for the whole batch; the confirms arrive on it while the rest is still being sent
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : batch) {
+                CorrelationData correlation = new CorrelationData(event.getId());
+                try {
+                    operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+                    sent.add(event);
+                    correlations.add(correlation);
+                } catch (AmqpException e) {
+                    log.debug("Failed to send outbox event {}: {}", event.getId(), e.getMessage());
+                    failed.add(event);
+                }
+            }
+            return null;
+        });
+        
+        List<String> confirmed = new ArrayList<>(sent.size());
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        for (int i = 0; i < sent.size(); i++) {
+            OutboxEvent event = sent.get(i);
+            if (!confirms || isAcked(correlations.get(i), deadline)) {
+                confirmed.add(event.getId());
+            } else {
+                failed.add(event);
+            }
+        }
+        
+        if (!confirmed.isEmpty()) {
+            outboxEventRepository.deleteAllById(confirmed);
+        }
+        for (OutboxEvent event : failed) {
+            outboxEventRepository.release(event.getId(), backoff(event.getAttempts()));
+        }
+        
+        sample.stop(batchTimer);
+        publishedCounter.increment(confirmed.size());
+        failedCounter.increment(failed.size());
+        if (failed.isEmpty()) {
+            log.debug("Outbox batch: {} published", confirmed.size());
+        } else {
+            log.warn("Outbox batch: {} published, {} to retry", confirmed.size(), failed.size());
+        }
+        return batch.size();
+    }
+    
+    private boolean isAcked(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.debug("Broker nacked outbox event {}: {}", correlation.getId(), confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (TimeoutException | ExecutionException e) {
+            log.debug("No confirm for outbox event {}", correlation.getId());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+    
+    private void updateBacklogMetrics() {
+        pendingEvents.set(outboxEventRepository.count());
+        lagMillis.set(outboxEventRepository.findFirstByOrderByCreatedAtAsc()
+                .map(event -> Math.max(0, Duration.between(event.getCreatedAt(), Instant.now()).toMillis()))
+                .orElse(0L));
+    }
+    
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(event.getContentType());
+        properties.setDeliveryMode(MessageProperties.DEFAULT_DELIVERY_MODE);
+        properties.setMessageId(event.getId());
+        if (event.getHeaders() != null) {
+            event.getHeaders().forEach(properties::setHeader);
+        }
+        return new Message(event.getBody(), properties);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ticket.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reuses presigned download URLs per S3 key instead of signing on every listing.
+ *
+ * An entry lives for the URL's validity minus a safety margin, so a URL handed out
+ * from the cache is always good for at least the margin. Deleting an attachment must
+ * call {@link #evict(String)}.
+ */
+@Component
+public class PresignedUrlCache {
+
+    private final AttachmentStorage attachmentStorage;
+
+    private final Cache<String, String> urlsByKey;
+
+    @Autowired
+    public PresignedUrlCache(AttachmentStorage attachmentStorage,
+                             MeterRegistry meterRegistry,
+                             @Value("${aws.s3.presigned-url-expiry:10m}") Duration urlExpiry,
+                             @Value("${aws.s3.presigned-url-cache.safety-margin:2m}") Duration safetyMargin,
+                             @Value("${aws.s3.presigned-url-cache.max-size:10000}") long maxSize) {
+        this(attachmentStorage, meterRegistry, urlExpiry, safetyMargin, maxSize, Ticker.systemTicker());
+    }
+
+    PresignedUrlCache(AttachmentStorage attachmentStorage, MeterRegistry meterRegistry, Duration urlExpiry,
+                      Duration safetyMargin, long maxSize, Ticker ticker) {
+        this.attachmentStorage = attachmentStorage;
+        Duration cacheTtl = urlExpiry.minus(safetyMargin);
+        this.urlsByKey = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // A margin as long as the expiry disables caching rather than serving expired URLs
+                .expireAfterWrite(cacheTtl.isNegative() ? Duration.ZERO : cacheTtl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, urlsByKey, "presigned-urls");
+    }
+
+    /**
+     * Presigned URL for the key, signed only if there is no cached URL still inside its margin
+     */
+    public String get(String s3Key) {
+        return urlsByKey.get(s3Key, attachmentStorage::generatePresignedUrl);
+    }
+
+    public void evict(String s3Key) {
+        urlsByKey.invalidate(s3Key);
+    }
+}
@@ -1,7 +1,13 @@
 package com.ticket.service;
 
+import com.ticket.dto.AttachmentUploadSlotDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -9,15 +15,31 @@ import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Attachment storage on S3; downloads and direct uploads use presigned URLs
+ */
 @Service
-public class S3StorageService {
+@Qualifier(AttachmentStorage.BACKEND)
+@ConditionalOnProperty(name = "ticket.attachments.storage", havingValue = "s3", matchIfMissing = true)
+public class S3StorageService extends AbstractAttachmentStorage implements DirectUploadStorage {
+    
+    private static final Logger log = LoggerFactory.getLogger(S3StorageService.class);
+    
+    // S3 rejects multipart parts smaller than 5 MB (except the last one)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
     
     private S3Client s3Client;
     
@@ -28,73 +50,251 @@ public class S3StorageService {
         this.s3Presigner=s3Presigner;
     }
     
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+    
+    // Files of at least this size go through a multipart upload, each part streamed from the request
+    @Value("${aws.s3.multipart-threshold:8MB}")
+    private DataSize multipartThreshold = DataSize.ofMegabytes(8);
+    
+    @Value("${aws.s3.multipart-part-size:8MB}")
+    private DataSize partSize = DataSize.ofMegabytes(8);
+    
+    // PresignedUrlCache reads the same property to know how long a URL may be reused
+    @Value("${aws.s3.presigned-url-expiry:10m}")
+    private Duration presignedUrlExpiry = Duration.ofMinutes(10);
+    
+    @Value("${aws.s3.direct-upload.url-expiry:15m}")
+    private Duration uploadUrlExpiry = Duration.ofMinutes(15);
+    
     /**
-     * Custom exception for invalid file names.
+     * Upload file to S3.
+     * The file is streamed from the multipart request, never copied into a byte array;
+     * large files are sent as a multipart upload whose parts are cut from the same stream.
      */
-    class InvalidFileNameException extends RuntimeException {
-        public InvalidFileNameException(String message) {
-            super(message);
+    @Override
+    protected void store(String s3Key, MultipartFile file) throws IOException {
+        try {
+            if (file.getSize() >= multipartThreshold.toBytes()) {
+                multipartUpload(s3Key, file);
+            } else {
+                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(s3Key)
+                        .contentType(file.getContentType())
+                        .contentLength(file.getSize())
+                        .build();
+                
+                try (InputStream inputStream = file.getInputStream()) {
+                    s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, file.getSize()));
+                }
+            }
+        } catch (S3Exception e) {
+            throw new S3StorageException("Failed to upload file to S3: " + e.getMessage(), e);
         }
     }
-
+    
     /**
-     * Custom exception for file size limit exceeded.
+     * Upload in parts of partSize, each streamed straight from the request; the upload is aborted
+     * on any failure so S3 does not keep the orphaned parts
      */
-    class FileSizeLimitExceededException extends RuntimeException {
-        public FileSizeLimitExceededException(String message) {
-            super(message);
+    private void multipartUpload(String s3Key, MultipartFile file) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(file.getContentType())
+                .build()).uploadId();
+        
+        try (InputStream inputStream = file.getInputStream()) {
+            long partLength = Math.max(partSize.toBytes(), MIN_PART_SIZE);
+            List<CompletedPart> completedParts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < file.getSize(); offset += partLength) {
+                long length = Math.min(partLength, file.getSize() - offset);
+                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(s3Key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(length)
+                        .build();
+                UploadPartResponse response = s3Client.uploadPart(uploadPartRequest,
+                        RequestBody.fromInputStream(new PartInputStream(inputStream, length), length));
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+                partNumber++;
+            }
+            
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(s3Key, uploadId);
+            throw e;
         }
     }
     
-    @Value("${aws.s3.bucket-name}")
-    private String bucketName;
-    
-    private static final List<String> ALLOWED_FILE_TYPES = Arrays.asList(
-        "application/pdf",
-        "image/png",
-        "image/jpeg",
-        "image/jpg",
-        "text/plain",
-        "application/vnd.openxmlformats-officedocument.wordprocessingml.document", // .docx
-        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" // .xlsx
-    );
-    
-    private static final long MAX_FILE_SIZE = 10L * 1024 * 1024; // 10 MB
-    
     /**
-     * Upload file to S3
+     * The next length bytes of the upload stream, as one part.
+     * Leaves the upload stream open for the following parts.
      */
-    public String uploadFile(String ticketId, MultipartFile file) throws IOException {
-        // Validate file
-        validateFile(file);
+    static class PartInputStream extends FilterInputStream {
+        
+        private long remaining;
+        private long markedRemaining;
         
-        // Generate unique file name
-        String originalFileName = file.getOriginalFilename();
-        if (originalFileName == null || !originalFileName.contains(".")) {
-            throw new InvalidFileNameException("Invalid file name: file name is null or does not contain an extension.");
+        PartInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+            this.markedRemaining = length;
         }
-        String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-        String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
         
-        String s3Key = "tickets/" + ticketId + "/" + uniqueFileName;
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
         
-        // Upload to S3
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+        
+        @Override
+        public synchronized void mark(int readlimit) {
+            in.mark(readlimit);
+            markedRemaining = remaining;
+        }
+        
+        @Override
+        public synchronized void reset() throws IOException {
+            in.reset();
+            remaining = markedRemaining;
+        }
+        
+        @Override
+        public void close() {
+            // The upload stream is closed once, after the last part
+        }
+    }
+    
+    private void abortMultipartUpload(String s3Key, String uploadId) {
         try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
                     .bucket(bucketName)
                     .key(s3Key)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
+                    .uploadId(uploadId)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart upload {} for {}: {}", uploadId, s3Key, e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<DirectUploadStorage> directUploads() {
+        return Optional.of(this);
+    }
+
+    /**
+     * Presign a PUT for a direct-to-storage upload.
+     * Content type and length are signed headers, so S3 rejects a PUT that does not match them.
+     */
+    @Override
+    public AttachmentUploadSlotDTO createUploadSlot(String ticketId, String fileName, String contentType, long fileSize) {
+        validateUploadSlot(fileSize, contentType);
+        String s3Key = newObjectKey(ticketId, fileName);
+        
+        try {
+            PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                    .signatureDuration(uploadUrlExpiry)
+                    .putObjectRequest(b -> b
+                        .bucket(bucketName)
+                        .key(s3Key)
+                        .contentType(contentType)
+                        .contentLength(fileSize)
+                    )
                     .build();
             
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+            PresignedPutObjectRequest presignedRequest = s3Presigner.presignPutObject(presignRequest);
             
-            return s3Key;
+            // Host is set by the HTTP client itself; everything else must be sent as signed
+            Map<String, String> headers = new LinkedHashMap<>();
+            presignedRequest.signedHeaders().forEach((name, values) -> {
+                if (!"host".equalsIgnoreCase(name)) {
+                    headers.put(name, String.join(",", values));
+                }
+            });
+            
+            return new AttachmentUploadSlotDTO(s3Key, presignedRequest.url().toString(), headers,
+                    presignedRequest.expiration());
         } catch (S3Exception e) {
-            throw new S3StorageException("Failed to upload file to S3: " + e.getMessage(), e);
+            throw new S3StorageException("Failed to generate upload URL: " + e.getMessage(), e);
         }
     }
-
+    
+    /**
+     * HEAD the object; empty if it does not exist
+     */
+    @Override
+    public Optional<StoredObject> headObject(String s3Key) {
+        try {
+            HeadObjectResponse response = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .build());
+            return Optional.of(new StoredObject(response.contentLength(), response.contentType()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new S3StorageException("Failed to read uploaded file from S3: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stream an object from S3; the SDK reads it from the connection as the caller consumes it
+     */
+    @Override
+    public InputStream openStream(String s3Key) {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .build());
+        } catch (S3Exception e) {
+            throw new S3StorageException("Failed to read file from S3: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Custom exception for S3 storage errors.
      */
@@ -105,12 +305,14 @@ public class S3StorageService {
     }
     
     /**
-     * Generate pre-signed URL for file download (valid for 10 minutes)
+     * Generate pre-signed URL for file download (valid for aws.s3.presigned-url-expiry, 10 minutes by default).
+     * Callers listing attachments should go through PresignedUrlCache instead.
      */
+    @Override
     public String generatePresignedUrl(String s3Key) {
         try {
             GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(10))
+                    .signatureDuration(presignedUrlExpiry)
                     .getObjectRequest(b -> b
                         .bucket(bucketName)
                         .key(s3Key)
@@ -128,6 +330,7 @@ public class S3StorageService {
     /**
      * Delete file from S3
      */
+    @Override
     public void deleteFile(String s3Key) {
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
@@ -140,22 +343,4 @@ public class S3StorageService {
             throw new S3StorageException("Failed to delete file from S3: " + e.getMessage(), e);
         }
     }
-    
-    /**
-     * Validate file type and size
-     */
-    private void validateFile(MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new InvalidFileNameException("File is empty");
-        }
-        
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new FileSizeLimitExceededException("File size exceeds maximum limit of 10 MB");
-        }
-        
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_FILE_TYPES.contains(contentType)) {
-            throw new InvalidFileNameException("File type not allowed. Allowed types: PDF, PNG, JPG, TXT, DOCX, XLSX");
-        }
-    }
 }
@@ -0,0 +1,15 @@
+package com.ticket.service;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Storage capability: objects are downloaded through ticket-service, which streams them itself.
+ * Reached through {@link AttachmentStorage#servedResources()}.
+ */
+public interface ServedResourceStorage {
+
+    /**
+     * The object as a resource ticket-service can stream itself, including byte ranges
+     */
+    Resource loadAsResource(String key);
+}
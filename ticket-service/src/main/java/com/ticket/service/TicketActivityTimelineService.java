@@ -0,0 +1,168 @@
+package com.ticket.service;
+
+import com.ticket.dto.CursorPage;
+import com.ticket.dto.TicketActivityDTO;
+import com.ticket.entity.TicketActivity;
+import com.ticket.entity.TicketActivityBucket;
+import com.ticket.repository.TicketActivityBucketRepository;
+import com.ticket.repository.TicketActivityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a ticket's activity timeline, newest first, from its activity buckets.
+ *
+ * A page is served by one indexed query on (ticketId, seq) that fetches just enough buckets
+ * to fill it; since only the newest bucket can be partly filled, that is at most
+ * 2 + (size - 1) / bucket-size documents.
+ *
+ * Activities logged before bucketing are still in the ticket_activity collection; with
+ * ticket.activity.legacy-fallback.enabled they follow the oldest bucket. Turn it off once that
+ * collection is empty so short timelines skip the extra lookup at their end.
+ */
+@Service
+public class TicketActivityTimelineService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String CREATED_AT = "createdAt";
+
+    private final TicketActivityBucketRepository bucketRepository;
+    private final TicketActivityRepository legacyRepository;
+    private final MongoTemplate mongoTemplate;
+
+    // TicketActivityWriter fills buckets up to the same size
+    @Value("${ticket.activity.bucket-size:50}")
+    private int bucketSize = 50;
+
+    @Value("${ticket.activity.legacy-fallback.enabled:true}")
+    private boolean legacyFallback = true;
+
+    public TicketActivityTimelineService(TicketActivityBucketRepository bucketRepository,
+                                         TicketActivityRepository legacyRepository,
+                                         MongoTemplate mongoTemplate) {
+        this.bucketRepository = bucketRepository;
+        this.legacyRepository = legacyRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Every activity of the ticket, newest first
+     */
+    public List<TicketActivityDTO> getAllActivities(String ticketId) {
+        List<TicketActivityDTO> activities = new ArrayList<>();
+        for (TicketActivityBucket bucket : bucketRepository.findByTicketIdOrderBySeqDesc(ticketId)) {
+            List<TicketActivity> entries = bucket.getActivities();
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                activities.add(convertToDTO(entries.get(i)));
+            }
+        }
+        if (legacyFallback) {
+            legacyRepository.findByTicketIdOrderByCreatedAtDesc(ticketId)
+                    .forEach(activity -> activities.add(convertToDTO(activity)));
+        }
+        return activities;
+    }
+
+    /**
+     * One page of the timeline, newest first; pass an empty cursor for the latest page
+     */
+    public CursorPage<TicketActivityDTO> getActivitiesByCursor(String ticketId, String cursor, int size) {
+        int pageSize = size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        ActivityCursor position = ActivityCursor.decode(cursor);
+
+        if (position != null && position.legacy()) {
+            return legacyPage(ticketId, position.legacyPosition(), pageSize, new ArrayList<>());
+        }
+
+        int bucketsNeeded = 2 + (pageSize - 1) / Math.max(bucketSize, 1);
+        List<TicketActivityBucket> buckets = position == null
+                ? bucketRepository.findByTicketIdOrderBySeqDesc(ticketId, Limit.of(bucketsNeeded))
+                : bucketRepository.findByTicketIdAndSeqLessThanEqualOrderBySeqDesc(ticketId, position.seq(),
+                        Limit.of(bucketsNeeded));
+
+        List<TicketActivityDTO> page = new ArrayList<>(pageSize);
+        ActivityCursor last = position;
+        for (TicketActivityBucket bucket : buckets) {
+            List<TicketActivity> entries = bucket.getActivities();
+            int from = position != null && bucket.getSeq() == position.seq()
+                    ? Math.min(position.index(), entries.size())
+                    : entries.size();
+            for (int i = from - 1; i >= 0; i--) {
+                if (page.size() == pageSize) {
+                    return new CursorPage<>(page, last.encode(), true, null);
+                }
+                page.add(convertToDTO(entries.get(i)));
+                last = ActivityCursor.inBuckets(bucket.getSeq(), i);
+            }
+        }
+
+        // Every fetched entry is on the page; older buckets may remain below the last one
+        boolean olderBuckets = !buckets.isEmpty() && buckets.get(buckets.size() - 1).getSeq() > 0;
+        if (olderBuckets) {
+            int seq = buckets.get(buckets.size() - 1).getSeq();
+            return new CursorPage<>(page, ActivityCursor.inBuckets(seq, 0).encode(), true, null);
+        }
+        if (!legacyFallback) {
+            return new CursorPage<>(page, null, false, null);
+        }
+        return legacyPage(ticketId, null, pageSize, page);
+    }
+
+    /**
+     * Fill the rest of the page from the pre-bucket collection, reading one extra
+     * document to know whether another page exists
+     */
+    private CursorPage<TicketActivityDTO> legacyPage(String ticketId, TicketCursor after, int pageSize,
+                                                     List<TicketActivityDTO> page) {
+        int remaining = pageSize - page.size();
+        Query query = new Query(Criteria.where("ticketId").is(ticketId));
+        if (after != null) {
+            query.addCriteria(after.after(CREATED_AT));
+        }
+        query.with(Sort.by(Sort.Order.desc(CREATED_AT), Sort.Order.desc("_id")));
+        query.limit(remaining + 1);
+
+        List<TicketActivity> activities = mongoTemplate.find(query, TicketActivity.class);
+        boolean hasNext = activities.size() > remaining;
+        if (hasNext) {
+            activities = activities.subList(0, remaining);
+        }
+        activities.forEach(activity -> page.add(convertToDTO(activity)));
+
+        String nextCursor = null;
+        if (hasNext) {
+            TicketCursor legacyPosition = activities.isEmpty()
+                    ? after
+                    : new TicketCursor(activities.get(activities.size() - 1).getCreatedAt(),
+                            activities.get(activities.size() - 1).getActivityId());
+            nextCursor = ActivityCursor.inLegacy(legacyPosition).encode();
+        }
+        return new CursorPage<>(page, nextCursor, hasNext, null);
+    }
+
+    /**
+     * Convert entity to DTO
+     */
+    private TicketActivityDTO convertToDTO(TicketActivity activity) {
+        return new TicketActivityDTO(
+                activity.getActivityId(),
+                activity.getTicketId(),
+                activity.getActivityType(),
+                activity.getDescription(),
+                activity.getPerformedByUserId(),
+                activity.getPerformedByUsername(),
+                activity.getOldValue(),
+                activity.getNewValue(),
+                activity.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,243 @@
+package com.ticket.service;
+
+import com.ticket.entity.TicketActivity;
+import com.ticket.repository.TicketActivityBucketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for the ticket activity log.
+ *
+ * Request threads only enqueue; one background thread appends the queued activities to their
+ * tickets' activity buckets once batch-size are waiting or flush-interval has passed since the
+ * first one arrived, with one push per ticket and bucket rather than one write per activity.
+ * The queue is bounded: when it is full the caller waits up to enqueue-timeout and then
+ * writes its activity itself, so a slow database slows writers down instead of losing entries.
+ * A failed append is retried up to max-attempts times with exponential backoff from retry-backoff;
+ * while the flusher backs off the queue fills and callers fall back to writing inline, once and
+ * without waiting. Everything still queued is flushed on shutdown.
+ */
+@Component
+public class TicketActivityWriter {
+    
+    private static final Logger log = LoggerFactory.getLogger(TicketActivityWriter.class);
+    
+    // Queued by stop() so a flusher blocked waiting for work notices at once; never written
+    private static final TicketActivity WAKE_UP = new TicketActivity();
+    
+    private final TicketActivityBucketRepository bucketRepository;
+    private final BlockingQueue<TicketActivity> queue;
+    private final int batchSize;
+    private final int bucketSize;
+    private final long flushIntervalNanos;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    
+    private final Counter writtenCounter;
+    private final Counter inlineCounter;
+    private final Counter failedCounter;
+    
+    private volatile boolean running;
+    private Thread flusher;
+    
+    @Autowired
+    public TicketActivityWriter(TicketActivityBucketRepository bucketRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${ticket.activity.buffer-capacity:10000}") int bufferCapacity,
+                                @Value("${ticket.activity.batch-size:200}") int batchSize,
+                                @Value("${ticket.activity.bucket-size:50}") int bucketSize,
+                                @Value("${ticket.activity.flush-interval:50ms}") Duration flushInterval,
+                                @Value("${ticket.activity.enqueue-timeout:100ms}") Duration enqueueTimeout,
+                                @Value("${ticket.activity.shutdown-timeout:10s}") Duration shutdownTimeout,
+                                @Value("${ticket.activity.max-attempts:3}") int maxAttempts,
+                                @Value("${ticket.activity.retry-backoff:200ms}") Duration retryBackoff) {
+        this(bucketRepository, meterRegistry, new LinkedBlockingQueue<>(bufferCapacity), batchSize, bucketSize,
+                flushInterval, enqueueTimeout, shutdownTimeout, maxAttempts, retryBackoff);
+    }
+    
+    TicketActivityWriter(TicketActivityBucketRepository bucketRepository, MeterRegistry meterRegistry,
+                         BlockingQueue<TicketActivity> queue, int batchSize, int bucketSize, Duration flushInterval,
+                         Duration enqueueTimeout, Duration shutdownTimeout, int maxAttempts, Duration retryBackoff) {
+        this.bucketRepository = bucketRepository;
+        this.queue = queue;
+        this.batchSize = batchSize;
+        this.bucketSize = bucketSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryBackoff = retryBackoff;
+        
+        this.writtenCounter = Counter.builder("ticket.activity.written")
+                .description("Activities appended by the write-behind flusher")
+                .register(meterRegistry);
+        this.inlineCounter = Counter.builder("ticket.activity.inline")
+                .description("Activities written on the caller's thread because the buffer was full or stopped")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ticket.activity.failed")
+                .description("Activities that could not be written after max-attempts")
+                .register(meterRegistry);
+        Gauge.builder("ticket.activity.queue.size", queue, BlockingQueue::size)
+                .description("Activities waiting to be written")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "ticket-activity-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    /**
+     * Stop accepting work and flush what is queued
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        queue.offer(WAKE_UP);
+        if (flusher != null) {
+            flusher.join(shutdownTimeout.toMillis());
+            if (flusher.isAlive()) {
+                log.warn("Activity writer did not finish within {}; {} activities not written",
+                        shutdownTimeout, queue.size());
+                flusher.interrupt();
+                return;
+            }
+        }
+        // Anything enqueued while the flusher was exiting
+        List<TicketActivity> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        write(leftover, maxAttempts);
+    }
+    
+    /**
+     * Queue an activity for writing
+     */
+    public void record(TicketActivity activity) {
+        try {
+            if (running && queue.offer(activity, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                // stop() may have drained the queue between the check and the offer: if the activity
+                // is still there nobody will take it, so take it back and write it here
+                if (running || !queue.remove(activity)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inlineCounter.increment();
+        write(new ArrayList<>(List.of(activity)), 1);
+    }
+    
+    private void runFlusher() {
+        List<TicketActivity> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                write(batch, maxAttempts);
+                return;
+            }
+            if (!batch.isEmpty()) {
+                write(batch, maxAttempts);
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Wait for the first activity, then collect more until the batch is full or the interval is over
+     */
+    private void fillBatch(List<TicketActivity> batch) throws InterruptedException {
+        TicketActivity first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            TicketActivity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void write(List<TicketActivity> activities, int attempts) {
+        activities.removeIf(activity -> activity == WAKE_UP);
+        if (activities.isEmpty()) {
+            return;
+        }
+        Map<String, List<TicketActivity>> byTicket = new LinkedHashMap<>();
+        for (TicketActivity activity : activities) {
+            byTicket.computeIfAbsent(activity.getTicketId(), ticketId -> new ArrayList<>()).add(activity);
+        }
+        // One ticket failing must not cost the others their entries
+        byTicket.forEach((ticketId, ticketActivities) -> append(ticketId, ticketActivities, attempts));
+        log.debug("Wrote {} ticket activities for {} tickets", activities.size(), byTicket.size());
+    }
+    
+    /**
+     * Append one ticket's activities; the repository skips on a retry whatever an earlier attempt stored
+     */
+    private void append(String ticketId, List<TicketActivity> activities, int attempts) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                bucketRepository.append(ticketId, activities, bucketSize);
+                writtenCounter.increment(activities.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts || !backOff(attempt)) {
+                    failedCounter.increment(activities.size());
+                    log.error("Failed to write {} activities for ticket {} after {} attempts: {}",
+                            activities.size(), ticketId, attempt, e.getMessage());
+                    return;
+                }
+                log.warn("Writing {} activities for ticket {} failed, retrying: {}",
+                        activities.size(), ticketId, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Wait retry-backoff * 2^(attempt - 1); false if interrupted, which ends the retries
+     */
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20)).toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ticket.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticket.dto.TicketDTO;
+import com.ticket.event.TicketCacheInvalidatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of ticket DTOs, looked up by id or by ticket number.
+ *
+ * Every write path must call {@link #evict(String)}; the eviction is also broadcast over
+ * the ticket exchange so other instances drop their copy. Inside a transaction the eviction
+ * waits for the commit, so no reader can re-cache the document as it was before the commit. Entries expire after the TTL
+ * either way, which bounds staleness if a broadcast is lost.
+ *
+ * Reads take a {@link #stamp()} before loading from Mongo and pass it to {@link #put};
+ * the put is dropped if anything was evicted in between, so a slow read can never
+ * re-cache a version that a concurrent write already replaced.
+ */
+@Component
+public class TicketCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketCache.class);
+
+    private final Cache<String, TicketDTO> ticketsById;
+
+    // Ticket numbers never change, so this mapping only needs to be bounded, never invalidated
+    private final Cache<String, String> ticketIdsByNumber;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final EventPublisherService eventPublisher;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public TicketCache(EventPublisherService eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${ticket.cache.max-size:10000}") long maxSize,
+                       @Value("${ticket.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.eventPublisher = eventPublisher;
+        this.ticketsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.ticketIdsByNumber = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ticketsById, "tickets");
+    }
+
+    public Optional<TicketDTO> getById(String ticketId) {
+        return Optional.ofNullable(ticketsById.getIfPresent(ticketId));
+    }
+
+    public Optional<TicketDTO> getByNumber(String ticketNumber) {
+        String ticketId = ticketIdsByNumber.getIfPresent(ticketNumber);
+        return ticketId != null ? getById(ticketId) : Optional.empty();
+    }
+
+    /**
+     * Current eviction stamp; take it before reading the ticket from Mongo
+     */
+    public long stamp() {
+        return evictions.get();
+    }
+
+    /**
+     * Cache a ticket read from Mongo, unless an eviction happened since the stamp was taken
+     */
+    public void put(TicketDTO ticket, long stamp) {
+        if (ticket == null || ticket.ticketId() == null) {
+            return;
+        }
+        if (ticket.ticketNumber() != null) {
+            ticketIdsByNumber.put(ticket.ticketNumber(), ticket.ticketId());
+        }
+        if (evictions.get() == stamp) {
+            ticketsById.put(ticket.ticketId(), ticket);
+        }
+    }
+
+    /**
+     * Drop the ticket here and on every other instance; after the commit when a transaction is active
+     */
+    public void evict(String ticketId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEverywhere(ticketId);
+                }
+            });
+            return;
+        }
+        evictEverywhere(ticketId);
+    }
+
+    private void evictEverywhere(String ticketId) {
+        evictLocal(ticketId);
+        eventPublisher.publishTicketCacheInvalidated(new TicketCacheInvalidatedEvent(ticketId, instanceId));
+    }
+
+    /**
+     * Drop the ticket from this instance only
+     */
+    public void evictLocal(String ticketId) {
+        evictions.incrementAndGet();
+        ticketsById.invalidate(ticketId);
+        log.debug("Evicted ticket {} from cache", ticketId);
+    }
+
+    /**
+     * Apply an invalidation broadcast by another instance
+     */
+    public void onRemoteInvalidation(TicketCacheInvalidatedEvent event) {
+        if (instanceId.equals(event.getOriginInstanceId())) {
+            return;
+        }
+        evictLocal(event.getTicketId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.ticket.service;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (sortValue, ticketId) for listings sorted by a
+ * timestamp descending with the ticket id as tie-breaker.
+ * Encoded as URL-safe Base64 of "sortValue|ticketId"; a missing sort value is written as "~".
+ */
+public record TicketCursor(LocalDateTime sortValue, String ticketId) {
+
+    private static final String NULL_VALUE = "~";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Custom exception for malformed cursors.
+     */
+    public static class InvalidCursorException extends RuntimeException {
+        public InvalidCursorException(String message) {
+            super(message);
+        }
+    }
+
+    public String encode() {
+        String value = (sortValue != null ? sortValue.toString() : NULL_VALUE) + SEPARATOR + ticketId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor; blank means "first page" and returns null
+     */
+    public static TicketCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == value.length() - 1) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            String sortPart = value.substring(0, separator);
+            LocalDateTime sortValue = NULL_VALUE.equals(sortPart) ? null : LocalDateTime.parse(sortPart);
+            return new TicketCursor(sortValue, value.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Criteria selecting everything after this cursor in (sortField desc, _id desc) order.
+     * Descending sorts put documents without the sort field last, so they follow every dated one.
+     */
+    public Criteria after(String sortField) {
+        Object id = ObjectId.isValid(ticketId) ? new ObjectId(ticketId) : ticketId;
+        if (sortValue == null) {
+            return new Criteria().andOperator(
+                    Criteria.where(sortField).is(null),
+                    Criteria.where("_id").lt(id)
+            );
+        }
+        return new Criteria().orOperator(
+                Criteria.where(sortField).lt(sortValue),
+                new Criteria().andOperator(
+                        Criteria.where(sortField).is(sortValue),
+                        Criteria.where("_id").lt(id)
+                ),
+                Criteria.where(sortField).is(null)
+        );
+    }
+}
@@ -0,0 +1,179 @@
+package com.ticket.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticket.dto.AdminTicketDTO;
+import com.ticket.dto.TicketFilterRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes the admin ticket list as NDJSON or CSV while reading it from a Mongo cursor,
+ * so memory use stays flat regardless of how many tickets match.
+ */
+@Service
+public class TicketExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketExportService.class);
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromString(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new RuntimeException("Unsupported export format: " + value + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    private static final List<Map.Entry<String, Function<AdminTicketDTO, Object>>> CSV_COLUMNS = List.of(
+            Map.entry("ticketId", AdminTicketDTO::ticketId),
+            Map.entry("ticketNumber", AdminTicketDTO::ticketNumber),
+            Map.entry("title", AdminTicketDTO::title),
+            Map.entry("description", AdminTicketDTO::description),
+            Map.entry("status", AdminTicketDTO::status),
+            Map.entry("category", AdminTicketDTO::category),
+            Map.entry("priority", AdminTicketDTO::priority),
+            Map.entry("createdByUserId", AdminTicketDTO::createdByUserId),
+            Map.entry("createdByUsername", AdminTicketDTO::createdByUsername),
+            Map.entry("assignedToUserId", AdminTicketDTO::assignedToUserId),
+            Map.entry("assignedToUsername", AdminTicketDTO::assignedToUsername),
+            Map.entry("escalatedToUserId", AdminTicketDTO::escalatedToUserId),
+            Map.entry("escalatedToUsername", AdminTicketDTO::escalatedToUsername),
+            Map.entry("escalationType", AdminTicketDTO::escalationType),
+            Map.entry("tags", dto -> dto.tags() != null ? String.join(";", dto.tags()) : null),
+            Map.entry("commentCount", AdminTicketDTO::commentCount),
+            Map.entry("attachmentCount", AdminTicketDTO::attachmentCount),
+            Map.entry("createdAt", AdminTicketDTO::createdAt),
+            Map.entry("updatedAt", AdminTicketDTO::updatedAt),
+            Map.entry("assignedAt", AdminTicketDTO::assignedAt),
+            Map.entry("resolvedAt", AdminTicketDTO::resolvedAt),
+            Map.entry("closedAt", AdminTicketDTO::closedAt),
+            Map.entry("escalatedAt", AdminTicketDTO::escalatedAt)
+    );
+
+    private final AdminTicketService adminTicketService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public TicketExportService(AdminTicketService adminTicketService,
+                               ObjectMapper objectMapper,
+                               @Value("${ticket.export.batch-size:500}") int batchSize) {
+        this.adminTicketService = adminTicketService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Stream all tickets matching the filter to the output in the given format.
+     * Output is flushed once per cursor batch so the client starts receiving data immediately.
+     *
+     * @return number of tickets written
+     */
+    public long export(TicketFilterRequest filterRequest, Format format, OutputStream out) throws IOException {
+        long written;
+        try (Stream<AdminTicketDTO> tickets = adminTicketService.streamTickets(filterRequest, batchSize)) {
+            written = switch (format) {
+                case NDJSON -> writeNdjson(tickets.iterator(), out);
+                case CSV -> writeCsv(tickets.iterator(), out);
+            };
+        }
+        log.info("Exported {} tickets as {}", written, format);
+        return written;
+    }
+
+    private long writeNdjson(Iterator<AdminTicketDTO> tickets, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (tickets.hasNext()) {
+                writer.write(tickets.next());
+                if (++count % batchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<AdminTicketDTO> tickets, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(writer, CSV_COLUMNS.stream().map(column -> (Object) column.getKey()).toList());
+        while (tickets.hasNext()) {
+            AdminTicketDTO ticket = tickets.next();
+            writeCsvRow(writer, CSV_COLUMNS.stream().map(column -> column.getValue().apply(ticket)).toList());
+            if (++count % batchSize == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting; null becomes an empty field
+     */
+    static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ticket.service;
+
+import com.ticket.entity.TicketSequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hands out ticket numbers (TKT-YYYYMMDD-NNNNN) from a per-day counter document.
+ *
+ * Uses hi/lo allocation: each instance atomically reserves a block of numbers with a
+ * single $inc and then serves numbers from memory until the block is used up, so ticket
+ * creation costs at most one round trip per block instead of a full collection count.
+ * Numbers are unique across instances; unused numbers of a block are lost on restart.
+ */
+@Service
+public class TicketNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketNumberGenerator.class);
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final MongoTemplate mongoTemplate;
+
+    private final int blockSize;
+
+    // Current block, guarded by this
+    private String currentDay;
+    private long nextValue;
+    private long maxValue;
+
+    public TicketNumberGenerator(MongoTemplate mongoTemplate,
+                                 @Value("${ticket.number.block-size:50}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("ticket.number.block-size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Generate unique ticket number: TKT-YYYYMMDD-00001
+     */
+    public String nextTicketNumber() {
+        String day = LocalDate.now().format(DAY_FORMAT);
+        return "TKT-" + day + "-" + String.format("%05d", nextValue(day));
+    }
+
+    /**
+     * Next number for the given day, reserving a new block when the current one is exhausted
+     */
+    synchronized long nextValue(String day) {
+        if (!day.equals(currentDay) || nextValue > maxValue) {
+            reserveBlock(day);
+        }
+        return nextValue++;
+    }
+
+    /**
+     * Atomically reserve the next block of numbers for the day
+     */
+    private void reserveBlock(String day) {
+        TicketSequence sequence;
+        try {
+            sequence = incrementSequence(day);
+        } catch (DuplicateKeyException e) {
+            // Another instance created the day's counter at the same time; the retry hits the existing document
+            sequence = incrementSequence(day);
+        }
+
+        maxValue = sequence.getValue();
+        nextValue = maxValue - blockSize + 1;
+        currentDay = day;
+
+        log.debug("Reserved ticket numbers {}-{} for {}", nextValue, maxValue, day);
+    }
+
+    private TicketSequence incrementSequence(String day) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(day)),
+                new Update().inc("value", blockSize),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                TicketSequence.class
+        );
+    }
+}
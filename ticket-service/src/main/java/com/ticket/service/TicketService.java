@@ -11,15 +11,22 @@ import com.ticket.enums.TicketStatus;
 import com.ticket.event.TicketCreatedEvent;
 import com.ticket.event.TicketStatusChangedEvent;
 import com.ticket.repository.CommentRepository;
-import com.ticket.repository.TicketActivityRepository;
+import com.ticket.repository.TicketChanges;
 import com.ticket.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.ticket.entity.Comment;
 import com.ticket.event.CommentAddedEvent;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class TicketService {
@@ -32,40 +39,67 @@ public class TicketService {
     
     private TicketRepository ticketRepository;
     
-    private TicketActivityRepository ticketActivityRepository;
+    private TicketActivityWriter ticketActivityWriter;
     
     private EventPublisherService eventPublisher;
 
     private CommentRepository commentRepository;
 
+    private TicketNumberGenerator ticketNumberGenerator;
+
+    private TicketCache ticketCache;
+
     private static final Logger log = LoggerFactory.getLogger(TicketService.class);
 
     private static final String TICKET_NOT_FOUND_MESSAGE = "Ticket not found";
 
+    // Hard cap for the unpaged list endpoints; larger result sets belong to the admin export
+    private final int maxListResults;
+
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
 
-    public TicketService(CommentRepository commentRepository, EventPublisherService eventPublisher, TicketActivityRepository ticketActivityRepository, TicketRepository ticketRepository){
+
+    public TicketService(CommentRepository commentRepository, EventPublisherService eventPublisher, TicketActivityWriter ticketActivityWriter, TicketRepository ticketRepository, TicketNumberGenerator ticketNumberGenerator,
+                         TicketCache ticketCache, @Value("${ticket.list.max-results:1000}") int maxListResults){
         this.commentRepository=commentRepository;
+        this.ticketCache=ticketCache;
+        this.maxListResults=maxListResults;
+        this.ticketNumberGenerator=ticketNumberGenerator;
         this.eventPublisher=eventPublisher;
-        this.ticketActivityRepository=ticketActivityRepository;
+        this.ticketActivityWriter=ticketActivityWriter;
         this.ticketRepository=ticketRepository;
     }
     
     /**
-     * Get ticket by ID
+     * Get ticket by ID (read-through cache)
      */
     public TicketDTO getTicketById(String ticketId) {
+        Optional<TicketDTO> cached = ticketCache.getById(ticketId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long stamp = ticketCache.stamp();
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        return convertToDTO(ticket);
+        TicketDTO dto = convertToDTO(ticket);
+        ticketCache.put(dto, stamp);
+        return dto;
     }
     
     /**
-     * Get ticket by ticket number
+     * Get ticket by ticket number (read-through cache)
      */
     public TicketDTO getTicketByNumber(String ticketNumber) {
+        Optional<TicketDTO> cached = ticketCache.getByNumber(ticketNumber);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long stamp = ticketCache.stamp();
         Ticket ticket = ticketRepository.findByTicketNumber(ticketNumber)
                 .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        return convertToDTO(ticket);
+        TicketDTO dto = convertToDTO(ticket);
+        ticketCache.put(dto, stamp);
+        return dto;
     }
     
     /**
@@ -74,29 +108,29 @@ public class TicketService {
     @Transactional
     public TicketDTO updateTicket(String ticketId, UpdateTicketRequest request, 
                                   String userId, String username) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        
-        // Update fields if provided
+        // Only the provided fields are written
+        TicketChanges changes = new TicketChanges();
         if (request.title() != null) {
-            ticket.setTitle(request.title());
+            changes.title(request.title());
         }
         if (request.description() != null) {
-            ticket.setDescription(request.description());
+            changes.description(request.description());
         }
         if (request.category() != null) {
-            ticket.setCategory(TicketCategory.fromString(request.category()));
+            changes.category(TicketCategory.fromString(request.category()));
         }
         if (request.priority() != null) {
-            ticket.setPriority(TicketPriority.fromString(request.priority()));
+            changes.priority(TicketPriority.fromString(request.priority()));
         }
         if (request.tags() != null) {
-            ticket.setTags(request.tags());
+            changes.tags(request.tags());
         }
+        changes.updatedAt(LocalDateTime.now());
         
-        ticket.setUpdatedAt(LocalDateTime.now());
-        
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        Ticket updatedTicket = ticketRepository.applyChanges(ticketId, changes)
+                .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE))
+                .after();
+        ticketCache.evict(ticketId);
         
         // Log activity
         logActivity(ticketId, "TICKET_UPDATED", "Ticket updated", userId, username);
@@ -110,34 +144,22 @@ public class TicketService {
     @Transactional
     public TicketDTO changeStatus(String ticketId, ChangeStatusRequest request, 
                                   String userId, String username) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        
-        TicketStatus oldStatus = ticket.getStatus();
         TicketStatus newStatus = TicketStatus.valueOf(request.status().toUpperCase());
         
-        // Validate status transition
-        if (!oldStatus.canTransitionTo(newStatus)) {
-            throw new InvalidTicketStatusTransitionException("Cannot transition from " + oldStatus + " to " + newStatus);
-        }
-        
-        // Update status
-        ticket.setStatus(newStatus);
-        ticket.setUpdatedAt(LocalDateTime.now());
+        // Compare-and-set: the update only matches while the ticket is in a status that may move to newStatus,
+        // so of two concurrent transitions at most one passes validation
+        LocalDateTime now = LocalDateTime.now();
+        TicketChanges changes = new TicketChanges()
+                .status(newStatus)
+                .statusTimestamps(newStatus, now)
+                .updatedAt(now);
+        Criteria allowedSources = Criteria.where("status").in(TicketStatusTransitions.sourcesOf(newStatus));
         
-        // Update timestamps based on status
-        if (newStatus == TicketStatus.ASSIGNED && ticket.getAssignedAt() == null) {
-            ticket.setAssignedAt(LocalDateTime.now());
-        }
-        if (newStatus == TicketStatus.RESOLVED) {
-            ticket.setResolvedAt(LocalDateTime.now());
-        }
-        if (newStatus == TicketStatus.CLOSED) {
-            ticket.setClosedAt(LocalDateTime.now());
-        }
+        TicketChanges.Applied applied = ticketRepository.applyChanges(ticketId, allowedSources, changes)
+                .orElseThrow(() -> rejectedTransition(ticketId, newStatus));
+        TicketStatus oldStatus = applied.before().getStatus();
+        Ticket updatedTicket = applied.after();
         
-        Ticket updatedTicket = ticketRepository.save(ticket);
-
         if(request.comment()!=null && !request.comment().trim().isEmpty()){
             Comment comment=new Comment();
             comment.setTicketId(ticketId);
@@ -150,13 +172,13 @@ public class TicketService {
 
             Comment savedComment= commentRepository.save(comment);
 
-            updatedTicket.setCommentCount(ticket.getCommentCount()+1);
-            ticketRepository.save(updatedTicket);
+            ticketRepository.incrementCommentCount(ticketId, 1);
+            updatedTicket.setCommentCount(updatedTicket.getCommentCount()+1);
 
             CommentAddedEvent commentEvent= new CommentAddedEvent(
                 savedComment.getCommentId(),
                 ticketId,
-                ticket.getTicketNumber(),
+                updatedTicket.getTicketNumber(),
                 userId,
                 username,
                 request.comment(),
@@ -166,6 +188,7 @@ public class TicketService {
             eventPublisher.publishCommentAdded(commentEvent);
 
         }
+        ticketCache.evict(ticketId);
         
         // Log activity
         TicketActivity activity = new TicketActivity(
@@ -177,12 +200,12 @@ public class TicketService {
         );
         activity.setOldValue(oldStatus.name());
         activity.setNewValue(newStatus.name());
-        ticketActivityRepository.save(activity);
+        ticketActivityWriter.record(activity);
         
         // Publish event
         TicketStatusChangedEvent event = new TicketStatusChangedEvent(
                 ticketId,
-                ticket.getTicketNumber(),
+                updatedTicket.getTicketNumber(),
                 oldStatus.name(),
                 newStatus.name(),
                 userId,
@@ -196,74 +219,131 @@ public class TicketService {
     }
     
     /**
-     * Get all tickets for a user
+     * Get all tickets for a user (newest first, capped at ticket.list.max-results)
      */
     public List<TicketDTO> getMyTickets(String userId) {
-        List<Ticket> tickets = ticketRepository.findByCreatedByUserId(userId);
-        return tickets.stream().map(this::convertToDTO).toList();
+        List<Ticket> tickets = ticketRepository.findByCreatedByUserIdOrderByCreatedAtDesc(userId, listLimit());
+        return toCappedList(tickets, "my tickets");
     }
     
     /**
-     * Get tickets assigned to user
+     * Get tickets assigned to user (most recently assigned first, capped)
      */
     public List<TicketDTO> getAssignedTickets(String userId) {
-        List<Ticket> tickets = ticketRepository.findByAssignedToUserId(userId);
-        return tickets.stream().map(this::convertToDTO).toList();
+        List<Ticket> tickets = ticketRepository.findByAssignedToUserIdOrderByAssignedAtDesc(userId, listLimit());
+        return toCappedList(tickets, "assigned tickets");
     }
     
     /**
-     * Get tickets by status
+     * Get tickets by status (newest first, capped)
      */
     public List<TicketDTO> getTicketsByStatus(String status) {
         TicketStatus ticketStatus = TicketStatus.valueOf(status.toUpperCase());
-        List<Ticket> tickets = ticketRepository.findByStatus(ticketStatus);
-        return tickets.stream().map(this::convertToDTO).toList();
+        List<Ticket> tickets = ticketRepository.findByStatusOrderByCreatedAtDesc(ticketStatus, listLimit());
+        return toCappedList(tickets, "tickets by status");
     }
     
     /**
-     * Get all tickets
+     * Get all tickets (newest first, capped)
      */
     public List<TicketDTO> getAllTickets() {
-        List<Ticket> tickets = ticketRepository.findAll();
+        List<Ticket> tickets = ticketRepository.findAllByOrderByCreatedAtDesc(listLimit());
+        return toCappedList(tickets, "all tickets");
+    }
+    
+    /**
+     * One more than the cap, so a truncated result can be detected
+     */
+    private Limit listLimit() {
+        return Limit.of(maxListResults + 1);
+    }
+    
+    private List<TicketDTO> toCappedList(List<Ticket> tickets, String listName) {
+        if (tickets.size() > maxListResults) {
+            log.warn("Listing {} truncated to {} tickets; use the paginated or export endpoints", listName, maxListResults);
+            tickets = tickets.subList(0, maxListResults);
+        }
         return tickets.stream().map(this::convertToDTO).toList();
     }
     
+    /**
+     * Page of summaries for tickets created by the user, newest first
+     */
+    public Slice<TicketSummaryDTO> getMyTicketSummaries(String userId, int page, int size) {
+        return ticketRepository.findSummariesByCreatedByUserId(userId, summaryPage(page, size, "createdAt"))
+                .map(this::convertToSummaryDTO);
+    }
+    
+    /**
+     * Page of summaries for tickets assigned to the user, most recently assigned first
+     */
+    public Slice<TicketSummaryDTO> getAssignedTicketSummaries(String userId, int page, int size) {
+        return ticketRepository.findSummariesByAssignedToUserId(userId, summaryPage(page, size, "assignedAt"))
+                .map(this::convertToSummaryDTO);
+    }
+    
+    /**
+     * Page of summaries for tickets in the given status, newest first
+     */
+    public Slice<TicketSummaryDTO> getTicketSummariesByStatus(String status, int page, int size) {
+        TicketStatus ticketStatus = TicketStatus.valueOf(status.toUpperCase());
+        return ticketRepository.findSummariesByStatus(ticketStatus, summaryPage(page, size, "createdAt"))
+                .map(this::convertToSummaryDTO);
+    }
+    
+    /**
+     * Page request sorted by (sortField desc, _id desc), size clamped to 1..MAX_SUMMARY_PAGE_SIZE
+     */
+    private Pageable summaryPage(int page, int size, String sortField) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        return PageRequest.of(Math.max(page, 0), pageSize,
+                Sort.by(Sort.Order.desc(sortField), Sort.Order.desc("_id")));
+    }
+    
     /**
      * Delete ticket (admin only)
      */
     @Transactional
     public void deleteTicket(String ticketId) {
         ticketRepository.deleteById(ticketId);
+        ticketCache.evict(ticketId);
     }
     
     /**
-     * Increment comment count
+     * Increment comment count (atomic $inc, no read-modify-write)
      */
     public void incrementCommentCount(String ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        ticket.setCommentCount(ticket.getCommentCount() + 1);
-        ticketRepository.save(ticket);
+        if (!ticketRepository.incrementCommentCount(ticketId, 1)) {
+            throw new RuntimeException(TICKET_NOT_FOUND_MESSAGE);
+        }
+        ticketCache.evict(ticketId);
     }
     
     /**
-     * Increment attachment count
+     * Increment attachment count (atomic $inc, no read-modify-write)
      */
     public void incrementAttachmentCount(String ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        ticket.setAttachmentCount(ticket.getAttachmentCount() + 1);
-        ticketRepository.save(ticket);
+        incrementAttachmentCount(ticketId, 1);
     }
     
     /**
-     * Generate unique ticket number: TKT-YYYYMMDD-00001
+     * Add several attachments to the count in one $inc
      */
-    private String generateTicketNumber() {
-        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = ticketRepository.count() + 1;
-        String sequencePart = String.format("%05d", count);
-        return "TKT-" + datePart + "-" + sequencePart;
+    public void incrementAttachmentCount(String ticketId, int count) {
+        if (!ticketRepository.incrementAttachmentCount(ticketId, count)) {
+            throw new RuntimeException(TICKET_NOT_FOUND_MESSAGE);
+        }
+        ticketCache.evict(ticketId);
+    }
+    
+    /**
+     * Why a status update matched nothing: the ticket is gone, or its current status cannot move to the target
+     */
+    private RuntimeException rejectedTransition(String ticketId, TicketStatus newStatus) {
+        return ticketRepository.findById(ticketId)
+                .<RuntimeException>map(current -> new InvalidTicketStatusTransitionException(
+                        "Cannot transition from " + current.getStatus() + " to " + newStatus))
+                .orElseGet(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
     }
     
     /**
@@ -274,7 +354,24 @@ public class TicketService {
         TicketActivity activity = new TicketActivity(
                 ticketId, activityType, description, userId, username
         );
-        ticketActivityRepository.save(activity);
+        ticketActivityWriter.record(activity);
+    }
+    
+    /**
+     * Convert entity to summary DTO
+     */
+    private TicketSummaryDTO convertToSummaryDTO(Ticket ticket) {
+        return new TicketSummaryDTO(
+                ticket.getTicketId(),
+                ticket.getTicketNumber(),
+                ticket.getTitle(),
+                ticket.getStatus() != null ? ticket.getStatus().name() : null,
+                ticket.getPriority() != null ? ticket.getPriority().name() : null,
+                ticket.getCategory() != null ? ticket.getCategory().name() : null,
+                ticket.getAssignedToUsername(),
+                ticket.getCreatedAt(),
+                ticket.getUpdatedAt()
+        );
     }
     
     /**
@@ -317,7 +414,7 @@ public class TicketService {
         
         // Create ticket
         Ticket ticket = new Ticket();
-        ticket.setTicketNumber(generateTicketNumber());
+        ticket.setTicketNumber(ticketNumberGenerator.nextTicketNumber());
         ticket.setTitle(request.getTitle());
         ticket.setDescription(request.getDescription());
         ticket.setStatus(TicketStatus.OPEN);
@@ -363,28 +460,25 @@ public class TicketService {
      */
     @Transactional
     public void updateAttachmentCount(String ticketId, int count) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-        ticket.setAttachmentCount(count);
-        ticketRepository.save(ticket);
+        if (!ticketRepository.setAttachmentCount(ticketId, count)) {
+            throw new RuntimeException(TICKET_NOT_FOUND_MESSAGE);
+        }
+        ticketCache.evict(ticketId);
     }
 
     @Transactional
     public TicketDTO updateTicketPriority(String ticketId, String priorityStr, 
                                       String reason, String managerId, String managerUsername) {
-    // Find ticket
-    Ticket ticket = ticketRepository.findById(ticketId)
-            .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
-    
     // Parse priority
     TicketPriority newPriority = TicketPriority.fromString(priorityStr);
-    TicketPriority oldPriority = ticket.getPriority();
     
     // Update priority
-    ticket.setPriority(newPriority);
-    ticket.setUpdatedAt(LocalDateTime.now());
-    
-    Ticket updatedTicket = ticketRepository.save(ticket);
+    TicketChanges.Applied applied = ticketRepository.applyChanges(ticketId,
+                    new TicketChanges().priority(newPriority).updatedAt(LocalDateTime.now()))
+            .orElseThrow(() -> new RuntimeException(TICKET_NOT_FOUND_MESSAGE));
+    TicketPriority oldPriority = applied.before().getPriority();
+    Ticket updatedTicket = applied.after();
+    ticketCache.evict(ticketId);
     
     // Log activity
     String activityMessage;
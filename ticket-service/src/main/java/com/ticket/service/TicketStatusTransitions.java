@@ -0,0 +1,44 @@
+package com.ticket.service;
+
+import com.ticket.enums.TicketStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TicketStatus#canTransitionTo} turned around: for each target status, the statuses a
+ * ticket may move to it from. Built once from canTransitionTo, so the two can never disagree,
+ * and used as the status filter of a conditional update that changes the status only if the
+ * ticket is still in one of them.
+ */
+public final class TicketStatusTransitions {
+
+    private static final Map<TicketStatus, Set<TicketStatus>> SOURCES = buildSources();
+
+    private TicketStatusTransitions() {
+    }
+
+    /**
+     * Statuses that may transition to the target; empty if none can
+     */
+    public static Set<TicketStatus> sourcesOf(TicketStatus target) {
+        return SOURCES.get(target);
+    }
+
+    private static Map<TicketStatus, Set<TicketStatus>> buildSources() {
+        Map<TicketStatus, Set<TicketStatus>> sources = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus target : TicketStatus.values()) {
+            Set<TicketStatus> from = EnumSet.noneOf(TicketStatus.class);
+            for (TicketStatus source : TicketStatus.values()) {
+                if (source.canTransitionTo(target)) {
+                    from.add(source);
+                }
+            }
+            sources.put(target, Collections.unmodifiableSet(from));
+        }
+        return Collections.unmodifiableMap(sources);
+    }
+}
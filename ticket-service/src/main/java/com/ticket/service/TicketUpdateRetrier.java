@@ -0,0 +1,129 @@
+package com.ticket.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-save of a ticket and, when the save loses to a concurrent write
+ * (a stale @Version), runs the whole mutation again on a fresh read.
+ *
+ * Retries wait a random time up to an exponentially growing cap ("full jitter"), so writers that
+ * collided once do not collide again in lockstep. The mutation must re-read the ticket itself and
+ * should not have side effects before its save, since it may run several times.
+ *
+ * Each attempt runs in its own transaction when a transaction manager exists, so its save and the
+ * outbox events it writes commit together, and a retry reads past the write it lost to.
+ *
+ * Conflict rate per operation is ticket.update.conflicts / ticket.update.attempts;
+ * ticket.update.exhausted counts updates that failed after max-attempts.
+ */
+@Component
+public class TicketUpdateRetrier {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketUpdateRetrier.class);
+
+    /**
+     * Counters of one operation, registered together so the conflict rate exists from the first attempt
+     */
+    private record OperationMeters(Counter attempts, Counter conflicts, Counter exhausted) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TicketUpdateRetrier(MeterRegistry meterRegistry,
+                               ObjectProvider<PlatformTransactionManager> transactionManager,
+                               @Value("${ticket.update.max-attempts:5}") int maxAttempts,
+                               @Value("${ticket.update.retry-backoff:20ms}") Duration backoff,
+                               @Value("${ticket.update.max-retry-backoff:500ms}") Duration maxBackoff) {
+        this(meterRegistry, transactionManager.getIfAvailable(), maxAttempts, backoff, maxBackoff);
+    }
+
+    TicketUpdateRetrier(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+                        int maxAttempts, Duration backoff, Duration maxBackoff) {
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Run the mutation, retrying it on optimistic locking conflicts
+     */
+    public <T> T execute(String operation, Supplier<T> mutation) {
+        OperationMeters operationMeters = meters.computeIfAbsent(operation, this::register);
+        for (int attempt = 1; ; attempt++) {
+            operationMeters.attempts().increment();
+            try {
+                return transactionTemplate != null ? transactionTemplate.execute(status -> mutation.get()) : mutation.get();
+            } catch (OptimisticLockingFailureException e) {
+                operationMeters.conflicts().increment();
+                if (attempt >= maxAttempts) {
+                    operationMeters.exhausted().increment();
+                    log.warn("Ticket update {} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                log.debug("Ticket update {} conflicted on attempt {}, retrying", operation, attempt);
+                sleep(jitteredBackoff(attempt), e);
+            }
+        }
+    }
+
+    /**
+     * Random delay between zero and backoff * 2^(attempt - 1), capped at max-retry-backoff
+     */
+    Duration jitteredBackoff(int attempt) {
+        Duration cap = backoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (cap.compareTo(maxBackoff) > 0) {
+            cap = maxBackoff;
+        }
+        long capNanos = cap.toNanos();
+        return capNanos <= 0 ? Duration.ZERO : Duration.ofNanos(ThreadLocalRandom.current().nextLong(capNanos + 1));
+    }
+
+    private void sleep(Duration delay, OptimisticLockingFailureException conflict) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private OperationMeters register(String operation) {
+        return new OperationMeters(
+                counter("ticket.update.attempts", "Ticket read-modify-save attempts", operation),
+                counter("ticket.update.conflicts", "Ticket saves rejected by a newer version", operation),
+                counter("ticket.update.exhausted", "Ticket updates that gave up after max-attempts", operation));
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ticket.config;
+
+import com.ticket.entity.Attachment;
+import com.ticket.entity.Ticket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private MongoIndexInitializer initializer;
+
+    private MongoMappingContext mappingContext;
+
+    @BeforeEach
+    void setUp() {
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        initializer = new MongoIndexInitializer(mongoTemplate);
+    }
+
+    private void givenIndexOperations() {
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+    }
+
+    private void givenIndexFails(String name, String error) {
+        when(indexOperations.ensureIndex(any())).thenAnswer(invocation -> {
+            IndexDefinition index = invocation.getArgument(0);
+            if (named(index, name)) {
+                throw new RuntimeException(error);
+            }
+            return index.getIndexOptions().get("name");
+        });
+    }
+
+    private static boolean named(IndexDefinition index, String name) {
+        return name.equals(index.getIndexOptions().get("name"));
+    }
+
+    // ==================== INDEX CREATION TESTS ====================
+
+    @Test
+    void testAfterSingletonsInstantiated_CreatesEveryEntityIndex() {
+        // Arrange
+        givenIndexOperations();
+
+        // Act
+        initializer.afterSingletonsInstantiated();
+
+        // Assert
+        verify(mongoTemplate).indexOps(Attachment.class);
+        verify(indexOperations).ensureIndex(argThat(index -> named(index, "upload_slot")));
+        verify(indexOperations).ensureIndex(argThat(index -> named(index, "ticket_seq")));
+        verify(indexOperations).ensureIndex(argThat(index -> named(index, "status_created_at")));
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_UniqueIndexFails_FailsStartup() {
+        // Arrange
+        givenIndexOperations();
+        givenIndexFails("upload_slot", "E11000 duplicate key");
+
+        // Act & Assert
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class, () -> initializer.afterSingletonsInstantiated());
+        assertTrue(exception.getMessage().contains("upload_slot"));
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_SecondaryIndexFails_KeepsGoing() {
+        // Arrange
+        givenIndexOperations();
+        givenIndexFails("status_created_at", "index build aborted");
+
+        // Act
+        initializer.afterSingletonsInstantiated();
+
+        // Assert
+        verify(indexOperations).ensureIndex(argThat(index -> named(index, "ticket_seq")));
+    }
+
+    // ==================== REQUIRED INDEX TESTS ====================
+
+    @Test
+    void testIsRequired_TicketTextIndexOnly() {
+        // Arrange
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        // Act
+        List<IndexDefinition> required = StreamSupport.stream(resolver.resolveIndexFor(Ticket.class).spliterator(), false)
+                .filter(MongoIndexInitializer::isRequired)
+                .map(IndexDefinition.class::cast)
+                .toList();
+
+        // Assert
+        assertEquals(1, required.size());
+        assertTrue(required.get(0).getIndexKeys().containsValue("text"));
+    }
+
+    @Test
+    void testIsRequired_UniqueIndex_ReturnsTrue() {
+        assertTrue(MongoIndexInitializer.isRequired(new Index().on("uploadSlot", Sort.Direction.ASC).unique()));
+    }
+
+    @Test
+    void testIsRequired_PlainIndex_ReturnsFalse() {
+        assertFalse(MongoIndexInitializer.isRequired(new Index().on("ticketId", Sort.Direction.ASC)));
+    }
+}
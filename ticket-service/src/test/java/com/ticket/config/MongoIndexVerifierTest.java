@@ -0,0 +1,74 @@
+package com.ticket.config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoIndexVerifierTest {
+
+    private static Document explainWith(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    // ==================== PLAN INSPECTION TESTS ====================
+
+    @Test
+    void testUsesCollectionScan_IndexScan_ReturnsFalse() {
+        // Arrange
+        Document explain = explainWith(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "ticket_created_at")));
+
+        // Act & Assert
+        assertFalse(MongoIndexVerifier.usesCollectionScan(explain));
+    }
+
+    @Test
+    void testUsesCollectionScan_SortOverCollectionScan_ReturnsTrue() {
+        // Arrange
+        Document explain = explainWith(new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN")));
+
+        // Act & Assert
+        assertTrue(MongoIndexVerifier.usesCollectionScan(explain));
+    }
+
+    @Test
+    void testUsesCollectionScan_SbePlanLayout_ReturnsTrue() {
+        // Arrange
+        Document explain = explainWith(new Document("queryPlan", new Document("stage", "COLLSCAN"))
+                .append("slotBasedPlan", new Document("stages", "...")));
+
+        // Act & Assert
+        assertTrue(MongoIndexVerifier.usesCollectionScan(explain));
+    }
+
+    @Test
+    void testUsesCollectionScan_ShardedPlan_ChecksEveryShard() {
+        // Arrange
+        Document explain = explainWith(new Document("stage", "SHARD_MERGE")
+                .append("shards", List.of(
+                        new Document("shardName", "a").append("winningPlan", new Document("stage", "IXSCAN")),
+                        new Document("shardName", "b").append("winningPlan", new Document("stage", "COLLSCAN")))));
+
+        // Act & Assert
+        assertTrue(MongoIndexVerifier.usesCollectionScan(explain));
+    }
+
+    @Test
+    void testUsesCollectionScan_RejectedPlansAreIgnored() {
+        // Arrange
+        Document explain = new Document("queryPlanner", new Document("winningPlan", new Document("stage", "IXSCAN"))
+                .append("rejectedPlans", List.of(new Document("stage", "COLLSCAN"))));
+
+        // Act & Assert
+        assertFalse(MongoIndexVerifier.usesCollectionScan(explain));
+    }
+
+    @Test
+    void testUsesCollectionScan_NoQueryPlanner_ReturnsFalse() {
+        assertFalse(MongoIndexVerifier.usesCollectionScan(new Document()));
+    }
+}
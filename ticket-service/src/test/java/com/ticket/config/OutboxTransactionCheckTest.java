@@ -0,0 +1,44 @@
+package com.ticket.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxTransactionCheckTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(MongoDatabaseFactory.class, () -> mock(MongoDatabaseFactory.class))
+            .withUserConfiguration(MongoTransactionConfig.class, OutboxTransactionCheck.class);
+
+    // ==================== STARTUP TESTS ====================
+
+    @Test
+    void testDefaults_TransactionManagerPresent_Starts() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertNotNull(context.getBean(MongoTransactionManager.class));
+        });
+    }
+
+    @Test
+    void testOutboxWithoutTransactions_FailsStartup() {
+        contextRunner.withPropertyValues("ticket.mongo.transactions.enabled=false").run(context -> {
+            Throwable failure = context.getStartupFailure();
+            assertNotNull(failure);
+            Throwable cause = NestedExceptionUtils.getRootCause(failure);
+            assertInstanceOf(IllegalStateException.class, cause);
+            assertTrue(cause.getMessage().startsWith("ticket.outbox.enabled needs Mongo transactions"));
+        });
+    }
+
+    @Test
+    void testOutboxAndTransactionsOff_Starts() {
+        contextRunner.withPropertyValues("ticket.mongo.transactions.enabled=false", "ticket.outbox.enabled=false")
+                .run(context -> assertNull(context.getStartupFailure()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.ticket.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskExecutionConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AttachmentUploadConfig.class, TaskExecutionConfig.class);
+
+    // ==================== APPLICATION EXECUTOR TESTS ====================
+
+    @Test
+    void testApplicationTaskExecutor_PresentNextToAttachmentPools() {
+        contextRunner.withPropertyValues("spring.task.execution.pool.max-size=16").run(context -> {
+            ThreadPoolTaskExecutor executor = context.getBean(
+                    TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, ThreadPoolTaskExecutor.class);
+            assertEquals(16, executor.getMaxPoolSize());
+            assertTrue(context.containsBean("attachmentUploadExecutor"));
+        });
+    }
+}
@@ -1,19 +1,32 @@
 package com.ticket.controller;
 
 import com.ticket.dto.AttachmentDTO;
+import com.ticket.dto.AttachmentUploadSlotDTO;
+import com.ticket.dto.AttachmentUploadSlotRequest;
+import com.ticket.dto.ConfirmAttachmentUploadRequest;
+import com.ticket.service.AttachmentArchiveService;
 import com.ticket.service.AttachmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -28,6 +41,9 @@ class AttachmentControllerTest {
     @MockBean
     private AttachmentService attachmentService;
 
+    @MockBean
+    private AttachmentArchiveService attachmentArchiveService;
+
     private AttachmentDTO testAttachment;
     private String ticketId = "TKT-001";
     private String userId = "user-001";
@@ -401,4 +417,132 @@ class AttachmentControllerTest {
         verify(attachmentService, times(1))
                 .uploadAttachment(eq(ticketId), any(), eq(userId), eq(username));
     }
+
+    // ==================== DIRECT UPLOAD ====================
+
+    @Test
+    void testCreateUploadSlot_Success() throws Exception {
+        AttachmentUploadSlotDTO slot = new AttachmentUploadSlotDTO("tickets/TKT-001/abc.pdf",
+                "https://bucket.s3.amazonaws.com/tickets/TKT-001/abc.pdf?X-Amz-Signature=sig",
+                Map.of("content-type", "application/pdf"), Instant.parse("2024-01-01T10:15:00Z"));
+        when(attachmentService.createUploadSlot(ticketId,
+                new AttachmentUploadSlotRequest("report.pdf", "application/pdf", 2048L))).thenReturn(slot);
+
+        mockMvc.perform(post("/tickets/{ticketId}/attachments/upload-slots", ticketId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fileName\":\"report.pdf\",\"contentType\":\"application/pdf\",\"fileSize\":2048}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.s3Key").value("tickets/TKT-001/abc.pdf"))
+                .andExpect(jsonPath("$.headers['content-type']").value("application/pdf"));
+    }
+
+    @Test
+    void testCreateUploadSlot_MissingSize_BadRequest() throws Exception {
+        mockMvc.perform(post("/tickets/{ticketId}/attachments/upload-slots", ticketId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fileName\":\"report.pdf\",\"contentType\":\"application/pdf\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(attachmentService, never()).createUploadSlot(anyString(), any());
+    }
+
+    @Test
+    void testConfirmUpload_Success() throws Exception {
+        when(attachmentService.confirmUpload(ticketId,
+                new ConfirmAttachmentUploadRequest("tickets/TKT-001/abc.pdf", "test-document.pdf"), userId, username))
+                .thenReturn(testAttachment);
+
+        mockMvc.perform(post("/tickets/{ticketId}/attachments/confirm", ticketId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"s3Key\":\"tickets/TKT-001/abc.pdf\",\"fileName\":\"test-document.pdf\"}")
+                .header("X-User-Id", userId)
+                .header("X-Username", username))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.attachmentId").value(attachmentId));
+    }
+
+    // ==================== DOWNLOAD ====================
+
+    private void stubContent(Path dir, String text) throws IOException {
+        Path file = Files.writeString(dir.resolve("abc.txt"), text);
+        when(attachmentService.getAttachmentContent(ticketId, "abc.txt")).thenReturn(
+                new AttachmentService.AttachmentContent(new FileSystemResource(file), "text/plain", "notes.txt"));
+    }
+
+    @Test
+    void testDownloadFile_WholeFile(@TempDir Path dir) throws Exception {
+        stubContent(dir, "0123456789");
+
+        mockMvc.perform(get("/tickets/{ticketId}/attachments/files/{fileName}", ticketId, "abc.txt"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Content-Length", "10"))
+                .andExpect(header().string("Content-Disposition", containsString("notes.txt")))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void testDownloadFile_SingleRange_PartialContent(@TempDir Path dir) throws Exception {
+        stubContent(dir, "0123456789");
+
+        mockMvc.perform(get("/tickets/{ticketId}/attachments/files/{fileName}", ticketId, "abc.txt")
+                .header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(header().string("Content-Length", "4"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void testDownloadFile_SuffixRange(@TempDir Path dir) throws Exception {
+        stubContent(dir, "0123456789");
+
+        mockMvc.perform(get("/tickets/{ticketId}/attachments/files/{fileName}", ticketId, "abc.txt")
+                .header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void testDownloadFile_UnsatisfiableRange(@TempDir Path dir) throws Exception {
+        stubContent(dir, "0123456789");
+
+        mockMvc.perform(get("/tickets/{ticketId}/attachments/files/{fileName}", ticketId, "abc.txt")
+                .header("Range", "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    // ==================== ARCHIVE TESTS ====================
+
+    @Test
+    void testDownloadArchive_StreamsZip() throws Exception {
+        List<AttachmentArchiveService.ArchiveEntry> entries = List.of(
+                new AttachmentArchiveService.ArchiveEntry("tickets/TKT-001/a.pdf", "a.pdf", null));
+        when(attachmentArchiveService.listEntries(ticketId)).thenReturn(entries);
+        when(attachmentArchiveService.writeArchive(eq(entries), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, java.io.OutputStream.class).write("PK".getBytes());
+            return 1;
+        });
+
+        MvcResult result = mockMvc.perform(get("/tickets/{ticketId}/attachments/archive", ticketId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", containsString("TKT-001-attachments.zip")))
+                .andExpect(content().string("PK"));
+    }
+
+    @Test
+    void testDownloadArchive_TicketNotFound() throws Exception {
+        when(attachmentArchiveService.listEntries(ticketId)).thenThrow(new RuntimeException("Ticket not found"));
+
+        mockMvc.perform(get("/tickets/{ticketId}/attachments/archive", ticketId))
+                .andExpect(status().isBadRequest());
+
+        verify(attachmentArchiveService, never()).writeArchive(any(), any());
+    }
 }
@@ -2,7 +2,9 @@ package com.ticket.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ticket.dto.CommentDTO;
+import com.ticket.dto.CommentThreadSummaryDTO;
 import com.ticket.dto.CreateCommentRequest;
+import com.ticket.dto.CursorPage;
 import com.ticket.service.CommentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -339,4 +341,46 @@ class CommentControllerTest {
 
         verify(commentService, times(1)).getCommentsByTicket(ticketId, false);
     }
+
+    // ==================== CURSOR PAGINATION ====================
+
+    @Test
+    void testGetCommentsBefore_ReturnsCursorPage() throws Exception {
+        when(commentService.getCommentsByTicketBefore(ticketId, false, "", 20))
+                .thenReturn(new CursorPage<>(List.of(testComment), "next-cursor", true, null));
+
+        mockMvc.perform(get("/tickets/{ticketId}/comments", ticketId)
+                .param("before", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].commentId").value(commentId))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(commentService, never()).getCommentsByTicket(anyString(), anyBoolean());
+    }
+
+    @Test
+    void testGetCommentsBefore_WithCursorAndInternal_PassesThrough() throws Exception {
+        when(commentService.getCommentsByTicketBefore(ticketId, true, "abc", 5))
+                .thenReturn(new CursorPage<>(List.of(), null, false, null));
+
+        mockMvc.perform(get("/tickets/{ticketId}/comments", ticketId)
+                .param("before", "abc")
+                .param("size", "5")
+                .param("includeInternal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void testGetThreadSummary_Success() throws Exception {
+        when(commentService.getThreadSummary(ticketId, false, 5))
+                .thenReturn(new CommentThreadSummaryDTO(42, List.of(testComment), "next-cursor"));
+
+        mockMvc.perform(get("/tickets/{ticketId}/comments/summary", ticketId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalComments").value(42))
+                .andExpect(jsonPath("$.latestComments[0].commentId").value(commentId))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
 }
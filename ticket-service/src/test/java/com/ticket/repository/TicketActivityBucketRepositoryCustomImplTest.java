@@ -0,0 +1,183 @@
+package com.ticket.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.ticket.entity.TicketActivity;
+import com.ticket.entity.TicketActivityBucket;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketActivityBucketRepositoryCustomImplTest {
+
+    private static final String TICKET_ID = "ticket-1";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TicketActivityBucketRepositoryCustomImpl repository;
+
+    private static List<TicketActivity> activities(int count) {
+        List<TicketActivity> activities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            activities.add(new TicketActivity(TICKET_ID, "STATUS_CHANGED", "change " + i, "user1", "testuser"));
+        }
+        return activities;
+    }
+
+    private static TicketActivityBucket newest(int seq, int count) {
+        TicketActivityBucket bucket = new TicketActivityBucket();
+        bucket.setTicketId(TICKET_ID);
+        bucket.setSeq(seq);
+        bucket.setCount(count);
+        return bucket;
+    }
+
+    private void stubNewest(TicketActivityBucket first, TicketActivityBucket... rest) {
+        when(mongoTemplate.findOne(any(Query.class), eq(TicketActivityBucket.class))).thenReturn(first, rest);
+    }
+
+    private static UpdateResult matched(long count) {
+        return UpdateResult.acknowledged(count, count, null);
+    }
+
+    // ==================== APPEND TESTS ====================
+
+    @Test
+    void testAppend_NoBuckets_OpensFirstBucket() {
+        // Arrange
+        stubNewest(null);
+        List<TicketActivity> activities = activities(2);
+
+        // Act
+        repository.append(TICKET_ID, activities, 3);
+
+        // Assert
+        ArgumentCaptor<TicketActivityBucket> captor = ArgumentCaptor.forClass(TicketActivityBucket.class);
+        verify(mongoTemplate).insert(captor.capture());
+        assertEquals(0, captor.getValue().getSeq());
+        assertEquals(2, captor.getValue().getCount());
+        assertTrue(activities.stream().allMatch(activity -> activity.getActivityId() != null));
+    }
+
+    @Test
+    void testAppend_NewestHasRoom_PushesIntoIt() {
+        // Arrange
+        stubNewest(newest(4, 1));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TicketActivityBucket.class)))
+                .thenReturn(matched(1));
+
+        // Act
+        repository.append(TICKET_ID, activities(2), 3);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(TicketActivityBucket.class));
+        assertEquals(4, query.getValue().getQueryObject().get("seq"));
+        assertEquals(new org.bson.Document("$lte", 1), query.getValue().getQueryObject().get("count"));
+        verify(mongoTemplate, never()).insert(any(TicketActivityBucket.class));
+    }
+
+    @Test
+    void testAppend_Overflow_FillsNewestThenOpensNext() {
+        // Arrange
+        stubNewest(newest(0, 2), newest(0, 3));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TicketActivityBucket.class)))
+                .thenReturn(matched(1));
+
+        // Act
+        repository.append(TICKET_ID, activities(3), 3);
+
+        // Assert
+        ArgumentCaptor<TicketActivityBucket> captor = ArgumentCaptor.forClass(TicketActivityBucket.class);
+        verify(mongoTemplate).insert(captor.capture());
+        assertEquals(1, captor.getValue().getSeq());
+        assertEquals(List.of("change 1", "change 2"),
+                captor.getValue().getActivities().stream().map(TicketActivity::getDescription).toList());
+    }
+
+    @Test
+    void testAppend_NewestFilledConcurrently_RetriesOnNextBucket() {
+        // Arrange: the push loses to another writer, which also filled the bucket
+        stubNewest(newest(0, 2), newest(0, 3));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TicketActivityBucket.class)))
+                .thenReturn(matched(0));
+
+        // Act
+        repository.append(TICKET_ID, activities(1), 3);
+
+        // Assert
+        ArgumentCaptor<TicketActivityBucket> captor = ArgumentCaptor.forClass(TicketActivityBucket.class);
+        verify(mongoTemplate).insert(captor.capture());
+        assertEquals(1, captor.getValue().getSeq());
+    }
+
+    @Test
+    void testAppend_BucketOpenedConcurrently_PushesIntoIt() {
+        // Arrange: another writer opens bucket 1 between our read and our insert
+        stubNewest(newest(0, 3), newest(1, 1));
+        when(mongoTemplate.insert(any(TicketActivityBucket.class))).thenThrow(new DuplicateKeyException("seq taken"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TicketActivityBucket.class)))
+                .thenReturn(matched(1));
+
+        // Act
+        repository.append(TICKET_ID, activities(1), 3);
+
+        // Assert
+        verify(mongoTemplate, times(1)).insert(any(TicketActivityBucket.class));
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(TicketActivityBucket.class));
+    }
+
+    @Test
+    void testAppend_RetryAfterPartialAppend_SkipsStoredActivities() {
+        // Arrange: an earlier attempt assigned ids to all three and stored the first before failing
+        List<TicketActivity> activities = activities(3);
+        for (int i = 0; i < activities.size(); i++) {
+            activities.get(i).setActivityId("activity-" + i);
+        }
+        TicketActivityBucket stored = newest(0, 3);
+        TicketActivity storedActivity = new TicketActivity();
+        storedActivity.setActivityId("activity-0");
+        stored.setActivities(List.of(storedActivity));
+        when(mongoTemplate.find(any(Query.class), eq(TicketActivityBucket.class))).thenReturn(List.of(stored));
+        stubNewest(newest(0, 3));
+
+        // Act
+        repository.append(TICKET_ID, activities, 3);
+
+        // Assert
+        ArgumentCaptor<TicketActivityBucket> captor = ArgumentCaptor.forClass(TicketActivityBucket.class);
+        verify(mongoTemplate).insert(captor.capture());
+        assertEquals(List.of("activity-1", "activity-2"),
+                captor.getValue().getActivities().stream().map(TicketActivity::getActivityId).toList());
+    }
+
+    @Test
+    void testAppend_FirstAttempt_DoesNotLookForStoredActivities() {
+        // Arrange
+        stubNewest(null);
+
+        // Act
+        repository.append(TICKET_ID, activities(2), 3);
+
+        // Assert
+        verify(mongoTemplate, never()).find(any(Query.class), eq(TicketActivityBucket.class));
+        verify(mongoTemplate).insert(any(TicketActivityBucket.class));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ticket.repository;
+
+import com.ticket.entity.Ticket;
+import com.ticket.enums.TicketPriority;
+import com.ticket.enums.TicketStatus;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketChangesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    // ==================== UPDATE TESTS ====================
+
+    @Test
+    void testToUpdate_OnlyChangedFieldsInSet() {
+        // Arrange
+        TicketChanges changes = new TicketChanges()
+                .title("New title")
+                .priority(TicketPriority.HIGH)
+                .updatedAt(NOW);
+
+        // Act
+        Document update = changes.toUpdate().getUpdateObject();
+
+        // Assert
+        assertEquals(List.of("$inc", "$set"), List.copyOf(update.keySet()));
+        assertEquals(new Document("version", 1), update.get("$inc"));
+        Document set = update.get("$set", Document.class);
+        assertEquals(List.of("title", "priority", "updatedAt"), List.copyOf(set.keySet()));
+        assertEquals(List.of("title", "priority", "updatedAt"), List.copyOf(changes.fields()));
+    }
+
+    @Test
+    void testAssignedAtIfUnset_WrittenAsMin() {
+        // Act
+        Document update = new TicketChanges()
+                .status(TicketStatus.ASSIGNED)
+                .assignedAtIfUnset(NOW)
+                .toUpdate().getUpdateObject();
+
+        // Assert
+        assertEquals(new Document("assignedAt", NOW), update.get("$min"));
+        assertFalse(update.get("$set", Document.class).containsKey("assignedAt"));
+    }
+
+    @Test
+    void testIsEmpty() {
+        assertTrue(new TicketChanges().isEmpty());
+        assertFalse(new TicketChanges().updatedAt(NOW).isEmpty());
+    }
+
+    // ==================== APPLY TESTS ====================
+
+    @Test
+    void testApplyTo_ChangesOnlyTrackedFields() {
+        // Arrange
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Old title");
+        ticket.setDescription("Description");
+        ticket.setPriority(TicketPriority.LOW);
+
+        // Act
+        new TicketChanges().title("New title").priority(TicketPriority.HIGH).applyTo(ticket);
+
+        // Assert
+        assertEquals("New title", ticket.getTitle());
+        assertEquals(TicketPriority.HIGH, ticket.getPriority());
+        assertEquals("Description", ticket.getDescription());
+    }
+
+    @Test
+    void testApplyTo_BumpsVersion() {
+        // Arrange
+        Ticket versioned = new Ticket();
+        versioned.setVersion(4L);
+        Ticket unversioned = new Ticket();
+        TicketChanges changes = new TicketChanges().updatedAt(NOW);
+
+        // Act
+        changes.applyTo(versioned);
+        changes.applyTo(unversioned);
+
+        // Assert
+        assertEquals(5L, versioned.getVersion());
+        assertEquals(1L, unversioned.getVersion());
+    }
+
+    @Test
+    void testApplyTo_AssignedAtIfUnset_KeepsEarlierAssignment() {
+        // Arrange
+        Ticket unassigned = new Ticket();
+        Ticket assigned = new Ticket();
+        assigned.setAssignedAt(NOW.minusDays(1));
+        TicketChanges changes = new TicketChanges().assignedAtIfUnset(NOW);
+
+        // Act
+        changes.applyTo(unassigned);
+        changes.applyTo(assigned);
+
+        // Assert
+        assertEquals(NOW, unassigned.getAssignedAt());
+        assertEquals(NOW.minusDays(1), assigned.getAssignedAt());
+    }
+}
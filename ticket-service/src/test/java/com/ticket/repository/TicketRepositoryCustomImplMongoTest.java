@@ -0,0 +1,149 @@
+package com.ticket.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.ticket.entity.Ticket;
+import com.ticket.enums.TicketStatus;
+import com.ticket.service.TicketStatusTransitions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The server-side updates of TicketRepositoryCustomImpl against a real mongod, raced from many threads.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TicketRepositoryCustomImplMongoTest {
+
+    private static final int THREADS = 16;
+
+    private static final int INCREMENTS_PER_THREAD = 50;
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient mongoClient;
+
+    private static MongoTemplate mongoTemplate;
+
+    private TicketRepositoryCustomImpl repository;
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(MONGO.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "ticket_service_test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Ticket.class);
+        repository = new TicketRepositoryCustomImpl(mongoTemplate);
+    }
+
+    private Ticket insertTicket(String ticketId, TicketStatus status) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setTicketNumber(ticketId);
+        ticket.setTitle("Title");
+        ticket.setStatus(status);
+        ticket.setCommentCount(0);
+        ticket.setCreatedAt(LocalDateTime.now());
+        return mongoTemplate.insert(ticket);
+    }
+
+    /**
+     * Run the task on THREADS threads released together, and collect the results
+     */
+    private <T> List<T> race(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ==================== STATUS TRANSITION TESTS ====================
+
+    @Test
+    void testApplyChanges_ConcurrentTransitions_ExactlyOneWins() throws Exception {
+        // Arrange
+        insertTicket("TKT-RACE", TicketStatus.OPEN);
+        Criteria allowedSources = Criteria.where("status").in(TicketStatusTransitions.sourcesOf(TicketStatus.ASSIGNED));
+
+        // Act
+        List<Optional<TicketChanges.Applied>> results = race(() -> repository.applyChanges("TKT-RACE", allowedSources,
+                new TicketChanges().status(TicketStatus.ASSIGNED).updatedAt(LocalDateTime.now())));
+
+        // Assert
+        List<TicketChanges.Applied> applied = results.stream().flatMap(Optional::stream).toList();
+        assertEquals(1, applied.size());
+        assertEquals(TicketStatus.OPEN, applied.get(0).before().getStatus());
+        assertEquals(TicketStatus.ASSIGNED, applied.get(0).after().getStatus());
+
+        Ticket stored = mongoTemplate.findById("TKT-RACE", Ticket.class);
+        assertEquals(TicketStatus.ASSIGNED, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    // ==================== COUNTER TESTS ====================
+
+    @Test
+    void testIncrementCommentCount_ConcurrentIncrements_NoneLost() throws Exception {
+        // Arrange
+        insertTicket("TKT-COUNT", TicketStatus.OPEN);
+
+        // Act
+        List<Boolean> results = race(() -> {
+            boolean matched = true;
+            for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                matched &= repository.incrementCommentCount("TKT-COUNT", 1);
+            }
+            return matched;
+        });
+
+        // Assert
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        Ticket stored = mongoTemplate.findById("TKT-COUNT", Ticket.class);
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, stored.getCommentCount());
+        assertEquals((long) THREADS * INCREMENTS_PER_THREAD, stored.getVersion());
+    }
+}
@@ -0,0 +1,161 @@
+package com.ticket.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.ticket.entity.Ticket;
+import com.ticket.enums.TicketPriority;
+import com.ticket.enums.TicketStatus;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TicketRepositoryCustomImpl repository;
+
+    private Ticket stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = new Ticket();
+        stored.setTicketId("TKT-001");
+        stored.setTitle("Title");
+        stored.setPriority(TicketPriority.LOW);
+        stored.setVersion(3L);
+    }
+
+    private void stubConverter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+    }
+
+    // ==================== APPLY CHANGES TESTS ====================
+
+    @Test
+    void testApplyChanges_OneFindAndModify_ReturnsBothImages() {
+        // Arrange
+        stubConverter();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Ticket.class))).thenReturn(stored);
+        TicketChanges changes = new TicketChanges().priority(TicketPriority.HIGH).updatedAt(LocalDateTime.now());
+
+        // Act
+        Optional<TicketChanges.Applied> applied = repository.applyChanges("TKT-001", changes);
+
+        // Assert
+        assertTrue(applied.isPresent());
+        assertEquals(TicketPriority.LOW, applied.get().before().getPriority());
+        assertEquals(TicketPriority.HIGH, applied.get().after().getPriority());
+        assertEquals("Title", applied.get().after().getTitle());
+        assertNotSame(applied.get().before(), applied.get().after());
+        assertEquals(3L, applied.get().before().getVersion());
+        assertEquals(4L, applied.get().after().getVersion());
+
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), same(changes.toUpdate()), options.capture(), eq(Ticket.class));
+        assertFalse(options.getValue().isReturnNew());
+        verify(mongoTemplate, never()).save(any());
+    }
+
+    @Test
+    void testApplyChanges_NoTicketOrPreconditionFails_ReturnsEmpty() {
+        // Arrange
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Ticket.class))).thenReturn(null);
+
+        // Act
+        Optional<TicketChanges.Applied> applied = repository.applyChanges("TKT-001",
+                Criteria.where("assignedToUserId").ne("agent-1"), new TicketChanges().updatedAt(LocalDateTime.now()));
+
+        // Assert
+        assertTrue(applied.isEmpty());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Ticket.class));
+        assertEquals("TKT-001", query.getValue().getQueryObject().get("_id"));
+        assertTrue(query.getValue().getQueryObject().containsKey("assignedToUserId"));
+    }
+
+    @Test
+    void testApplyChanges_StatusPrecondition_CheckedByTheModifyFilter() {
+        // Arrange - racing transitions are decided by Mongo matching this one filter, never by a prior read
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Ticket.class))).thenReturn(null);
+        TicketChanges changes = new TicketChanges().status(TicketStatus.RESOLVED).updatedAt(LocalDateTime.now());
+
+        // Act
+        Optional<TicketChanges.Applied> applied = repository.applyChanges("TKT-001",
+                Criteria.where("status").in(TicketStatus.OPEN, TicketStatus.IN_PROGRESS), changes);
+
+        // Assert
+        assertTrue(applied.isEmpty());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), same(changes.toUpdate()),
+                any(FindAndModifyOptions.class), eq(Ticket.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("TKT-001", filter.get("_id"));
+        assertEquals(new Document("$in", List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS)), filter.get("status"));
+        verify(mongoTemplate, never()).findById(any(), any());
+    }
+
+    @Test
+    void testApplyChanges_NoChanges_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> repository.applyChanges("TKT-001", new TicketChanges()));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    // ==================== COUNTER TESTS ====================
+
+    @Test
+    void testIncrementCommentCount_AlsoBumpsVersion() {
+        // Arrange
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Ticket.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // Act
+        boolean updated = repository.incrementCommentCount("TKT-001", 1);
+
+        // Assert
+        assertTrue(updated);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(Ticket.class));
+        // Concurrent increments cannot lose updates: no read, no version filter, and the server adds the delta
+        assertEquals(new Document("_id", "TKT-001"), query.getValue().getQueryObject());
+        assertEquals(new Document("$inc", new Document("commentCount", 1).append("version", 1)),
+                update.getValue().getUpdateObject());
+        verify(mongoTemplate, never()).findById(any(), any());
+    }
+}
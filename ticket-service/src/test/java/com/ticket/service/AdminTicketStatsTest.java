@@ -0,0 +1,136 @@
+package com.ticket.service;
+
+import com.ticket.dto.TicketStatsDTO;
+import com.ticket.entity.Ticket;
+import com.ticket.repository.TicketRepository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminTicketStatsTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketActivityWriter ticketActivityWriter;
+
+    @Mock
+    private EventPublisherService eventPublisher;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TicketCache ticketCache;
+
+    private AdminTicketService createService(long cacheTtlMs) {
+        return new AdminTicketService(ticketRepository, ticketActivityWriter, eventPublisher,
+                mongoTemplate, ticketCache, cacheTtlMs);
+    }
+
+    private void stubAggregation(Document facets) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+    }
+
+    private static Document bucket(Object key, int count) {
+        return new Document("_id", key).append("count", count);
+    }
+
+    // ==================== AGGREGATION TESTS ====================
+
+    @Test
+    void testGetTicketStats_MapsEveryFacetBucket() {
+        // Arrange
+        stubAggregation(new Document()
+                .append("byStatus", List.of(bucket("OPEN", 4), bucket("ASSIGNED", 3), bucket("IN_PROGRESS", 2),
+                        bucket("RESOLVED", 1), bucket("CLOSED", 5), bucket("ESCALATED", 6)))
+                .append("byPriority", List.of(bucket("CRITICAL", 1), bucket("HIGH", 2), bucket("MEDIUM", 3),
+                        bucket("LOW", 4), bucket(null, 11)))
+                .append("total", List.of(new Document("count", 21))));
+
+        // Act
+        TicketStatsDTO stats = createService(5000).getTicketStats();
+
+        // Assert
+        assertEquals(new TicketStatsDTO(21, 4, 3, 2, 1, 5, 6, 1, 2, 3, 4, 11), stats);
+        verify(mongoTemplate, never()).count(any(), any(Class.class));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void testGetTicketStats_EmptyCollection_ReturnsZeros() {
+        // Arrange
+        stubAggregation(new Document()
+                .append("byStatus", List.of())
+                .append("byPriority", List.of())
+                .append("total", List.of()));
+
+        // Act
+        TicketStatsDTO stats = createService(5000).getTicketStats();
+
+        // Assert
+        assertEquals(new TicketStatsDTO(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0), stats);
+    }
+
+    @Test
+    void testGetTicketStats_UnknownBucket_IsIgnored() {
+        // Arrange
+        stubAggregation(new Document()
+                .append("byStatus", List.of(bucket("ARCHIVED", 2), bucket("OPEN", 1)))
+                .append("byPriority", List.of())
+                .append("total", List.of(new Document("count", 3L))));
+
+        // Act
+        TicketStatsDTO stats = createService(5000).getTicketStats();
+
+        // Assert
+        assertEquals(3, stats.totalTickets());
+        assertEquals(1, stats.openTickets());
+    }
+
+    // ==================== CACHE TESTS ====================
+
+    @Test
+    void testGetTicketStats_WithinTtl_ServedFromCache() {
+        // Arrange
+        stubAggregation(new Document("total", List.of(new Document("count", 7))));
+        AdminTicketService service = createService(60_000);
+
+        // Act
+        TicketStatsDTO first = service.getTicketStats();
+        TicketStatsDTO second = service.getTicketStats();
+
+        // Assert
+        assertSame(first, second);
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class));
+    }
+
+    @Test
+    void testGetTicketStats_ZeroTtl_RecomputesEveryCall() {
+        // Arrange
+        stubAggregation(new Document("total", List.of(new Document("count", 7))));
+        AdminTicketService service = createService(0);
+
+        // Act
+        service.getTicketStats();
+        service.getTicketStats();
+
+        // Assert
+        verify(mongoTemplate, times(2)).aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class));
+    }
+}
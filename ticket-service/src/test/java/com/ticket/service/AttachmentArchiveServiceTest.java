@@ -0,0 +1,224 @@
+package com.ticket.service;
+
+import com.ticket.entity.Attachment;
+import com.ticket.repository.AttachmentRepository;
+import com.ticket.repository.TicketRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentArchiveServiceTest {
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
+    private ExecutorService prefetchExecutor;
+    private AttachmentArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        prefetchExecutor = Executors.newFixedThreadPool(2);
+        archiveService = new AttachmentArchiveService(attachmentRepository, ticketRepository, attachmentStorage,
+                prefetchExecutor, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private static Attachment attachment(String key, String fileName) {
+        Attachment attachment = new Attachment();
+        attachment.setS3Key(key);
+        attachment.setOriginalFileName(fileName);
+        attachment.setUploadedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        return attachment;
+    }
+
+    private static AttachmentArchiveService.ArchiveEntry entry(String key, String name) {
+        return new AttachmentArchiveService.ArchiveEntry(key, name, null);
+    }
+
+    private static InputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> readZip(byte[] zip) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.add(entry.getName() + "=" + new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    // ==================== LIST ENTRIES TESTS ====================
+
+    @Test
+    void testListEntries_DuplicateNames_MadeUnique() {
+        // Arrange
+        when(ticketRepository.existsById("ticket-1")).thenReturn(true);
+        when(attachmentRepository.findByTicketIdOrderByUploadedAtDesc("ticket-1")).thenReturn(List.of(
+                attachment("k1", "report.pdf"), attachment("k2", "report.pdf"), attachment("k3", "../etc/passwd")));
+
+        // Act
+        List<AttachmentArchiveService.ArchiveEntry> entries = archiveService.listEntries("ticket-1");
+
+        // Assert
+        assertEquals(List.of("report.pdf", "report (1).pdf", ".._etc_passwd"),
+                entries.stream().map(AttachmentArchiveService.ArchiveEntry::entryName).toList());
+        assertEquals("k2", entries.get(1).key());
+    }
+
+    @Test
+    void testListEntries_TicketNotFound_ThrowsException() {
+        // Arrange
+        when(ticketRepository.existsById("missing")).thenReturn(false);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> archiveService.listEntries("missing"));
+        assertEquals("Ticket not found", exception.getMessage());
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void testUniqueEntryName() {
+        Set<String> used = new HashSet<>();
+        assertEquals("notes", AttachmentArchiveService.uniqueEntryName("notes", used));
+        assertEquals("notes (1)", AttachmentArchiveService.uniqueEntryName("notes", used));
+        assertEquals("attachment", AttachmentArchiveService.uniqueEntryName(null, used));
+    }
+
+    // ==================== WRITE ARCHIVE TESTS ====================
+
+    @Test
+    void testWriteArchive_WritesEntriesInOrder() throws Exception {
+        // Arrange
+        when(attachmentStorage.openStream("k1")).thenReturn(content("first"));
+        when(attachmentStorage.openStream("k2")).thenReturn(content("second"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int written = archiveService.writeArchive(List.of(entry("k1", "a.txt"), entry("k2", "b.txt")), out);
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(List.of("a.txt=first", "b.txt=second"), readZip(out.toByteArray()));
+    }
+
+    @Test
+    void testWriteArchive_NoEntries_WritesEmptyZip() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int written = archiveService.writeArchive(List.of(), out);
+
+        // Assert
+        assertEquals(0, written);
+        assertTrue(readZip(out.toByteArray()).isEmpty());
+        verifyNoInteractions(attachmentStorage);
+    }
+
+    @Test
+    void testWriteArchive_PrefetchesNextEntryWhileStreaming() throws Exception {
+        // Arrange: the first entry can only be read once the second one has been opened
+        CountDownLatch secondOpened = new CountDownLatch(1);
+        InputStream first = new ByteArrayInputStream("first".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public long transferTo(java.io.OutputStream out) throws IOException {
+                try {
+                    assertTrue(secondOpened.await(5, TimeUnit.SECONDS), "next entry was not prefetched");
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return super.transferTo(out);
+            }
+        };
+        when(attachmentStorage.openStream("k1")).thenReturn(first);
+        when(attachmentStorage.openStream("k2")).thenAnswer(invocation -> {
+            secondOpened.countDown();
+            return content("second");
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        archiveService.writeArchive(List.of(entry("k1", "a.txt"), entry("k2", "b.txt")), out);
+
+        // Assert
+        assertEquals(List.of("a.txt=first", "b.txt=second"), readZip(out.toByteArray()));
+    }
+
+    @Test
+    void testWriteArchive_StorageFailure_ClosesPrefetchedStream() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        CountDownLatch secondClosed = new CountDownLatch(1);
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+        when(attachmentStorage.openStream("k1")).thenReturn(broken);
+        when(attachmentStorage.openStream("k2")).thenReturn(new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                closed.set(true);
+                secondClosed.countDown();
+            }
+        });
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> archiveService.writeArchive(
+                List.of(entry("k1", "a.txt"), entry("k2", "b.txt")), new ByteArrayOutputStream()));
+        assertTrue(secondClosed.await(5, TimeUnit.SECONDS));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testWriteArchive_OpenFails_PropagatesStorageException() {
+        // Arrange
+        when(attachmentStorage.openStream("k1"))
+                .thenThrow(new S3StorageService.S3StorageException("Failed to read file from S3: boom", null));
+
+        // Act & Assert
+        S3StorageService.S3StorageException exception = assertThrows(S3StorageService.S3StorageException.class,
+                () -> archiveService.writeArchive(List.of(entry("k1", "a.txt")), new ByteArrayOutputStream()));
+        assertTrue(exception.getMessage().contains("boom"));
+    }
+}
@@ -1,24 +1,40 @@
 package com.ticket.service;
 
 import com.ticket.dto.AttachmentDTO;
+import com.ticket.dto.AttachmentUploadSlotDTO;
+import com.ticket.dto.AttachmentUploadSlotRequest;
+import com.ticket.dto.ConfirmAttachmentUploadRequest;
 import com.ticket.entity.Attachment;
 import com.ticket.entity.Ticket;
 import com.ticket.repository.AttachmentRepository;
 import com.ticket.repository.TicketRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,9 +43,12 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class AttachmentServiceTest {
 
-    @InjectMocks
     private AttachmentService attachmentService;
 
+    private ExecutorService uploadExecutor;
+
+    private PresignedUrlCache presignedUrlCache;
+
     @Mock
     private AttachmentRepository attachmentRepository;
 
@@ -37,7 +56,7 @@ public class AttachmentServiceTest {
     private TicketRepository ticketRepository;
 
     @Mock
-    private S3StorageService s3StorageService;
+    private AttachmentStorage attachmentStorage;
 
     @Mock
     private TicketService ticketService;
@@ -54,6 +73,12 @@ public class AttachmentServiceTest {
 
     @BeforeEach
     void setUp() {
+        uploadExecutor = Executors.newFixedThreadPool(4);
+        presignedUrlCache = new PresignedUrlCache(attachmentStorage, new SimpleMeterRegistry(),
+                Duration.ofMinutes(10), Duration.ofMinutes(2), 100);
+        attachmentService = new AttachmentService(attachmentRepository, ticketRepository, attachmentStorage,
+                ticketService, uploadExecutor, presignedUrlCache);
+
         now = LocalDateTime.now();
 
         // Setup test ticket
@@ -76,6 +101,19 @@ public class AttachmentServiceTest {
         testAttachment.setUploadedAt(now);
     }
 
+    @AfterEach
+    void tearDown() {
+        uploadExecutor.shutdownNow();
+    }
+
+    private MultipartFile file(String name) {
+        MultipartFile file = mock(MultipartFile.class);
+        lenient().when(file.getOriginalFilename()).thenReturn(name);
+        lenient().when(file.getContentType()).thenReturn("application/pdf");
+        lenient().when(file.getSize()).thenReturn(1024L);
+        return file;
+    }
+
     // ==================== UPLOAD ATTACHMENT TESTS ====================
 
     @Test
@@ -85,10 +123,10 @@ public class AttachmentServiceTest {
         when(mockFile.getOriginalFilename()).thenReturn("test-file.pdf");
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getSize()).thenReturn(1024L);
-        when(s3StorageService.uploadFile(eq(ticketId), any(MultipartFile.class)))
+        when(attachmentStorage.uploadFile(eq(ticketId), any(MultipartFile.class)))
                 .thenReturn("tickets/TKT-001/test-file.pdf");
         when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
-        when(s3StorageService.generatePresignedUrl(anyString()))
+        when(attachmentStorage.generatePresignedUrl(anyString()))
                 .thenReturn("https://presigned-url.com/test-file.pdf");
 
         // Act
@@ -100,10 +138,10 @@ public class AttachmentServiceTest {
         assertEquals("application/pdf", result.fileType());
         assertEquals(1024L, result.fileSize());
         verify(ticketRepository, times(1)).findById(ticketId);
-        verify(s3StorageService, times(1)).uploadFile(eq(ticketId), any(MultipartFile.class));
+        verify(attachmentStorage, times(1)).uploadFile(eq(ticketId), any(MultipartFile.class));
         verify(attachmentRepository, times(1)).save(any(Attachment.class));
         verify(ticketService, times(1)).incrementAttachmentCount(ticketId);
-        verify(s3StorageService, times(1)).generatePresignedUrl(anyString());
+        verify(attachmentStorage, times(1)).generatePresignedUrl(anyString());
     }
 
     @Test
@@ -114,7 +152,7 @@ public class AttachmentServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> 
             attachmentService.uploadAttachment(ticketId, mockFile, userId, username));
-        verify(s3StorageService, never()).uploadFile(anyString(), any(MultipartFile.class));
+        verify(attachmentStorage, never()).uploadFile(anyString(), any(MultipartFile.class));
         verify(attachmentRepository, never()).save(any(Attachment.class));
     }
 
@@ -125,10 +163,10 @@ public class AttachmentServiceTest {
         when(mockFile.getOriginalFilename()).thenReturn("document.docx");
         when(mockFile.getContentType()).thenReturn("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
         when(mockFile.getSize()).thenReturn(2048L);
-        when(s3StorageService.uploadFile(eq(ticketId), any(MultipartFile.class)))
+        when(attachmentStorage.uploadFile(eq(ticketId), any(MultipartFile.class)))
                 .thenReturn("tickets/TKT-001/document.docx");
         when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
-        when(s3StorageService.generatePresignedUrl(anyString())).thenReturn("https://presigned-url.com");
+        when(attachmentStorage.generatePresignedUrl(anyString())).thenReturn("https://presigned-url.com");
 
         ArgumentCaptor<Attachment> attachmentCaptor = ArgumentCaptor.forClass(Attachment.class);
 
@@ -156,10 +194,10 @@ public class AttachmentServiceTest {
         when(mockFile.getOriginalFilename()).thenReturn("test.txt");
         when(mockFile.getContentType()).thenReturn("text/plain");
         when(mockFile.getSize()).thenReturn(512L);
-        when(s3StorageService.uploadFile(anyString(), any(MultipartFile.class)))
+        when(attachmentStorage.uploadFile(anyString(), any(MultipartFile.class)))
                 .thenReturn("tickets/TKT-001/test.txt");
         when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
-        when(s3StorageService.generatePresignedUrl(anyString())).thenReturn("https://url.com");
+        when(attachmentStorage.generatePresignedUrl(anyString())).thenReturn("https://url.com");
 
         // Act
         attachmentService.uploadAttachment(ticketId, mockFile, userId, username);
@@ -172,7 +210,7 @@ public class AttachmentServiceTest {
     void testUploadAttachment_S3UploadFails_ThrowsException() throws IOException {
         // Arrange
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(testTicket));
-        when(s3StorageService.uploadFile(eq(ticketId), any(MultipartFile.class)))
+        when(attachmentStorage.uploadFile(eq(ticketId), any(MultipartFile.class)))
                 .thenThrow(new IOException("S3 upload failed"));
 
         // Act & Assert
@@ -213,7 +251,7 @@ public class AttachmentServiceTest {
         List<Attachment> attachments = List.of(attachment1, attachment2);
         when(attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId))
                 .thenReturn(attachments);
-        when(s3StorageService.generatePresignedUrl(anyString()))
+        when(attachmentStorage.generatePresignedUrl(anyString()))
                 .thenReturn("https://presigned-url.com");
 
         // Act
@@ -225,7 +263,7 @@ public class AttachmentServiceTest {
         assertEquals("file1.pdf", result.get(0).fileName());
         assertEquals("file2.jpg", result.get(1).fileName());
         verify(attachmentRepository, times(1)).findByTicketIdOrderByUploadedAtDesc(ticketId);
-        verify(s3StorageService, times(2)).generatePresignedUrl(anyString());
+        verify(attachmentStorage, times(2)).generatePresignedUrl(anyString());
     }
 
     @Test
@@ -241,7 +279,7 @@ public class AttachmentServiceTest {
         assertNotNull(result);
         assertEquals(0, result.size());
         verify(attachmentRepository, times(1)).findByTicketIdOrderByUploadedAtDesc(ticketId);
-        verify(s3StorageService, never()).generatePresignedUrl(anyString());
+        verify(attachmentStorage, never()).generatePresignedUrl(anyString());
     }
 
     @Test
@@ -250,7 +288,7 @@ public class AttachmentServiceTest {
         List<Attachment> attachments = List.of(testAttachment);
         when(attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId))
                 .thenReturn(attachments);
-        when(s3StorageService.generatePresignedUrl("tickets/TKT-001/test-file.pdf"))
+        when(attachmentStorage.generatePresignedUrl("tickets/TKT-001/test-file.pdf"))
                 .thenReturn("https://fresh-presigned-url.com/test-file.pdf");
 
         // Act
@@ -260,7 +298,7 @@ public class AttachmentServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("https://fresh-presigned-url.com/test-file.pdf", result.get(0).downloadUrl());
-        verify(s3StorageService, times(1)).generatePresignedUrl("tickets/TKT-001/test-file.pdf");
+        verify(attachmentStorage, times(1)).generatePresignedUrl("tickets/TKT-001/test-file.pdf");
     }
 
     @Test
@@ -284,7 +322,7 @@ public class AttachmentServiceTest {
         List<Attachment> attachments = List.of(newAttachment, oldAttachment);
         when(attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId))
                 .thenReturn(attachments);
-        when(s3StorageService.generatePresignedUrl(anyString()))
+        when(attachmentStorage.generatePresignedUrl(anyString()))
                 .thenReturn("https://presigned-url.com");
 
         // Act
@@ -308,7 +346,7 @@ public class AttachmentServiceTest {
 
         // Assert
         verify(attachmentRepository, times(1)).findById("ATT-001");
-        verify(s3StorageService, times(1)).deleteFile("tickets/TKT-001/test-file.pdf");
+        verify(attachmentStorage, times(1)).deleteFile("tickets/TKT-001/test-file.pdf");
         verify(attachmentRepository, times(1)).deleteById("ATT-001");
     }
 
@@ -320,7 +358,7 @@ public class AttachmentServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> 
             attachmentService.deleteAttachment("INVALID"));
-        verify(s3StorageService, never()).deleteFile(anyString());
+        verify(attachmentStorage, never()).deleteFile(anyString());
         verify(attachmentRepository, never()).deleteById(anyString());
     }
 
@@ -333,8 +371,8 @@ public class AttachmentServiceTest {
         attachmentService.deleteAttachment("ATT-001");
 
         // Assert - Verify order: S3 delete happens before DB delete
-        var inOrder = inOrder(s3StorageService, attachmentRepository);
-        inOrder.verify(s3StorageService).deleteFile("tickets/TKT-001/test-file.pdf");
+        var inOrder = inOrder(attachmentStorage, attachmentRepository);
+        inOrder.verify(attachmentStorage).deleteFile("tickets/TKT-001/test-file.pdf");
         inOrder.verify(attachmentRepository).deleteById("ATT-001");
     }
 
@@ -343,7 +381,7 @@ public class AttachmentServiceTest {
         // Arrange
         when(attachmentRepository.findById("ATT-001")).thenReturn(Optional.of(testAttachment));
         doThrow(new RuntimeException("S3 delete failed"))
-                .when(s3StorageService).deleteFile(anyString());
+                .when(attachmentStorage).deleteFile(anyString());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> 
@@ -358,7 +396,7 @@ public class AttachmentServiceTest {
         // Arrange
         when(attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId))
                 .thenReturn(List.of(testAttachment));
-        when(s3StorageService.generatePresignedUrl(anyString()))
+        when(attachmentStorage.generatePresignedUrl(anyString()))
                 .thenReturn("https://presigned-url.com");
 
         // Act
@@ -388,17 +426,17 @@ public class AttachmentServiceTest {
         when(mockFile.getOriginalFilename()).thenReturn("large-file.zip");
         when(mockFile.getContentType()).thenReturn("application/zip");
         when(mockFile.getSize()).thenReturn(largeFileSize);
-        when(s3StorageService.uploadFile(eq(ticketId), any(MultipartFile.class)))
+        when(attachmentStorage.uploadFile(eq(ticketId), any(MultipartFile.class)))
                 .thenReturn("tickets/TKT-001/large-file.zip");
         when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
-        when(s3StorageService.generatePresignedUrl(anyString())).thenReturn("https://url.com");
+        when(attachmentStorage.generatePresignedUrl(anyString())).thenReturn("https://url.com");
 
         // Act
         AttachmentDTO result = attachmentService.uploadAttachment(ticketId, mockFile, userId, username);
 
         // Assert
         assertNotNull(result);
-        verify(s3StorageService, times(1)).uploadFile(eq(ticketId), any(MultipartFile.class));
+        verify(attachmentStorage, times(1)).uploadFile(eq(ticketId), any(MultipartFile.class));
     }
 
     @Test
@@ -409,10 +447,10 @@ public class AttachmentServiceTest {
         when(mockFile.getOriginalFilename()).thenReturn(specialFileName);
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getSize()).thenReturn(1024L);
-        when(s3StorageService.uploadFile(eq(ticketId), any(MultipartFile.class)))
+        when(attachmentStorage.uploadFile(eq(ticketId), any(MultipartFile.class)))
                 .thenReturn("tickets/TKT-001/" + specialFileName);
         when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
-        when(s3StorageService.generatePresignedUrl(anyString())).thenReturn("https://url.com");
+        when(attachmentStorage.generatePresignedUrl(anyString())).thenReturn("https://url.com");
 
         // Act
         AttachmentDTO result = attachmentService.uploadAttachment(ticketId, mockFile, userId, username);
@@ -449,7 +487,7 @@ public class AttachmentServiceTest {
         List<Attachment> attachments = List.of(pdfAttachment, imageAttachment, textAttachment);
         when(attachmentRepository.findByTicketIdOrderByUploadedAtDesc(ticketId))
                 .thenReturn(attachments);
-        when(s3StorageService.generatePresignedUrl(anyString()))
+        when(attachmentStorage.generatePresignedUrl(anyString()))
                 .thenReturn("https://presigned-url.com");
 
         // Act
@@ -461,4 +499,360 @@ public class AttachmentServiceTest {
         assertEquals("image/png", result.get(1).fileType());
         assertEquals("text/plain", result.get(2).fileType());
     }
+
+    // ==================== BATCH UPLOAD TESTS ====================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUploadAttachments_UploadsInParallel_InsertsOnce() throws Exception {
+        // Arrange
+        MultipartFile first = file("a.pdf");
+        MultipartFile second = file("b.pdf");
+        MultipartFile third = file("c.pdf");
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.uploadFile(eq(ticketId), any(MultipartFile.class))).thenAnswer(invocation -> {
+            allStarted.countDown();
+            // Only completes if all three uploads are in flight at the same time
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            return "tickets/" + ((MultipartFile) invocation.getArgument(1)).getOriginalFilename();
+        });
+        when(attachmentRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(attachmentStorage.generatePresignedUrl(anyString())).thenReturn("https://presigned-url.com");
+
+        // Act
+        List<AttachmentDTO> result = attachmentService.uploadAttachments(ticketId, List.of(first, second, third),
+                userId, username);
+
+        // Assert
+        assertEquals(List.of("a.pdf", "b.pdf", "c.pdf"), result.stream().map(AttachmentDTO::fileName).toList());
+        ArgumentCaptor<List<Attachment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(attachmentRepository, times(1)).insert(captor.capture());
+        assertEquals(List.of("tickets/a.pdf", "tickets/b.pdf", "tickets/c.pdf"),
+                captor.getValue().stream().map(Attachment::getS3Key).toList());
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+        verify(ticketService, times(1)).incrementAttachmentCount(ticketId, 3);
+        verify(ticketRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testUploadAttachments_OneUploadFails_RemovesUploadedFiles() throws Exception {
+        // Arrange
+        MultipartFile good = file("good.pdf");
+        MultipartFile bad = file("bad.pdf");
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.uploadFile(ticketId, good)).thenReturn("tickets/good.pdf");
+        when(attachmentStorage.uploadFile(ticketId, bad)).thenThrow(new IOException("connection reset"));
+
+        // Act
+        AttachmentService.AttachmentUploadException exception = assertThrows(
+                AttachmentService.AttachmentUploadException.class,
+                () -> attachmentService.uploadAttachments(ticketId, List.of(good, bad), userId, username));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("bad.pdf"));
+        verify(attachmentStorage).deleteFile("tickets/good.pdf");
+        verify(attachmentRepository, never()).insert(anyList());
+        verify(ticketService, never()).incrementAttachmentCount(anyString(), anyInt());
+    }
+
+    @Test
+    void testUploadAttachments_InsertFails_RemovesUploadedFiles() throws Exception {
+        // Arrange
+        MultipartFile first = file("a.pdf");
+        MultipartFile second = file("b.pdf");
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.uploadFile(ticketId, first)).thenReturn("tickets/a.pdf");
+        when(attachmentStorage.uploadFile(ticketId, second)).thenReturn("tickets/b.pdf");
+        when(attachmentRepository.insert(anyList())).thenThrow(new RuntimeException("write failed"));
+
+        // Act & Assert
+        assertThrows(AttachmentService.AttachmentUploadException.class,
+                () -> attachmentService.uploadAttachments(ticketId, List.of(first, second), userId, username));
+        verify(attachmentStorage).deleteFile("tickets/a.pdf");
+        verify(attachmentStorage).deleteFile("tickets/b.pdf");
+        verify(ticketService, never()).incrementAttachmentCount(anyString(), anyInt());
+    }
+
+    @Test
+    void testUploadAttachments_CountUpdateFails_RemovesRecordsAndFiles() throws Exception {
+        // Arrange - an in-memory collection, so the test sees which records are left behind
+        Map<String, Attachment> stored = new HashMap<>();
+        MultipartFile first = file("a.pdf");
+        MultipartFile second = file("b.pdf");
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.uploadFile(ticketId, first)).thenReturn("tickets/a.pdf");
+        when(attachmentStorage.uploadFile(ticketId, second)).thenReturn("tickets/b.pdf");
+        when(attachmentRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<Attachment> attachments = invocation.getArgument(0);
+            attachments.forEach(attachment -> {
+                attachment.setAttachmentId("ATT-" + attachment.getS3Key());
+                stored.put(attachment.getAttachmentId(), attachment);
+            });
+            return attachments;
+        });
+        doAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            ids.forEach(stored::remove);
+            return null;
+        }).when(attachmentRepository).deleteAllById(anyIterable());
+        doThrow(new RuntimeException("Ticket not found")).when(ticketService).incrementAttachmentCount(ticketId, 2);
+
+        // Act
+        AttachmentService.AttachmentUploadException exception = assertThrows(
+                AttachmentService.AttachmentUploadException.class,
+                () -> attachmentService.uploadAttachments(ticketId, List.of(first, second), userId, username));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Ticket not found"));
+        assertTrue(stored.isEmpty());
+        verify(attachmentStorage).deleteFile("tickets/a.pdf");
+        verify(attachmentStorage).deleteFile("tickets/b.pdf");
+    }
+
+    @Test
+    void testUploadAttachments_InvalidFile_NothingUploaded() throws Exception {
+        // Arrange
+        MultipartFile good = file("good.pdf");
+        MultipartFile bad = file("bad.exe");
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        doThrow(new RuntimeException("File type not allowed")).when(attachmentStorage).validateFile(bad);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class,
+                () -> attachmentService.uploadAttachments(ticketId, List.of(good, bad), userId, username));
+        verify(attachmentStorage, never()).uploadFile(anyString(), any(MultipartFile.class));
+    }
+
+    @Test
+    void testUploadAttachments_InvalidTicket_ThrowsException() throws Exception {
+        // Arrange
+        MultipartFile first = file("a.pdf");
+        when(ticketRepository.existsById(ticketId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class,
+                () -> attachmentService.uploadAttachments(ticketId, List.of(first), userId, username));
+        verify(attachmentStorage, never()).uploadFile(anyString(), any(MultipartFile.class));
+    }
+
+    @Test
+    void testUploadAttachments_OnlyEmptyFiles_ReturnsEmptyList() {
+        // Arrange
+        when(mockFile.isEmpty()).thenReturn(true);
+
+        // Act
+        List<AttachmentDTO> result = attachmentService.uploadAttachments(ticketId, List.of(mockFile), userId, username);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(ticketRepository, attachmentStorage, attachmentRepository, ticketService);
+    }
+
+    // ==================== DIRECT UPLOAD TESTS ====================
+
+    @Test
+    void testCreateUploadSlot_DelegatesToStorage() {
+        // Arrange
+        AttachmentUploadSlotDTO slot = new AttachmentUploadSlotDTO("tickets/TKT-001/abc.pdf", "https://put-url",
+                Map.of(), Instant.now());
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        DirectUploadStorage directUploads = mock(DirectUploadStorage.class);
+        when(attachmentStorage.directUploads()).thenReturn(Optional.of(directUploads));
+        when(directUploads.createUploadSlot(ticketId, "report.pdf", "application/pdf", 2048L)).thenReturn(slot);
+
+        // Act
+        AttachmentUploadSlotDTO result = attachmentService.createUploadSlot(ticketId,
+                new AttachmentUploadSlotRequest("report.pdf", "application/pdf", 2048L));
+
+        // Assert
+        assertSame(slot, result);
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void testCreateUploadSlot_InvalidTicket_ThrowsException() {
+        // Arrange
+        when(ticketRepository.existsById(ticketId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.createUploadSlot(ticketId,
+                new AttachmentUploadSlotRequest("report.pdf", "application/pdf", 2048L)));
+        verifyNoInteractions(attachmentStorage);
+    }
+
+    @Test
+    void testCreateUploadSlot_StorageWithoutDirectUploads_ThrowsException() {
+        // Arrange
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.directUploads()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> attachmentService.createUploadSlot(ticketId,
+                new AttachmentUploadSlotRequest("report.pdf", "application/pdf", 2048L)));
+        assertEquals("Direct uploads are not supported by the attachment storage", exception.getMessage());
+    }
+
+    @Test
+    void testConfirmUpload_RecordsAttachmentFromHead() throws IOException {
+        // Arrange
+        String s3Key = "tickets/TKT-001/abc.pdf";
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.isTicketObjectKey(ticketId, s3Key)).thenReturn(true);
+        when(attachmentRepository.existsByS3Key(s3Key)).thenReturn(false);
+        when(attachmentStorage.headObject(s3Key))
+                .thenReturn(Optional.of(new AttachmentStorage.StoredObject(4096L, "application/pdf")));
+        when(attachmentRepository.insert(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(attachmentStorage.generatePresignedUrl(s3Key)).thenReturn("https://presigned-url.com");
+        ArgumentCaptor<Attachment> captor = ArgumentCaptor.forClass(Attachment.class);
+
+        // Act
+        AttachmentDTO result = attachmentService.confirmUpload(ticketId,
+                new ConfirmAttachmentUploadRequest(s3Key, "report.pdf"), userId, username);
+
+        // Assert
+        verify(attachmentRepository).insert(captor.capture());
+        assertEquals(s3Key, captor.getValue().getUploadSlot());
+        assertEquals(4096L, captor.getValue().getFileSize());
+        assertEquals("application/pdf", captor.getValue().getFileType());
+        assertEquals(s3Key, captor.getValue().getS3Key());
+        assertEquals("report.pdf", result.fileName());
+        assertEquals("https://presigned-url.com", result.downloadUrl());
+        verify(ticketService).incrementAttachmentCount(ticketId);
+        verify(attachmentStorage, never()).uploadFile(anyString(), any(MultipartFile.class));
+    }
+
+    @Test
+    void testConfirmUpload_ConfirmedConcurrently_AlreadyConfirmed() {
+        // Arrange - both confirms passed the existsByS3Key check; the other one inserted first
+        String s3Key = "tickets/TKT-001/abc.pdf";
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.isTicketObjectKey(ticketId, s3Key)).thenReturn(true);
+        when(attachmentRepository.existsByS3Key(s3Key)).thenReturn(false);
+        when(attachmentStorage.headObject(s3Key))
+                .thenReturn(Optional.of(new AttachmentStorage.StoredObject(4096L, "application/pdf")));
+        when(attachmentRepository.insert(any(Attachment.class))).thenThrow(new DuplicateKeyException("upload_slot"));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> attachmentService.confirmUpload(
+                ticketId, new ConfirmAttachmentUploadRequest(s3Key, "report.pdf"), userId, username));
+        assertEquals("Upload already confirmed", exception.getMessage());
+        verify(ticketService, never()).incrementAttachmentCount(anyString());
+        verify(attachmentStorage, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void testConfirmUpload_ObjectMissing_ThrowsException() {
+        // Arrange
+        String s3Key = "tickets/TKT-001/abc.pdf";
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.isTicketObjectKey(ticketId, s3Key)).thenReturn(true);
+        when(attachmentRepository.existsByS3Key(s3Key)).thenReturn(false);
+        when(attachmentStorage.headObject(s3Key)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> attachmentService.confirmUpload(
+                ticketId, new ConfirmAttachmentUploadRequest(s3Key, "report.pdf"), userId, username));
+        assertEquals("Uploaded file not found", exception.getMessage());
+        verify(attachmentRepository, never()).insert(any(Attachment.class));
+    }
+
+    @Test
+    void testConfirmUpload_InvalidObject_DeletesIt() {
+        // Arrange
+        String s3Key = "tickets/TKT-001/abc.pdf";
+        AttachmentStorage.StoredObject storedObject = new AttachmentStorage.StoredObject(4096L, "application/zip");
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.isTicketObjectKey(ticketId, s3Key)).thenReturn(true);
+        when(attachmentRepository.existsByS3Key(s3Key)).thenReturn(false);
+        when(attachmentStorage.headObject(s3Key)).thenReturn(Optional.of(storedObject));
+        doThrow(new RuntimeException("File type not allowed")).when(attachmentStorage).validateDirectUpload(storedObject);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.confirmUpload(
+                ticketId, new ConfirmAttachmentUploadRequest(s3Key, "report.pdf"), userId, username));
+        verify(attachmentStorage).deleteFile(s3Key);
+        verify(attachmentRepository, never()).insert(any(Attachment.class));
+    }
+
+    @Test
+    void testConfirmUpload_KeyOfOtherTicket_ThrowsException() {
+        // Arrange
+        String s3Key = "tickets/TKT-999/abc.pdf";
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.isTicketObjectKey(ticketId, s3Key)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.confirmUpload(
+                ticketId, new ConfirmAttachmentUploadRequest(s3Key, "report.pdf"), userId, username));
+        verify(attachmentStorage, never()).headObject(anyString());
+    }
+
+    @Test
+    void testConfirmUpload_AlreadyConfirmed_ThrowsException() {
+        // Arrange
+        String s3Key = "tickets/TKT-001/abc.pdf";
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(attachmentStorage.isTicketObjectKey(ticketId, s3Key)).thenReturn(true);
+        when(attachmentRepository.existsByS3Key(s3Key)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.confirmUpload(
+                ticketId, new ConfirmAttachmentUploadRequest(s3Key, "report.pdf"), userId, username));
+        verify(ticketService, never()).incrementAttachmentCount(anyString());
+    }
+
+    // ==================== DOWNLOAD TESTS ====================
+
+    @Test
+    void testGetAttachmentContent_ReturnsStoredResource() {
+        // Arrange
+        String key = "tickets/TKT-001/abc.pdf";
+        testAttachment.setS3Key(key);
+        Resource resource = new ByteArrayResource(new byte[] {1, 2, 3});
+        when(attachmentStorage.isTicketObjectKey(ticketId, key)).thenReturn(true);
+        when(attachmentRepository.findFirstByS3Key(key)).thenReturn(Optional.of(testAttachment));
+        ServedResourceStorage servedResources = mock(ServedResourceStorage.class);
+        when(attachmentStorage.servedResources()).thenReturn(Optional.of(servedResources));
+        when(servedResources.loadAsResource(key)).thenReturn(resource);
+
+        // Act
+        AttachmentService.AttachmentContent content = attachmentService.getAttachmentContent(ticketId, "abc.pdf");
+
+        // Assert
+        assertSame(resource, content.resource());
+        assertEquals("application/pdf", content.contentType());
+        assertEquals("test-file.pdf", content.fileName());
+    }
+
+    @Test
+    void testGetAttachmentContent_UnknownFile_ThrowsException() {
+        // Arrange
+        when(attachmentStorage.isTicketObjectKey(ticketId, "tickets/TKT-001/abc.pdf")).thenReturn(true);
+        ServedResourceStorage servedResources = mock(ServedResourceStorage.class);
+        when(attachmentStorage.servedResources()).thenReturn(Optional.of(servedResources));
+        when(attachmentRepository.findFirstByS3Key("tickets/TKT-001/abc.pdf")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.getAttachmentContent(ticketId, "abc.pdf"));
+        verify(servedResources, never()).loadAsResource(anyString());
+    }
+
+    @Test
+    void testGetAttachmentContent_StorageWithoutServedResources_ThrowsException() {
+        // Arrange
+        when(attachmentStorage.isTicketObjectKey(ticketId, "tickets/TKT-001/abc.pdf")).thenReturn(true);
+        when(attachmentStorage.servedResources()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.getAttachmentContent(ticketId, "abc.pdf"));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void testGetBlobContent_InvalidHash_ThrowsException() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> attachmentService.getBlobContent("../../etc", "passwd"));
+        verifyNoInteractions(attachmentRepository, attachmentStorage);
+    }
 }
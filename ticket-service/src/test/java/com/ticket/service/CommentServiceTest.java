@@ -1,13 +1,17 @@
 package com.ticket.service;
 
 import com.ticket.dto.CommentDTO;
+import com.ticket.dto.CommentThreadSummaryDTO;
 import com.ticket.dto.CreateCommentRequest;
+import com.ticket.dto.CursorPage;
 import com.ticket.entity.Comment;
 import com.ticket.entity.Ticket;
 import com.ticket.event.CommentAddedEvent;
 import com.ticket.repository.CommentRepository;
 import com.ticket.repository.TicketRepository;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +19,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +57,9 @@ class CommentServiceTest {
     @Mock
     private EventPublisherService eventPublisher;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     private Ticket testTicket;
     private Comment testComment;
     private LocalDateTime now;
@@ -304,6 +322,123 @@ class CommentServiceTest {
         assertEquals("First comment", result.get(2).commentText());
     }
 
+    // ==================== CURSOR PAGINATION TESTS ====================
+
+    private Comment comment(String commentId, LocalDateTime createdAt) {
+        Comment comment = new Comment();
+        comment.setCommentId(commentId);
+        comment.setTicketId(ticketId);
+        comment.setCommentText("Comment " + commentId);
+        comment.setCreatedAt(createdAt);
+        return comment;
+    }
+
+    @Test
+    void testGetCommentsByTicketBefore_LatestPage_ReadsOneExtraForHasNext() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(Comment.class))).thenReturn(new ArrayList<>(List.of(
+                comment("CMT-003", now), comment("CMT-002", now.minusMinutes(1)), comment("CMT-001", now.minusMinutes(2)))));
+
+        // Act
+        CursorPage<CommentDTO> page = commentService.getCommentsByTicketBefore(ticketId, false, "", 2);
+
+        // Assert
+        assertEquals(List.of("CMT-003", "CMT-002"), page.content().stream().map(CommentDTO::commentId).toList());
+        assertTrue(page.hasNext());
+        assertEquals(new TicketCursor(now.minusMinutes(1), "CMT-002"), TicketCursor.decode(page.nextCursor()));
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(Comment.class));
+        Query query = captor.getValue();
+        assertEquals(3, query.getLimit());
+        assertEquals(false, query.getQueryObject().get("isInternal"));
+        assertEquals(new Document("createdAt", -1).append("_id", -1), query.getSortObject());
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void testGetCommentsByTicketBefore_WithCursor_IncludeInternal_LastPage() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(Comment.class)))
+                .thenReturn(new ArrayList<>(List.of(comment("CMT-001", now.minusMinutes(2)))));
+        String before = new TicketCursor(now.minusMinutes(1), "CMT-002").encode();
+
+        // Act
+        CursorPage<CommentDTO> page = commentService.getCommentsByTicketBefore(ticketId, true, before, 2);
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(Comment.class));
+        Document filter = captor.getValue().getQueryObject();
+        assertFalse(filter.containsKey("isInternal"));
+        assertTrue(filter.containsKey("$or"));
+    }
+
+    @Test
+    void testGetCommentsByTicketBefore_WithInvalidCursor_ThrowsInvalidCursorException() {
+        assertThrows(TicketCursor.InvalidCursorException.class,
+                () -> commentService.getCommentsByTicketBefore(ticketId, false, "not-a-cursor!", 10));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    // ==================== THREAD SUMMARY TESTS ====================
+
+    private void stubSummary(Document facets) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Comment.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+    }
+
+    @Test
+    void testGetThreadSummary_CountAndLatestInOneAggregation() {
+        // Arrange
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        ObjectId latestId = new ObjectId();
+        Date createdAt = Date.from(now.withNano(0).atZone(ZoneId.systemDefault()).toInstant());
+        stubSummary(new Document()
+                .append("total", List.of(new Document("count", 12)))
+                .append("latest", List.of(new Document("_id", latestId)
+                        .append("ticketId", ticketId)
+                        .append("commentText", "Latest")
+                        .append("isInternal", false)
+                        .append("createdAt", createdAt))));
+
+        // Act
+        CommentThreadSummaryDTO summary = commentService.getThreadSummary(ticketId, false, 1);
+
+        // Assert
+        assertEquals(12, summary.totalComments());
+        assertEquals(1, summary.latestComments().size());
+        assertEquals(latestId.toHexString(), summary.latestComments().get(0).commentId());
+        assertEquals("Latest", summary.latestComments().get(0).commentText());
+        assertEquals(new TicketCursor(now.withNano(0), latestId.toHexString()), TicketCursor.decode(summary.nextCursor()));
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(Comment.class), eq(Document.class));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void testGetThreadSummary_NoComments_ZeroAndNoCursor() {
+        // Arrange
+        stubSummary(new Document().append("total", List.of()).append("latest", List.of()));
+
+        // Act
+        CommentThreadSummaryDTO summary = commentService.getThreadSummary(ticketId, true, 5);
+
+        // Assert
+        assertEquals(0, summary.totalComments());
+        assertTrue(summary.latestComments().isEmpty());
+        assertNull(summary.nextCursor());
+    }
+
     // ==================== DTO CONVERSION TESTS ====================
 
     @Test
@@ -0,0 +1,179 @@
+package com.ticket.service;
+
+import com.ticket.entity.AttachmentBlob;
+import com.ticket.repository.AttachmentBlobRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeduplicatingAttachmentStorageTest {
+
+    // SHA-256 of "hello"
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+    private static final String BLOB_KEY = "blobs/" + HELLO_SHA256 + "/first.pdf";
+
+    @Mock
+    private AttachmentStorage backend;
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    private DeduplicatingAttachmentStorage storage;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        storage = new DeduplicatingAttachmentStorage(backend, blobRepository);
+        file = new MockMultipartFile("file", "report.pdf", "application/pdf", "hello".getBytes());
+    }
+
+    private static AttachmentBlob blob(int refCount) {
+        AttachmentBlob blob = new AttachmentBlob(HELLO_SHA256, BLOB_KEY, 5L);
+        blob.setRefCount(refCount);
+        return blob;
+    }
+
+    // ==================== UPLOAD TESTS ====================
+
+    @Test
+    void testUploadFile_NewContent_StoresBlobOnce() throws IOException {
+        // Arrange
+        when(blobRepository.addReference(HELLO_SHA256)).thenReturn(Optional.empty());
+        when(backend.uploadBlob(HELLO_SHA256, file)).thenReturn(BLOB_KEY);
+        ArgumentCaptor<AttachmentBlob> captor = ArgumentCaptor.forClass(AttachmentBlob.class);
+
+        // Act
+        String key = storage.uploadFile("TKT-001", file);
+
+        // Assert
+        assertEquals(BLOB_KEY, key);
+        verify(blobRepository).insert(captor.capture());
+        assertEquals(HELLO_SHA256, captor.getValue().getSha256());
+        assertEquals(1, captor.getValue().getRefCount());
+        verify(backend, never()).uploadFile(anyString(), any());
+    }
+
+    @Test
+    void testUploadFile_KnownContent_OnlyAddsReference() throws IOException {
+        // Arrange
+        when(blobRepository.addReference(HELLO_SHA256)).thenReturn(Optional.of(blob(2)));
+
+        // Act
+        String key = storage.uploadFile("TKT-002", file);
+
+        // Assert
+        assertEquals(BLOB_KEY, key);
+        verify(backend, never()).uploadBlob(anyString(), any());
+        verify(blobRepository, never()).insert(any(AttachmentBlob.class));
+    }
+
+    @Test
+    void testUploadFile_ConcurrentFirstUpload_KeepsWinnerAndDeletesOwnCopy() throws IOException {
+        // Arrange
+        when(blobRepository.addReference(HELLO_SHA256)).thenReturn(Optional.empty(), Optional.of(blob(2)));
+        when(backend.uploadBlob(HELLO_SHA256, file)).thenReturn("blobs/" + HELLO_SHA256 + "/second.pdf");
+        when(blobRepository.insert(any(AttachmentBlob.class))).thenThrow(new DuplicateKeyException("dup"));
+
+        // Act
+        String key = storage.uploadFile("TKT-001", file);
+
+        // Assert
+        assertEquals(BLOB_KEY, key);
+        verify(backend).deleteFile("blobs/" + HELLO_SHA256 + "/second.pdf");
+    }
+
+    @Test
+    void testUploadFile_InvalidFile_NothingStored() throws IOException {
+        // Arrange
+        doThrow(new RuntimeException("File type not allowed")).when(backend).validateFile(file);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> storage.uploadFile("TKT-001", file));
+        verifyNoInteractions(blobRepository);
+        verify(backend, never()).uploadBlob(anyString(), any());
+    }
+
+    // ==================== DELETE TESTS ====================
+
+    @Test
+    void testDeleteFile_StillReferenced_KeepsObject() {
+        // Arrange
+        when(blobRepository.releaseReference(HELLO_SHA256)).thenReturn(Optional.of(blob(1)));
+
+        // Act
+        storage.deleteFile(BLOB_KEY);
+
+        // Assert
+        verify(backend, never()).deleteFile(anyString());
+        verify(blobRepository, never()).deleteIfUnreferenced(anyString());
+    }
+
+    @Test
+    void testDeleteFile_LastReference_DeletesObject() {
+        // Arrange
+        when(blobRepository.releaseReference(HELLO_SHA256)).thenReturn(Optional.of(blob(0)));
+        when(blobRepository.deleteIfUnreferenced(HELLO_SHA256)).thenReturn(true);
+
+        // Act
+        storage.deleteFile(BLOB_KEY);
+
+        // Assert
+        verify(backend).deleteFile(BLOB_KEY);
+    }
+
+    @Test
+    void testDeleteFile_ReferencedAgainBeforeRemoval_KeepsObject() {
+        // Arrange
+        when(blobRepository.releaseReference(HELLO_SHA256)).thenReturn(Optional.of(blob(0)));
+        when(blobRepository.deleteIfUnreferenced(HELLO_SHA256)).thenReturn(false);
+
+        // Act
+        storage.deleteFile(BLOB_KEY);
+
+        // Assert
+        verify(backend, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void testDeleteFile_TicketKey_PassesThrough() {
+        // Act
+        storage.deleteFile("tickets/TKT-001/abc.pdf");
+
+        // Assert
+        verify(backend).deleteFile("tickets/TKT-001/abc.pdf");
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    void testSha256_MatchesKnownDigest() throws IOException {
+        assertEquals(HELLO_SHA256, DeduplicatingAttachmentStorage.sha256(file));
+    }
+
+    // ==================== CAPABILITY TESTS ====================
+
+    @Test
+    void testCapabilities_FollowBackend() {
+        // Arrange
+        ServedResourceStorage servedResources = mock(ServedResourceStorage.class);
+        when(backend.directUploads()).thenReturn(Optional.empty());
+        when(backend.servedResources()).thenReturn(Optional.of(servedResources));
+
+        // Act & Assert
+        assertTrue(storage.directUploads().isEmpty());
+        assertSame(servedResources, storage.servedResources().orElseThrow());
+    }
+}
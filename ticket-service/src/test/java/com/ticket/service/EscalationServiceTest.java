@@ -13,14 +13,19 @@ import com.ticket.enums.TicketStatus;
 import com.ticket.event.TicketEscalatedEvent;
 import com.ticket.repository.TicketRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -46,6 +51,13 @@ class EscalationServiceTest {
     @Mock
     private EventPublisherService eventPublisherService;
 
+    @Mock
+    private TicketCache ticketCache;
+
+    @Spy
+    private TicketUpdateRetrier ticketUpdateRetrier =
+            new TicketUpdateRetrier(new SimpleMeterRegistry(), (PlatformTransactionManager) null, 3, Duration.ZERO, Duration.ZERO);
+
     private Ticket testTicket;
     @Mock
     private AssignmentDTO testAssignment;
@@ -325,6 +337,63 @@ class EscalationServiceTest {
         assertEquals(EscalationType.AUTO_SLA_BREACH, savedTicket.getEscalationType());
     }
 
+    // ==================== CONCURRENT UPDATE TESTS ====================
+
+    @Test
+    void testEscalateTicket_VersionConflict_RetriedOnFreshTicket() {
+        // Arrange
+        Ticket fresh = new Ticket();
+        fresh.setTicketId(ticketId);
+        fresh.setTicketNumber(testTicket.getTicketNumber());
+        fresh.setStatus(TicketStatus.IN_PROGRESS);
+        fresh.setCommentCount(4);
+        when(ticketRepository.findById(ticketId))
+                .thenReturn(Optional.of(testTicket))
+                .thenReturn(Optional.of(fresh));
+        when(assignmentServiceClient.getAssignmentByTicketId(ticketId)).thenReturn(testAssignment);
+        when(userServiceClient.getUserById("manager-001")).thenReturn(testManager);
+        when(ticketRepository.save(any(Ticket.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale version"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Ticket result = escalationService.escalateTicket(
+                ticketId, escalatedBy, escalatedByUsername, escalateRequest, EscalationType.MANUAL);
+
+        // Assert
+        assertSame(fresh, result);
+        assertEquals(TicketStatus.ESCALATED, result.getStatus());
+        assertEquals(4, result.getCommentCount());
+        verify(ticketRepository, times(2)).findById(ticketId);
+        verify(assignmentServiceClient, times(1)).getAssignmentByTicketId(ticketId);
+        verify(userServiceClient, times(1)).getUserById("manager-001");
+        verify(eventPublisherService, times(1)).publishTicketEscalated(any(TicketEscalatedEvent.class));
+    }
+
+    @Test
+    void testEscalateTicket_ConflictsEveryAttempt_GivesUp() {
+        // Arrange
+        when(ticketRepository.findById(ticketId)).thenAnswer(invocation -> Optional.of(copyOf(testTicket)));
+        when(assignmentServiceClient.getAssignmentByTicketId(ticketId)).thenReturn(testAssignment);
+        when(userServiceClient.getUserById("manager-001")).thenReturn(testManager);
+        when(ticketRepository.save(any(Ticket.class))).thenThrow(new OptimisticLockingFailureException("stale version"));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> escalationService.escalateTicket(
+                ticketId, escalatedBy, escalatedByUsername, escalateRequest, EscalationType.MANUAL));
+        verify(ticketRepository, times(3)).save(any(Ticket.class));
+        verify(eventPublisherService, never()).publishTicketEscalated(any(TicketEscalatedEvent.class));
+    }
+
+    private static Ticket copyOf(Ticket ticket) {
+        Ticket copy = new Ticket();
+        copy.setTicketId(ticket.getTicketId());
+        copy.setTicketNumber(ticket.getTicketNumber());
+        copy.setStatus(ticket.getStatus());
+        copy.setAssignedToUserId(ticket.getAssignedToUserId());
+        return copy;
+    }
+
     // ==================== EDGE CASES ====================
 
     @Test
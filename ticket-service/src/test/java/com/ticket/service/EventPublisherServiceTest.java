@@ -1,10 +1,15 @@
 package com.ticket.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.entity.OutboxEvent;
 import com.ticket.event.CommentAddedEvent;
+import com.ticket.event.TicketCacheInvalidatedEvent;
 import com.ticket.event.TicketCreatedEvent;
 import com.ticket.event.TicketEscalatedEvent;
 import com.ticket.event.TicketStatusChangedEvent;
+import com.ticket.repository.OutboxEventRepository;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,10 +17,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.net.ConnectException;
 import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +42,12 @@ class EventPublisherServiceTest {
     @Mock
     private RabbitTemplate rabbitTemplate;
 
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private Executor cacheInvalidationExecutor;
+
     private String ticketExchange = "ticket.exchange";
     private String ticketCreatedRoutingKey = "ticket.created";
     private String ticketStatusChangedRoutingKey = "ticket.status.changed";
@@ -41,6 +59,18 @@ class EventPublisherServiceTest {
         ReflectionTestUtils.setField(eventPublisherService, "ticketCreatedRoutingKey", ticketCreatedRoutingKey);
         ReflectionTestUtils.setField(eventPublisherService, "ticketStatusChangedRoutingKey", ticketStatusChangedRoutingKey);
         ReflectionTestUtils.setField(eventPublisherService, "commentAddedRoutingKey", commentAddedRoutingKey);
+        // Direct publishing; the outbox path has its own tests below
+        ReflectionTestUtils.setField(eventPublisherService, "outboxEnabled", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private void enableOutboxInTransaction() {
+        ReflectionTestUtils.setField(eventPublisherService, "outboxEnabled", true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
     }
 
     // ==================== TICKET CREATED EVENT TESTS ====================
@@ -238,7 +268,7 @@ class EventPublisherServiceTest {
     }
 
     @Test
-    void testPublishTicketEscalated_WithException_DoesNotThrow() {
+    void testPublishTicketEscalated_WithException_ThrowsException() {
         // Arrange
         TicketEscalatedEvent event = new TicketEscalatedEvent();
         event.setTicketId("TKT-001");
@@ -248,8 +278,8 @@ class EventPublisherServiceTest {
                 .when(rabbitTemplate)
                 .convertAndSend(eq("ticket.exchange"), eq("ticket.escalated"), any(TicketEscalatedEvent.class));
 
-        // Act & Assert - Should not throw exception
-        assertDoesNotThrow(() -> eventPublisherService.publishTicketEscalated(event));
+        // Act & Assert - the escalation must not commit without its event
+        assertThrows(RuntimeException.class, () -> eventPublisherService.publishTicketEscalated(event));
         verify(rabbitTemplate, times(1)).convertAndSend(
                 eq("ticket.exchange"),
                 eq("ticket.escalated"),
@@ -373,5 +403,121 @@ class EventPublisherServiceTest {
         assertEquals("HIGH", capturedEvent.getPriority());
         }
 
+    // ==================== OUTBOX TESTS ====================
+
+    @Test
+    void testPublishTicketCreated_OutboxEnabled_WritesOutboxInsteadOfSending() {
+        // Arrange
+        enableOutboxInTransaction();
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter(new ObjectMapper().findAndRegisterModules()));
+        TicketCreatedEvent event = new TicketCreatedEvent(
+                "TKT-001", "TKT-20240101-00001", "Title", "Desc",
+                "OPEN", "BUG", "user1", "testuser", null
+        );
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+
+        // Act
+        eventPublisherService.publishTicketCreated(event);
+
+        // Assert
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        verify(outboxEventRepository).save(outboxCaptor.capture());
+        OutboxEvent outboxEvent = outboxCaptor.getValue();
+        assertEquals(ticketExchange, outboxEvent.getExchange());
+        assertEquals(ticketCreatedRoutingKey, outboxEvent.getRoutingKey());
+        assertEquals("application/json", outboxEvent.getContentType());
+        assertEquals(TicketCreatedEvent.class.getName(), outboxEvent.getHeaders().get("__TypeId__"));
+        assertTrue(new String(outboxEvent.getBody(), StandardCharsets.UTF_8).contains("\"ticketNumber\":\"TKT-20240101-00001\""));
+        assertNotNull(outboxEvent.getAvailableAt());
+    }
+
+    @Test
+    void testPublishTicketEscalated_OutboxEnabled_UsesEscalationRoutingKey() {
+        // Arrange
+        enableOutboxInTransaction();
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter(new ObjectMapper().findAndRegisterModules()));
+        TicketEscalatedEvent event = new TicketEscalatedEvent();
+        event.setTicketId("TKT-001");
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+
+        // Act
+        eventPublisherService.publishTicketEscalated(event);
+
+        // Assert
+        verify(outboxEventRepository).save(outboxCaptor.capture());
+        assertEquals("ticket.exchange", outboxCaptor.getValue().getExchange());
+        assertEquals("ticket.escalated", outboxCaptor.getValue().getRoutingKey());
+    }
+
+    @Test
+    void testPublishTicketEscalated_OutboxWriteFails_ThrowsException() {
+        // Arrange
+        enableOutboxInTransaction();
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter(new ObjectMapper().findAndRegisterModules()));
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenThrow(new RuntimeException("Mongo down"));
+        TicketEscalatedEvent event = new TicketEscalatedEvent();
+        event.setTicketId("TKT-001");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> eventPublisherService.publishTicketEscalated(event));
+    }
+
+    @Test
+    void testPublishTicketCreated_OutboxEnabledOutsideTransaction_ThrowsException() {
+        // Arrange
+        ReflectionTestUtils.setField(eventPublisherService, "outboxEnabled", true);
+        TicketCreatedEvent event = new TicketCreatedEvent(
+                "TKT-001", "TKT-20240101-00001", "Title", "Desc",
+                "OPEN", "BUG", "user1", "testuser", null
+        );
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> eventPublisherService.publishTicketCreated(event));
+        verifyNoInteractions(outboxEventRepository);
+    }
+
+    // ==================== CACHE INVALIDATION TESTS ====================
+
+    @Test
+    void testPublishTicketCacheInvalidated_SentOffTheCallingThread() {
+        // Arrange
+        ReflectionTestUtils.setField(eventPublisherService, "ticketCacheInvalidatedRoutingKey", "ticket.cache.invalidated");
+        TicketCacheInvalidatedEvent event = new TicketCacheInvalidatedEvent("TKT-001", "instance-1");
+
+        // Act
+        eventPublisherService.publishTicketCacheInvalidated(event);
+
+        // Assert - nothing reaches the broker until the executor runs the task
+        verifyNoInteractions(rabbitTemplate);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(cacheInvalidationExecutor).execute(task.capture());
+        task.getValue().run();
+        verify(rabbitTemplate).convertAndSend(ticketExchange, "ticket.cache.invalidated", event);
+    }
+
+    @Test
+    void testPublishTicketCacheInvalidated_QueueFull_Dropped() {
+        // Arrange
+        doThrow(new RejectedExecutionException("queue full")).when(cacheInvalidationExecutor).execute(any(Runnable.class));
 
+        // Act & Assert
+        assertDoesNotThrow(() -> eventPublisherService.publishTicketCacheInvalidated(
+                new TicketCacheInvalidatedEvent("TKT-001", "instance-1")));
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void testPublishTicketCacheInvalidated_BrokerDown_LoggedNotThrown() {
+        // Arrange
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(cacheInvalidationExecutor).execute(any(Runnable.class));
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), any(), any(Object.class));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> eventPublisherService.publishTicketCacheInvalidated(
+                new TicketCacheInvalidatedEvent("TKT-001", "instance-1")));
+    }
 }
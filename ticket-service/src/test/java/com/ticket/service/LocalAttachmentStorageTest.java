@@ -0,0 +1,128 @@
+package com.ticket.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAttachmentStorageTest {
+
+    @TempDir
+    Path rootDir;
+
+    private LocalAttachmentStorage storage;
+    private String ticketId = "TKT-001";
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalAttachmentStorage(rootDir.toString(), "/api");
+    }
+
+    private MockMultipartFile pdf(String content) {
+        return new MockMultipartFile("file", "report.pdf", "application/pdf", content.getBytes());
+    }
+
+    // ==================== UPLOAD TESTS ====================
+
+    @Test
+    void testUploadFile_StoresUnderTicketDirectory() throws IOException {
+        // Act
+        String key = storage.uploadFile(ticketId, pdf("hello"));
+
+        // Assert
+        assertTrue(key.startsWith("tickets/TKT-001/"));
+        assertTrue(key.endsWith(".pdf"));
+        Path stored = rootDir.resolve(key);
+        assertEquals(rootDir.resolve("tickets").resolve(ticketId), stored.getParent());
+        assertEquals("hello", Files.readString(stored));
+    }
+
+    @Test
+    void testUploadFile_DisallowedType_ThrowsException() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "tool.exe", "application/x-msdownload", new byte[10]);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> storage.uploadFile(ticketId, file));
+        assertTrue(exception.getMessage().contains("File type not allowed"));
+    }
+
+    // ==================== READ TESTS ====================
+
+    @Test
+    void testHeadObject_ReportsSizeAndType() throws IOException {
+        // Arrange
+        String key = storage.uploadFile(ticketId, pdf("hello"));
+
+        // Act
+        Optional<AttachmentStorage.StoredObject> result = storage.headObject(key);
+
+        // Assert
+        assertEquals(Optional.of(new AttachmentStorage.StoredObject(5, "application/pdf")), result);
+        assertTrue(storage.headObject("tickets/TKT-001/missing.pdf").isEmpty());
+    }
+
+    @Test
+    void testLoadAsResource_ReturnsFileResource() throws IOException {
+        // Arrange
+        String key = storage.uploadFile(ticketId, pdf("hello"));
+
+        // Act
+        Resource resource = storage.loadAsResource(key);
+
+        // Assert
+        assertTrue(resource.isFile());
+        assertEquals(rootDir.resolve(key), resource.getFile().toPath());
+    }
+
+    @Test
+    void testLoadAsResource_KeyEscapingRoot_ThrowsException() {
+        assertThrows(RuntimeException.class, () -> storage.loadAsResource("tickets/TKT-001/../../../etc/passwd"));
+    }
+
+    @Test
+    void testGeneratePresignedUrl_PointsAtDownloadEndpoint() {
+        assertEquals("/api/tickets/TKT-001/attachments/files/abc.pdf",
+                storage.generatePresignedUrl("tickets/TKT-001/abc.pdf"));
+        assertEquals("/api/attachments/blobs/abc123/def.pdf", storage.generatePresignedUrl("blobs/abc123/def.pdf"));
+    }
+
+    @Test
+    void testUploadBlob_StoresUnderHashDirectory() throws IOException {
+        // Act
+        String key = storage.uploadBlob("abc123", pdf("hello"));
+
+        // Assert
+        assertTrue(key.startsWith("blobs/abc123/"));
+        assertEquals("hello", Files.readString(rootDir.resolve(key)));
+    }
+
+    // ==================== DELETE TESTS ====================
+
+    @Test
+    void testDeleteFile_RemovesFile() throws IOException {
+        // Arrange
+        String key = storage.uploadFile(ticketId, pdf("hello"));
+
+        // Act
+        storage.deleteFile(key);
+
+        // Assert
+        assertFalse(Files.exists(rootDir.resolve(key)));
+        assertDoesNotThrow(() -> storage.deleteFile(key));
+    }
+
+    @Test
+    void testCapabilities_ServesResourcesWithoutDirectUploads() {
+        assertTrue(storage.servedResources().isPresent());
+        assertTrue(storage.directUploads().isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.ticket.service;
+
+import com.ticket.entity.OutboxEvent;
+import com.ticket.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Publish throughput against a real broker: one confirmed send at a time, as a request thread
+ * would need for a guaranteed publish, versus relay batches on one channel. Prints rates:
+ *
+ *   mvn -pl ticket-service test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.ticket.service.OutboxRelayBenchmark -Dexec.args="localhost 5000"
+ */
+public class OutboxRelayBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+
+        CachingConnectionFactory connectionFactory = new CachingConnectionFactory(host);
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        byte[] body = "{\"ticketNumber\":\"TKT-20240101-00001\"}".getBytes(StandardCharsets.UTF_8);
+
+        try {
+            // Default exchange with no matching queue: the broker drops the message but still confirms it
+            long start = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                CorrelationData correlation = new CorrelationData(String.valueOf(i));
+                rabbitTemplate.send("", "outbox-benchmark", new Message(body), correlation);
+                correlation.getFuture().get(5, TimeUnit.SECONDS);
+            }
+            long singleNanos = System.nanoTime() - start;
+
+            Iterator<List<OutboxEvent>> batches = IntStream.range(0, events / BATCH_SIZE)
+                    .mapToObj(b -> IntStream.range(0, BATCH_SIZE).mapToObj(i -> {
+                        OutboxEvent event = new OutboxEvent("", "outbox-benchmark", body, "application/json", Map.of());
+                        event.setId(b + "-" + i);
+                        return event;
+                    }).toList())
+                    .iterator();
+            OutboxEventRepository repository = mock(OutboxEventRepository.class);
+            when(repository.claimBatch(anyInt(), any()))
+                    .thenAnswer(invocation -> batches.hasNext() ? batches.next() : List.of());
+            OutboxRelay relay = new OutboxRelay(repository, rabbitTemplate, new SimpleMeterRegistry(), BATCH_SIZE,
+                    Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+            start = System.nanoTime();
+            while (relay.publishBatch() > 0) {
+                // drain
+            }
+            long batchedNanos = System.nanoTime() - start;
+
+            System.out.printf("publish one-by-one: %.0f msg/s, relay batches of %d: %.0f msg/s (%d events)%n",
+                    events * 1e9 / singleNanos, BATCH_SIZE, events * 1e9 / batchedNanos, events);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.ticket.service;
+
+import com.ticket.entity.OutboxEvent;
+import com.ticket.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, rabbitTemplate, meterRegistry, BATCH_SIZE, LEASE,
+                Duration.ofMillis(200), Duration.ofSeconds(1), Duration.ofSeconds(10));
+    }
+
+    private static OutboxEvent outboxEvent(String id, int attempts) {
+        OutboxEvent event = new OutboxEvent("ticket.exchange", "ticket.created",
+                "{}".getBytes(StandardCharsets.UTF_8), "application/json", Map.of("__TypeId__", "com.ticket.event.TicketCreatedEvent"));
+        event.setId(id);
+        event.setAttempts(attempts);
+        return event;
+    }
+
+    private void sendOnOneChannel() {
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate));
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    // ==================== PUBLISH BATCH TESTS ====================
+
+    @Test
+    void testPublishBatch_AllAcked_DeletesEvents() {
+        // Arrange
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE)).thenReturn(List.of(outboxEvent("e1", 0), outboxEvent("e2", 0)));
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        sendOnOneChannel();
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        confirmWith(true);
+        ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+
+        // Act
+        int claimed = outboxRelay.publishBatch();
+
+        // Assert
+        assertEquals(2, claimed);
+        verify(rabbitTemplate, times(1)).invoke(any(RabbitOperations.OperationsCallback.class));
+        verify(rabbitTemplate, times(2)).send(eq("ticket.exchange"), eq("ticket.created"), messageCaptor.capture(), any(CorrelationData.class));
+        Message message = messageCaptor.getAllValues().get(0);
+        assertEquals("application/json", message.getMessageProperties().getContentType());
+        assertEquals("com.ticket.event.TicketCreatedEvent", message.getMessageProperties().getHeader("__TypeId__"));
+        assertEquals("e1", message.getMessageProperties().getMessageId());
+        verify(outboxEventRepository).deleteAllById(List.of("e1", "e2"));
+        verify(outboxEventRepository, never()).release(anyString(), any());
+        assertEquals(2.0, meterRegistry.get("ticket.outbox.published").counter().count());
+    }
+
+    @Test
+    void testPublishBatch_Nacked_ReleasesWithBackoff() {
+        // Arrange
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE)).thenReturn(List.of(outboxEvent("e1", 2)));
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        sendOnOneChannel();
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        confirmWith(false);
+
+        // Act
+        outboxRelay.publishBatch();
+
+        // Assert
+        verify(outboxEventRepository, never()).deleteAllById(any());
+        verify(outboxEventRepository).release("e1", Duration.ofSeconds(4));
+        assertEquals(1.0, meterRegistry.get("ticket.outbox.failed").counter().count());
+    }
+
+    @Test
+    void testPublishBatch_NoConfirm_ReleasesAfterTimeout() {
+        // Arrange
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE)).thenReturn(List.of(outboxEvent("e1", 10)));
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        sendOnOneChannel();
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+
+        // Act
+        outboxRelay.publishBatch();
+
+        // Assert: backoff is capped
+        verify(outboxEventRepository).release("e1", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testPublishBatch_SendFails_OtherEventsStillPublished() {
+        // Arrange
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE)).thenReturn(List.of(outboxEvent("e1", 0), outboxEvent("e2", 0)));
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        sendOnOneChannel();
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+                .doNothing()
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        outboxRelay.publishBatch();
+
+        // Assert
+        verify(outboxEventRepository).deleteAllById(List.of("e2"));
+        verify(outboxEventRepository).release("e1", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testPublishBatch_EmptyOutbox_SendsNothing() {
+        // Arrange
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE)).thenReturn(List.of());
+
+        // Act
+        int claimed = outboxRelay.publishBatch();
+
+        // Assert
+        assertEquals(0, claimed);
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    // ==================== RELAY TESTS ====================
+
+    @Test
+    void testRelay_DrainsFullBatchesAndRecordsLag() {
+        // Arrange
+        OutboxEvent oldest = outboxEvent("e3", 0);
+        oldest.setCreatedAt(Instant.now().minusSeconds(30));
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE))
+                .thenReturn(List.of(outboxEvent("e1", 0), outboxEvent("e2", 0)))
+                .thenReturn(List.of());
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        sendOnOneChannel();
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        when(outboxEventRepository.count()).thenReturn(1L);
+        when(outboxEventRepository.findFirstByOrderByCreatedAtAsc()).thenReturn(Optional.of(oldest));
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(2)).claimBatch(BATCH_SIZE, LEASE);
+        assertEquals(1.0, meterRegistry.get("ticket.outbox.pending").gauge().value());
+        assertTrue(meterRegistry.get("ticket.outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 30);
+    }
+
+    @Test
+    void testRelay_RepositoryFailure_DoesNotThrow() {
+        // Arrange
+        when(outboxEventRepository.claimBatch(BATCH_SIZE, LEASE)).thenThrow(new RuntimeException("Mongo down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> outboxRelay.relay());
+    }
+}
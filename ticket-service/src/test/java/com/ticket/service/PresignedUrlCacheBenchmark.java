@@ -0,0 +1,85 @@
+package com.ticket.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of signing one attachment listing (200 keys) with and without the cache, using the real
+ * SDK presigner; signing is local, no network:
+ *
+ *   mvn -pl ticket-service test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.ticket.service.PresignedUrlCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresignedUrlCacheBenchmark {
+
+    private S3Presigner presigner;
+    private S3StorageService storage;
+    private PresignedUrlCache cache;
+    private List<String> keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        presigner = S3Presigner.builder()
+                .region(Region.AP_SOUTH_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .build();
+        storage = new S3StorageService(null, presigner);
+        ReflectionTestUtils.setField(storage, "bucketName", "benchmark-bucket");
+        cache = new PresignedUrlCache(storage, new SimpleMeterRegistry(),
+                Duration.ofMinutes(10), Duration.ofMinutes(2), 10_000);
+        keys = IntStream.range(0, 200).mapToObj(i -> "tickets/T1/" + i + ".pdf").toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        presigner.close();
+    }
+
+    @Benchmark
+    public void listingUncached(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(storage.generatePresignedUrl(key));
+        }
+    }
+
+    @Benchmark
+    public void listingCached(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(cache.get(key));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PresignedUrlCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ticket.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresignedUrlCacheTest {
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private PresignedUrlCache presignedUrlCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        presignedUrlCache = new PresignedUrlCache(attachmentStorage, meterRegistry,
+                Duration.ofMinutes(10), Duration.ofMinutes(2), 100, nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    // ==================== CACHE TESTS ====================
+
+    @Test
+    void testGet_SameKey_SignsOnce() {
+        // Arrange
+        when(attachmentStorage.generatePresignedUrl("tickets/T1/a.pdf")).thenReturn("https://signed/a");
+
+        // Act
+        String first = presignedUrlCache.get("tickets/T1/a.pdf");
+        String second = presignedUrlCache.get("tickets/T1/a.pdf");
+
+        // Assert
+        assertEquals("https://signed/a", first);
+        assertEquals(first, second);
+        verify(attachmentStorage, times(1)).generatePresignedUrl("tickets/T1/a.pdf");
+    }
+
+    @Test
+    void testGet_InsideSafetyMargin_SignsAgain() {
+        // Arrange
+        when(attachmentStorage.generatePresignedUrl("key")).thenReturn("https://signed/1", "https://signed/2");
+
+        // Act
+        presignedUrlCache.get("key");
+        advance(Duration.ofMinutes(7).plusSeconds(59));
+        String beforeMargin = presignedUrlCache.get("key");
+        advance(Duration.ofSeconds(1));
+        String insideMargin = presignedUrlCache.get("key");
+
+        // Assert
+        assertEquals("https://signed/1", beforeMargin);
+        assertEquals("https://signed/2", insideMargin);
+        verify(attachmentStorage, times(2)).generatePresignedUrl("key");
+    }
+
+    @Test
+    void testEvict_NextGetSignsAgain() {
+        // Arrange
+        when(attachmentStorage.generatePresignedUrl("key")).thenReturn("https://signed/1", "https://signed/2");
+        presignedUrlCache.get("key");
+
+        // Act
+        presignedUrlCache.evict("key");
+
+        // Assert
+        assertEquals("https://signed/2", presignedUrlCache.get("key"));
+    }
+
+    @Test
+    void testMarginAsLongAsExpiry_DisablesCaching() {
+        // Arrange
+        PresignedUrlCache uncached = new PresignedUrlCache(attachmentStorage, meterRegistry,
+                Duration.ofMinutes(1), Duration.ofMinutes(2), 100, nanos::get);
+        when(attachmentStorage.generatePresignedUrl("key")).thenReturn("https://signed/1");
+
+        // Act
+        uncached.get("key");
+        uncached.get("key");
+
+        // Assert
+        verify(attachmentStorage, times(2)).generatePresignedUrl("key");
+    }
+
+    @Test
+    void testMetrics_AreRegistered() {
+        // Arrange
+        when(attachmentStorage.generatePresignedUrl(anyString())).thenReturn("https://signed");
+
+        // Act
+        presignedUrlCache.get("key");
+        presignedUrlCache.get("key");
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "presigned-urls").tag("result", "hit")
+                .functionCounter().count());
+    }
+}
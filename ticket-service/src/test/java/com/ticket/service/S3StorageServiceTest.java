@@ -3,10 +3,12 @@ package com.ticket.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -14,9 +16,21 @@ import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import com.ticket.dto.AttachmentUploadSlotDTO;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.time.Instant;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -57,7 +71,7 @@ public class S3StorageServiceTest {
         when(mockFile.getSize()).thenReturn(5 * 1024 * 1024L); // 5 MB
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getOriginalFilename()).thenReturn("document.pdf");
-        when(mockFile.getBytes()).thenReturn(new byte[100]);
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
 
         // Act
         String result = s3StorageService.uploadFile(ticketId, mockFile);
@@ -76,7 +90,7 @@ public class S3StorageServiceTest {
         when(mockFile.getSize()).thenReturn(2 * 1024 * 1024L);
         when(mockFile.getContentType()).thenReturn("image/png");
         when(mockFile.getOriginalFilename()).thenReturn("screenshot.png");
-        when(mockFile.getBytes()).thenReturn(new byte[100]);
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
 
         // Act
         String result = s3StorageService.uploadFile(ticketId, mockFile);
@@ -147,7 +161,7 @@ public class S3StorageServiceTest {
         when(mockFile.getSize()).thenReturn(1 * 1024 * 1024L);
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getOriginalFilename()).thenReturn("test.pdf");
-        when(mockFile.getBytes()).thenReturn(new byte[100]);
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
         when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
                 .thenThrow(S3Exception.builder().message("S3 error").build());
 
@@ -239,7 +253,7 @@ public class S3StorageServiceTest {
             when(mockFile.getSize()).thenReturn(1 * 1024 * 1024L);
             when(mockFile.getContentType()).thenReturn(contentType);
             when(mockFile.getOriginalFilename()).thenReturn("test.file");
-            when(mockFile.getBytes()).thenReturn(new byte[100]);
+            when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
 
             // Act
             String result = s3StorageService.uploadFile(ticketId, mockFile);
@@ -260,7 +274,7 @@ public class S3StorageServiceTest {
         when(mockFile.getSize()).thenReturn(1 * 1024 * 1024L);
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getOriginalFilename()).thenReturn("document.pdf");
-        when(mockFile.getBytes()).thenReturn(new byte[100]);
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
 
         // Act
         String result1 = s3StorageService.uploadFile(ticketId, mockFile);
@@ -274,18 +288,260 @@ public class S3StorageServiceTest {
 
     @Test
     void testUploadFile_AtMaxSizeLimit_Success() throws IOException {
-        // Arrange - exactly 10 MB
+        // Arrange - exactly 10 MB, above the multipart threshold
         when(mockFile.isEmpty()).thenReturn(false);
         when(mockFile.getSize()).thenReturn(10 * 1024 * 1024L);
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getOriginalFilename()).thenReturn("large.pdf");
-        when(mockFile.getBytes()).thenReturn(new byte[100]);
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
+        stubMultipartUpload();
 
         // Act
         String result = s3StorageService.uploadFile(ticketId, mockFile);
 
         // Assert
         assertNotNull(result);
-        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, times(1)).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testUploadFile_ConfiguredMaxSize_AllowsLargerFile() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(s3StorageService, "maxFileSize", DataSize.ofMegabytes(50));
+        when(mockFile.isEmpty()).thenReturn(false);
+        when(mockFile.getSize()).thenReturn(40 * 1024 * 1024L);
+        when(mockFile.getContentType()).thenReturn("application/pdf");
+        when(mockFile.getOriginalFilename()).thenReturn("huge.pdf");
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
+        stubMultipartUpload();
+
+        // Act & Assert
+        assertNotNull(s3StorageService.uploadFile(ticketId, mockFile));
+    }
+
+    // ==================== STREAMING UPLOAD TESTS ====================
+
+    private void stubMultipartUpload() {
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        lenient().when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(invocation -> UploadPartResponse.builder()
+                        .eTag("etag-" + ((UploadPartRequest) invocation.getArgument(0)).partNumber()).build());
+    }
+
+    private static byte[] readBody(RequestBody body) throws IOException {
+        try (InputStream inputStream = body.contentStreamProvider().newStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    void testUploadFile_BelowThreshold_StreamsWithoutReadingBytes() throws IOException {
+        // Arrange
+        byte[] content = "hello attachment".getBytes();
+        when(mockFile.isEmpty()).thenReturn(false);
+        when(mockFile.getSize()).thenReturn((long) content.length);
+        when(mockFile.getContentType()).thenReturn("text/plain");
+        when(mockFile.getOriginalFilename()).thenReturn("note.txt");
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(content));
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+
+        // Act
+        s3StorageService.uploadFile(ticketId, mockFile);
+
+        // Assert
+        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        assertEquals(content.length, bodyCaptor.getValue().optionalContentLength().orElseThrow());
+        assertArrayEquals(content, readBody(bodyCaptor.getValue()));
+        verify(mockFile, never()).getBytes();
+    }
+
+    @Test
+    void testUploadFile_AboveThreshold_UploadsInParts() throws IOException {
+        // Arrange - 12 MB file with 5 MB parts -> 5 + 5 + 2
+        ReflectionTestUtils.setField(s3StorageService, "maxFileSize", DataSize.ofMegabytes(20));
+        ReflectionTestUtils.setField(s3StorageService, "partSize", DataSize.ofMegabytes(5));
+        byte[] content = new byte[12 * 1024 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        when(mockFile.isEmpty()).thenReturn(false);
+        when(mockFile.getSize()).thenReturn((long) content.length);
+        when(mockFile.getContentType()).thenReturn("application/pdf");
+        when(mockFile.getOriginalFilename()).thenReturn("big.pdf");
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(content));
+        stubMultipartUpload();
+        List<byte[]> receivedParts = new ArrayList<>();
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            receivedParts.add(readBody(invocation.getArgument(1)));
+            return UploadPartResponse.builder()
+                    .eTag("etag-" + ((UploadPartRequest) invocation.getArgument(0)).partNumber()).build();
+        });
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+
+        // Act
+        s3StorageService.uploadFile(ticketId, mockFile);
+
+        // Assert
+        assertEquals(List.of(5 * 1024 * 1024, 5 * 1024 * 1024, 2 * 1024 * 1024),
+                receivedParts.stream().map(part -> part.length).toList());
+        ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        for (byte[] part : receivedParts) {
+            reassembled.write(part);
+        }
+        assertArrayEquals(content, reassembled.toByteArray());
+        verify(s3Client).completeMultipartUpload(completeCaptor.capture());
+        assertEquals("upload-1", completeCaptor.getValue().uploadId());
+        assertEquals(List.of("etag-1", "etag-2", "etag-3"), completeCaptor.getValue().multipartUpload().parts()
+                .stream().map(CompletedPart::eTag).toList());
+        verify(mockFile, never()).getBytes();
+    }
+
+    @Test
+    void testPartInputStream_ReadsOnlyItsPartAndLeavesStreamOpen() throws IOException {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream upload = new ByteArrayInputStream("aaaabbbcc".getBytes()) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        // Act
+        byte[] first;
+        try (InputStream part = new S3StorageService.PartInputStream(upload, 4)) {
+            first = part.readAllBytes();
+        }
+        byte[] second = new S3StorageService.PartInputStream(upload, 3).readAllBytes();
+
+        // Assert
+        assertArrayEquals("aaaa".getBytes(), first);
+        assertArrayEquals("bbb".getBytes(), second);
+        assertFalse(closed.get());
+        assertEquals('c', upload.read());
+    }
+
+    @Test
+    void testUploadFile_PartFails_AbortsMultipartUpload() throws IOException {
+        // Arrange
+        when(mockFile.isEmpty()).thenReturn(false);
+        when(mockFile.getSize()).thenReturn(9 * 1024 * 1024L);
+        when(mockFile.getContentType()).thenReturn("application/pdf");
+        when(mockFile.getOriginalFilename()).thenReturn("big.pdf");
+        when(mockFile.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[100]));
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("part rejected").build());
+        ArgumentCaptor<AbortMultipartUploadRequest> abortCaptor =
+                ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            s3StorageService.uploadFile(ticketId, mockFile));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Failed to upload file to S3"));
+        verify(s3Client).abortMultipartUpload(abortCaptor.capture());
+        assertEquals("upload-1", abortCaptor.getValue().uploadId());
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    // ==================== DIRECT UPLOAD TESTS ====================
+
+    @Test
+    void testCreateUploadSlot_SignsContentTypeAndLength() throws Exception {
+        // Arrange
+        PresignedPutObjectRequest presignedPut = mock(PresignedPutObjectRequest.class);
+        when(presignedPut.url()).thenReturn(new URL("https://test-bucket.s3.amazonaws.com/put-url"));
+        when(presignedPut.expiration()).thenReturn(Instant.parse("2024-01-01T10:15:00Z"));
+        when(presignedPut.signedHeaders()).thenReturn(Map.of(
+                "host", List.of("test-bucket.s3.amazonaws.com"),
+                "content-type", List.of("application/pdf"),
+                "content-length", List.of("2048")));
+        ArgumentCaptor<PutObjectPresignRequest> captor = ArgumentCaptor.forClass(PutObjectPresignRequest.class);
+        when(s3Presigner.presignPutObject(captor.capture())).thenReturn(presignedPut);
+
+        // Act
+        AttachmentUploadSlotDTO slot = s3StorageService.createUploadSlot(ticketId, "report.pdf", "application/pdf", 2048L);
+
+        // Assert
+        assertTrue(slot.s3Key().startsWith("tickets/TKT-001/"));
+        assertTrue(slot.s3Key().endsWith(".pdf"));
+        assertEquals("https://test-bucket.s3.amazonaws.com/put-url", slot.uploadUrl());
+        assertEquals(Map.of("content-type", "application/pdf", "content-length", "2048"), slot.headers());
+        PutObjectRequest signed = captor.getValue().putObjectRequest();
+        assertEquals(slot.s3Key(), signed.key());
+        assertEquals("application/pdf", signed.contentType());
+        assertEquals(2048L, signed.contentLength());
+    }
+
+    @Test
+    void testCreateUploadSlot_AboveProxyLimit_Allowed() throws Exception {
+        // Arrange - 50 MB is over the 10 MB proxied limit but within the direct-upload limit
+        PresignedPutObjectRequest presignedPut = mock(PresignedPutObjectRequest.class);
+        when(presignedPut.url()).thenReturn(new URL("https://test-bucket.s3.amazonaws.com/put-url"));
+        when(presignedPut.signedHeaders()).thenReturn(Map.of());
+        when(s3Presigner.presignPutObject(any(PutObjectPresignRequest.class))).thenReturn(presignedPut);
+
+        // Act & Assert
+        assertNotNull(s3StorageService.createUploadSlot(ticketId, "big.pdf", "application/pdf", 50 * 1024 * 1024L));
+    }
+
+    @Test
+    void testCreateUploadSlot_DisallowedType_ThrowsException() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            s3StorageService.createUploadSlot(ticketId, "tool.exe", "application/x-msdownload", 2048L));
+        assertTrue(exception.getMessage().contains("File type not allowed"));
+        verifyNoInteractions(s3Presigner);
+    }
+
+    @Test
+    void testHeadObject_Exists_ReturnsSizeAndType() {
+        // Arrange
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(
+                HeadObjectResponse.builder().contentLength(4096L).contentType("application/pdf").build());
+
+        // Act
+        Optional<AttachmentStorage.StoredObject> result = s3StorageService.headObject("tickets/TKT-001/a.pdf");
+
+        // Assert
+        assertEquals(Optional.of(new AttachmentStorage.StoredObject(4096L, "application/pdf")), result);
+    }
+
+    @Test
+    void testHeadObject_Missing_ReturnsEmpty() {
+        // Arrange
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("Not Found").build());
+
+        // Act & Assert
+        assertTrue(s3StorageService.headObject("tickets/TKT-001/a.pdf").isEmpty());
+    }
+
+    @Test
+    void testValidateDirectUpload_OverDirectLimit_ThrowsException() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            s3StorageService.validateDirectUpload(new AttachmentStorage.StoredObject(200 * 1024 * 1024L, "application/pdf")));
+        assertTrue(exception.getMessage().contains("File size exceeds maximum limit of 100 MB"));
+    }
+
+    @Test
+    void testIsTicketObjectKey() {
+        assertTrue(s3StorageService.isTicketObjectKey("TKT-001", "tickets/TKT-001/abc.pdf"));
+        assertFalse(s3StorageService.isTicketObjectKey("TKT-001", "tickets/TKT-002/abc.pdf"));
+        assertFalse(s3StorageService.isTicketObjectKey("TKT-001", "tickets/TKT-001/../TKT-002/abc.pdf"));
+        assertFalse(s3StorageService.isTicketObjectKey("TKT-00", "tickets/TKT-001/abc.pdf"));
+    }
+
+    @Test
+    void testCapabilities_DirectUploadsWithoutServedResources() {
+        assertTrue(s3StorageService.directUploads().isPresent());
+        assertTrue(s3StorageService.servedResources().isEmpty());
     }
 }
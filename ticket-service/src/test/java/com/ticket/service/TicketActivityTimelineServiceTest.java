@@ -0,0 +1,253 @@
+package com.ticket.service;
+
+import com.ticket.dto.CursorPage;
+import com.ticket.dto.TicketActivityDTO;
+import com.ticket.entity.TicketActivity;
+import com.ticket.entity.TicketActivityBucket;
+import com.ticket.repository.TicketActivityBucketRepository;
+import com.ticket.repository.TicketActivityRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketActivityTimelineServiceTest {
+
+    private static final String TICKET_ID = "ticket-1";
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Mock
+    private TicketActivityBucketRepository bucketRepository;
+
+    @Mock
+    private TicketActivityRepository legacyRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TicketActivityTimelineService timelineService;
+
+    // Buckets of 3: seq 0 = a1..a3, seq 1 = a4..a6, seq 2 = a7 (newest)
+    private TicketActivityBucket bucket0;
+    private TicketActivityBucket bucket1;
+    private TicketActivityBucket bucket2;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timelineService, "bucketSize", 3);
+        ReflectionTestUtils.setField(timelineService, "legacyFallback", false);
+        bucket0 = bucket(0, 1, 2, 3);
+        bucket1 = bucket(1, 4, 5, 6);
+        bucket2 = bucket(2, 7);
+    }
+
+    private static TicketActivity activity(String id, int minute) {
+        TicketActivity activity = new TicketActivity(TICKET_ID, "STATUS_CHANGED", id, "user1", "testuser");
+        activity.setActivityId(id);
+        activity.setCreatedAt(START.plusMinutes(minute));
+        return activity;
+    }
+
+    private static TicketActivityBucket bucket(int seq, int... numbers) {
+        List<TicketActivity> activities = new ArrayList<>();
+        for (int n : numbers) {
+            activities.add(activity("a" + n, n));
+        }
+        return new TicketActivityBucket(TICKET_ID, seq, activities);
+    }
+
+    private static List<String> ids(CursorPage<TicketActivityDTO> page) {
+        return page.content().stream().map(TicketActivityDTO::activityId).toList();
+    }
+
+    // ==================== LATEST PAGE TESTS ====================
+
+    @Test
+    void testGetActivitiesByCursor_LatestPage_OneBucketQuery() {
+        // Arrange
+        when(bucketRepository.findByTicketIdOrderBySeqDesc(TICKET_ID, Limit.of(2)))
+                .thenReturn(List.of(bucket2, bucket1));
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, "", 3);
+
+        // Assert
+        assertEquals(List.of("a7", "a6", "a5"), ids(page));
+        assertTrue(page.hasNext());
+        assertEquals(ActivityCursor.inBuckets(1, 1), ActivityCursor.decode(page.nextCursor()));
+        verifyNoMoreInteractions(bucketRepository);
+        verifyNoInteractions(legacyRepository, mongoTemplate);
+    }
+
+    @Test
+    void testGetActivitiesByCursor_LargePage_FetchesEnoughBuckets() {
+        // Arrange: 7 entries need the partly filled newest bucket plus two full ones
+        when(bucketRepository.findByTicketIdOrderBySeqDesc(TICKET_ID, Limit.of(4)))
+                .thenReturn(List.of(bucket2, bucket1, bucket0));
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, "", 7);
+
+        // Assert
+        assertEquals(List.of("a7", "a6", "a5", "a4", "a3", "a2", "a1"), ids(page));
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetActivitiesByCursor_NoActivities_EmptyPage() {
+        // Arrange
+        when(bucketRepository.findByTicketIdOrderBySeqDesc(TICKET_ID, Limit.of(2))).thenReturn(List.of());
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, null, 3);
+
+        // Assert
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    // ==================== NEXT PAGE TESTS ====================
+
+    @Test
+    void testGetActivitiesByCursor_WithCursor_ContinuesInsideBucket() {
+        // Arrange
+        when(bucketRepository.findByTicketIdAndSeqLessThanEqualOrderBySeqDesc(TICKET_ID, 1, Limit.of(2)))
+                .thenReturn(List.of(bucket1, bucket0));
+        String cursor = ActivityCursor.inBuckets(1, 1).encode();
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, cursor, 3);
+
+        // Assert
+        assertEquals(List.of("a4", "a3", "a2"), ids(page));
+        assertEquals(ActivityCursor.inBuckets(0, 1), ActivityCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetActivitiesByCursor_PageEndsOnFetchedBuckets_PointsAtOlderBucket() {
+        // Arrange: bucket-size was raised after these buckets were written, so fewer are fetched
+        ReflectionTestUtils.setField(timelineService, "bucketSize", 6);
+        when(bucketRepository.findByTicketIdOrderBySeqDesc(TICKET_ID, Limit.of(2)))
+                .thenReturn(List.of(bucket2, bucket1));
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, "", 4);
+
+        // Assert
+        assertEquals(List.of("a7", "a6", "a5", "a4"), ids(page));
+        assertTrue(page.hasNext());
+        assertEquals(ActivityCursor.inBuckets(1, 0), ActivityCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetActivitiesByCursor_LastPage_NoNextCursor() {
+        // Arrange
+        when(bucketRepository.findByTicketIdAndSeqLessThanEqualOrderBySeqDesc(TICKET_ID, 0, Limit.of(2)))
+                .thenReturn(List.of(bucket0));
+        String cursor = ActivityCursor.inBuckets(0, 1).encode();
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, cursor, 3);
+
+        // Assert
+        assertEquals(List.of("a1"), ids(page));
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetActivitiesByCursor_WithInvalidCursor_ThrowsInvalidCursorException() {
+        assertThrows(TicketCursor.InvalidCursorException.class,
+                () -> timelineService.getActivitiesByCursor(TICKET_ID, "not-a-cursor!", 3));
+        verifyNoInteractions(bucketRepository);
+    }
+
+    // ==================== LEGACY FALLBACK TESTS ====================
+
+    @Test
+    void testGetActivitiesByCursor_LegacyFallback_FillsPageAfterOldestBucket() {
+        // Arrange
+        ReflectionTestUtils.setField(timelineService, "legacyFallback", true);
+        when(bucketRepository.findByTicketIdAndSeqLessThanEqualOrderBySeqDesc(TICKET_ID, 0, Limit.of(2)))
+                .thenReturn(List.of(bucket0));
+        when(mongoTemplate.find(any(Query.class), eq(TicketActivity.class)))
+                .thenReturn(new ArrayList<>(List.of(activity("legacy-2", -1), activity("legacy-1", -2))));
+        String cursor = ActivityCursor.inBuckets(0, 1).encode();
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, cursor, 2);
+
+        // Assert
+        assertEquals(List.of("a1", "legacy-2"), ids(page));
+        assertTrue(page.hasNext());
+        ActivityCursor next = ActivityCursor.decode(page.nextCursor());
+        assertTrue(next.legacy());
+        assertEquals(new TicketCursor(START.minusMinutes(1), "legacy-2"), next.legacyPosition());
+        verify(mongoTemplate).find(argThat((Query query) -> query.getLimit() == 2), eq(TicketActivity.class));
+    }
+
+    @Test
+    void testGetActivitiesByCursor_LegacyCursor_ReadsOnlyLegacyCollection() {
+        // Arrange
+        ReflectionTestUtils.setField(timelineService, "legacyFallback", true);
+        when(mongoTemplate.find(any(Query.class), eq(TicketActivity.class)))
+                .thenReturn(new ArrayList<>(List.of(activity("legacy-1", -2))));
+        String cursor = ActivityCursor.inLegacy(new TicketCursor(START.minusMinutes(1), "legacy-2")).encode();
+
+        // Act
+        CursorPage<TicketActivityDTO> page = timelineService.getActivitiesByCursor(TICKET_ID, cursor, 2);
+
+        // Assert
+        assertEquals(List.of("legacy-1"), ids(page));
+        assertFalse(page.hasNext());
+        verifyNoInteractions(bucketRepository);
+    }
+
+    @Test
+    void testGetAllActivities_NewestFirstThenLegacy() {
+        // Arrange
+        ReflectionTestUtils.setField(timelineService, "legacyFallback", true);
+        when(bucketRepository.findByTicketIdOrderBySeqDesc(TICKET_ID)).thenReturn(List.of(bucket2, bucket1, bucket0));
+        when(legacyRepository.findByTicketIdOrderByCreatedAtDesc(TICKET_ID))
+                .thenReturn(List.of(activity("legacy-1", -1)));
+
+        // Act
+        List<TicketActivityDTO> activities = timelineService.getAllActivities(TICKET_ID);
+
+        // Assert
+        assertEquals(List.of("a7", "a6", "a5", "a4", "a3", "a2", "a1", "legacy-1"),
+                activities.stream().map(TicketActivityDTO::activityId).toList());
+    }
+
+    // ==================== CURSOR TESTS ====================
+
+    @Test
+    void testActivityCursor_EncodeDecode_RoundTrip() {
+        ActivityCursor bucketCursor = ActivityCursor.inBuckets(12, 7);
+        ActivityCursor legacyStart = ActivityCursor.inLegacy(null);
+        ActivityCursor legacyCursor = ActivityCursor.inLegacy(new TicketCursor(START, "65a1f0c2e4b0a1b2c3d4e5f6"));
+
+        assertEquals(bucketCursor, ActivityCursor.decode(bucketCursor.encode()));
+        assertEquals(legacyStart, ActivityCursor.decode(legacyStart.encode()));
+        assertEquals(legacyCursor, ActivityCursor.decode(legacyCursor.encode()));
+        assertNull(ActivityCursor.decode(""));
+    }
+}
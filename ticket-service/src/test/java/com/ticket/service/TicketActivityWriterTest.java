@@ -0,0 +1,285 @@
+package com.ticket.service;
+
+import com.ticket.entity.TicketActivity;
+import com.ticket.repository.TicketActivityBucketRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketActivityWriterTest {
+
+    @Mock
+    private TicketActivityBucketRepository bucketRepository;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TicketActivityWriter writer;
+
+    // Every group handed to append(), copied because the writer reuses its list
+    private final List<List<TicketActivity>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private TicketActivityWriter createWriter(int capacity, int batchSize, Duration flushInterval) {
+        writer = new TicketActivityWriter(bucketRepository, meterRegistry, capacity, batchSize, 50,
+                flushInterval, Duration.ofMillis(20), Duration.ofSeconds(5), 3, Duration.ofMillis(1));
+        return writer;
+    }
+
+    private void captureBatches() {
+        doAnswer(invocation -> {
+            List<TicketActivity> batch = invocation.getArgument(1);
+            batches.add(new ArrayList<>(batch));
+            return null;
+        }).when(bucketRepository).append(eq("ticket-1"), anyList(), eq(50));
+    }
+
+    private static TicketActivity activity(int n) {
+        return new TicketActivity("ticket-1", "STATUS_CHANGED", "change " + n, "user1", "testuser");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    // ==================== BATCHING TESTS ====================
+
+    @Test
+    void testRecord_FullBatch_WrittenTogether() throws InterruptedException {
+        // Arrange: a long interval, so only the batch size can trigger the flush
+        captureBatches();
+        createWriter(100, 5, Duration.ofSeconds(10)).start();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            writer.record(activity(i));
+        }
+
+        // Assert
+        verify(bucketRepository, timeout(2000)).append(anyString(), anyList(), anyInt());
+        assertEquals(1, batches.size());
+        assertEquals(5, batches.get(0).size());
+        assertEquals("change 0", batches.get(0).get(0).getDescription());
+    }
+
+    @Test
+    void testRecord_PartialBatch_FlushedAfterInterval() {
+        // Arrange
+        captureBatches();
+        createWriter(100, 50, Duration.ofMillis(30)).start();
+
+        // Act
+        writer.record(activity(1));
+        writer.record(activity(2));
+
+        // Assert
+        verify(bucketRepository, timeout(2000)).append(anyString(), anyList(), anyInt());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    void testRecord_DoesNotWriteOnCallerThread() {
+        // Arrange
+        String caller = Thread.currentThread().getName();
+        List<String> writerThreads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            return null;
+        }).when(bucketRepository).append(anyString(), anyList(), anyInt());
+        createWriter(100, 10, Duration.ofMillis(10)).start();
+
+        // Act
+        writer.record(activity(1));
+
+        // Assert
+        verify(bucketRepository, timeout(2000)).append(anyString(), anyList(), anyInt());
+        assertFalse(writerThreads.contains(caller));
+    }
+
+    // ==================== BACKPRESSURE TESTS ====================
+
+    @Test
+    void testRecord_BufferFull_WritesInline() throws InterruptedException {
+        // Arrange: block the flusher inside its first insert so the buffer fills up
+        CountDownLatch flusherBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        String caller = Thread.currentThread().getName();
+        doAnswer(invocation -> {
+            if (!Thread.currentThread().getName().equals(caller)) {
+                flusherBlocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(bucketRepository).append(anyString(), anyList(), anyInt());
+        createWriter(1, 1, Duration.ofMillis(10)).start();
+        writer.record(activity(1));
+        assertTrue(flusherBlocked.await(2, TimeUnit.SECONDS));
+
+        // Act
+        writer.record(activity(2)); // fills the buffer
+        writer.record(activity(3)); // buffer full: written by the caller
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("ticket.activity.inline").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void testRecord_SeveralTickets_OneAppendPerTicketInOrder() throws InterruptedException {
+        // Arrange
+        List<String> appended = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<TicketActivity> batch = invocation.getArgument(1);
+            batch.forEach(activity -> appended.add(invocation.getArgument(0) + ":" + activity.getDescription()));
+            return null;
+        }).when(bucketRepository).append(anyString(), anyList(), eq(50));
+        doThrow(new RuntimeException("Mongo down"))
+                .when(bucketRepository).append(eq("ticket-3"), anyList(), eq(50));
+        createWriter(100, 1000, Duration.ofSeconds(10)).start();
+        writer.record(activity(1));
+        writer.record(new TicketActivity("ticket-2", "ASSIGNED", "assigned", "user1", "testuser"));
+        writer.record(new TicketActivity("ticket-3", "ASSIGNED", "assigned", "user1", "testuser"));
+        writer.record(activity(2));
+
+        // Act
+        writer.stop();
+
+        // Assert
+        assertEquals(List.of("ticket-1:change 1", "ticket-1:change 2", "ticket-2:assigned"), appended);
+        assertEquals(3.0, meterRegistry.get("ticket.activity.written").counter().count());
+        assertEquals(1.0, meterRegistry.get("ticket.activity.failed").counter().count());
+    }
+
+    // ==================== SHUTDOWN TESTS ====================
+
+    @Test
+    void testStop_FlushesQueuedActivities() throws InterruptedException {
+        // Arrange
+        captureBatches();
+        createWriter(100, 1000, Duration.ofSeconds(10)).start();
+        for (int i = 0; i < 3; i++) {
+            writer.record(activity(i));
+        }
+
+        // Act
+        writer.stop();
+
+        // Assert
+        assertEquals(3, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void testRecord_AfterStop_WritesInline() throws InterruptedException {
+        // Arrange
+        createWriter(100, 10, Duration.ofMillis(10)).start();
+        writer.stop();
+
+        // Act
+        writer.record(activity(1));
+
+        // Assert
+        verify(bucketRepository).append(eq("ticket-1"), argThat((List<TicketActivity> batch) -> batch.size() == 1), eq(50));
+    }
+
+    @Test
+    void testRecord_StopDrainsBetweenCheckAndOffer_WrittenInline() throws InterruptedException {
+        // Arrange: the recording thread passes the running check, then stop() runs to completion
+        // before its offer lands, so nothing would be left to take the activity from the queue
+        BlockingQueue<TicketActivity> queue = new LinkedBlockingQueue<>(100) {
+            @Override
+            public boolean offer(TicketActivity activity, long timeout, TimeUnit unit) throws InterruptedException {
+                writer.stop();
+                return super.offer(activity, timeout, unit);
+            }
+        };
+        writer = new TicketActivityWriter(bucketRepository, meterRegistry, queue, 10, 50, Duration.ofMillis(10),
+                Duration.ofMillis(20), Duration.ofSeconds(5), 3, Duration.ofMillis(1));
+        writer.start();
+
+        // Act
+        writer.record(activity(1));
+
+        // Assert
+        assertTrue(queue.isEmpty());
+        verify(bucketRepository).append(eq("ticket-1"), argThat((List<TicketActivity> batch) -> batch.size() == 1), eq(50));
+        assertEquals(1.0, meterRegistry.get("ticket.activity.inline").counter().count());
+    }
+
+    // ==================== RETRY TESTS ====================
+
+    @Test
+    void testWrite_InsertFailsOnce_RetriedWithSameActivities() {
+        // Arrange
+        List<List<TicketActivity>> attempts = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            attempts.add(invocation.getArgument(1));
+            if (attempts.size() == 1) {
+                throw new RuntimeException("Mongo down");
+            }
+            return null;
+        }).when(bucketRepository).append(anyString(), anyList(), anyInt());
+        createWriter(100, 1, Duration.ofMillis(10)).start();
+
+        // Act
+        writer.record(activity(1));
+
+        // Assert
+        verify(bucketRepository, timeout(2000).times(2)).append(anyString(), anyList(), anyInt());
+        assertSame(attempts.get(0).get(0), attempts.get(1).get(0));
+        assertEquals(1.0, meterRegistry.get("ticket.activity.written").counter().count());
+        assertEquals(0.0, meterRegistry.get("ticket.activity.failed").counter().count());
+    }
+
+    @Test
+    void testWrite_InsertKeepsFailing_CountedAndFlusherKeepsRunning() {
+        // Arrange
+        doThrow(new RuntimeException("Mongo down"))
+                .doThrow(new RuntimeException("Mongo down"))
+                .doThrow(new RuntimeException("Mongo down"))
+                .doNothing()
+                .when(bucketRepository).append(anyString(), anyList(), anyInt());
+        createWriter(100, 1, Duration.ofMillis(10)).start();
+
+        // Act
+        writer.record(activity(1));
+        verify(bucketRepository, timeout(2000).times(3)).append(anyString(), anyList(), anyInt());
+        writer.record(activity(2));
+
+        // Assert
+        verify(bucketRepository, timeout(2000).times(4)).append(anyString(), anyList(), anyInt());
+        assertEquals(1.0, meterRegistry.get("ticket.activity.failed").counter().count());
+    }
+
+    @Test
+    void testRecord_AfterStop_InlineWriteNotRetried() throws InterruptedException {
+        // Arrange
+        doThrow(new RuntimeException("Mongo down")).when(bucketRepository).append(anyString(), anyList(), anyInt());
+        createWriter(100, 10, Duration.ofMillis(10)).start();
+        writer.stop();
+
+        // Act
+        writer.record(activity(1));
+
+        // Assert
+        verify(bucketRepository, times(1)).append(anyString(), anyList(), anyInt());
+        assertEquals(1.0, meterRegistry.get("ticket.activity.failed").counter().count());
+    }
+}
@@ -0,0 +1,183 @@
+package com.ticket.service;
+
+import com.ticket.dto.TicketDTO;
+import com.ticket.event.TicketCacheInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketCacheTest {
+
+    @Mock
+    private EventPublisherService eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketCache ticketCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ticketCache = new TicketCache(eventPublisher, meterRegistry, 100, 60);
+    }
+
+    private static TicketDTO ticket(String id, String number, String title) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TicketDTO(id, number, title, null, "OPEN", null, null, null, null, null, null,
+                null, 0, 0, now, now, null, null, null);
+    }
+
+    // ==================== LOOKUP TESTS ====================
+
+    @Test
+    void testPut_ThenLookupByIdAndNumber() {
+        // Arrange
+        TicketDTO dto = ticket("id-1", "TKT-20240101-00001", "Title");
+
+        // Act
+        ticketCache.put(dto, ticketCache.stamp());
+
+        // Assert
+        assertSame(dto, ticketCache.getById("id-1").orElseThrow());
+        assertSame(dto, ticketCache.getByNumber("TKT-20240101-00001").orElseThrow());
+        assertTrue(ticketCache.getById("id-2").isEmpty());
+        assertTrue(ticketCache.getByNumber("TKT-20240101-00002").isEmpty());
+    }
+
+    @Test
+    void testMetrics_RecordHitsAndMisses() {
+        // Arrange
+        ticketCache.put(ticket("id-1", "TKT-20240101-00001", "Title"), ticketCache.stamp());
+
+        // Act
+        ticketCache.getById("id-1");
+        ticketCache.getById("missing");
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tickets").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tickets").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    // ==================== INVALIDATION TESTS ====================
+
+    @Test
+    void testEvict_InTransaction_WaitsForCommit() {
+        // Arrange
+        TicketDTO dto = ticket("id-1", "TKT-20240101-00001", "Title");
+        ticketCache.put(dto, ticketCache.stamp());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            ticketCache.evict("id-1");
+            long readerStamp = ticketCache.stamp();
+
+            // Assert - nothing changes before the commit
+            assertSame(dto, ticketCache.getById("id-1").orElseThrow());
+            verifyNoInteractions(eventPublisher);
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+            // A reader that loaded the pre-commit document cannot cache it any more
+            ticketCache.put(dto, readerStamp);
+            assertTrue(ticketCache.getById("id-1").isEmpty());
+            verify(eventPublisher).publishTicketCacheInvalidated(any(TicketCacheInvalidatedEvent.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvict_InTransaction_RolledBack_KeepsEntry() {
+        // Arrange
+        TicketDTO dto = ticket("id-1", "TKT-20240101-00001", "Title");
+        ticketCache.put(dto, ticketCache.stamp());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            ticketCache.evict("id-1");
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // Assert
+            assertSame(dto, ticketCache.getById("id-1").orElseThrow());
+            verifyNoInteractions(eventPublisher);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvict_RemovesEntryAndBroadcasts() {
+        // Arrange
+        ticketCache.put(ticket("id-1", "TKT-20240101-00001", "Title"), ticketCache.stamp());
+        ArgumentCaptor<TicketCacheInvalidatedEvent> eventCaptor = ArgumentCaptor.forClass(TicketCacheInvalidatedEvent.class);
+
+        // Act
+        ticketCache.evict("id-1");
+
+        // Assert
+        assertTrue(ticketCache.getById("id-1").isEmpty());
+        assertTrue(ticketCache.getByNumber("TKT-20240101-00001").isEmpty());
+        verify(eventPublisher).publishTicketCacheInvalidated(eventCaptor.capture());
+        assertEquals("id-1", eventCaptor.getValue().getTicketId());
+    }
+
+    @Test
+    void testPut_AfterConcurrentEviction_IsDropped() {
+        // Arrange - a read takes its stamp, then a write evicts before the read finishes
+        long stamp = ticketCache.stamp();
+        ticketCache.evict("id-1");
+
+        // Act
+        ticketCache.put(ticket("id-1", "TKT-20240101-00001", "Stale"), stamp);
+
+        // Assert
+        assertTrue(ticketCache.getById("id-1").isEmpty());
+    }
+
+    @Test
+    void testRemoteInvalidation_FromPeer_EvictsWithoutRebroadcast() {
+        // Arrange
+        ticketCache.put(ticket("id-1", "TKT-20240101-00001", "Title"), ticketCache.stamp());
+
+        // Act
+        ticketCache.onRemoteInvalidation(new TicketCacheInvalidatedEvent("id-1", "other-instance"));
+
+        // Assert
+        assertTrue(ticketCache.getById("id-1").isEmpty());
+        verify(eventPublisher, never()).publishTicketCacheInvalidated(any());
+    }
+
+    @Test
+    void testRemoteInvalidation_OwnMessage_IsIgnored() {
+        // Arrange
+        ArgumentCaptor<TicketCacheInvalidatedEvent> eventCaptor = ArgumentCaptor.forClass(TicketCacheInvalidatedEvent.class);
+        ticketCache.evict("id-0");
+        verify(eventPublisher).publishTicketCacheInvalidated(eventCaptor.capture());
+        TicketDTO dto = ticket("id-1", "TKT-20240101-00001", "Title");
+        ticketCache.put(dto, ticketCache.stamp());
+
+        // Act
+        ticketCache.onRemoteInvalidation(new TicketCacheInvalidatedEvent("id-1",
+                eventCaptor.getValue().getOriginInstanceId()));
+
+        // Assert
+        assertSame(dto, ticketCache.getById("id-1").orElseThrow());
+    }
+}
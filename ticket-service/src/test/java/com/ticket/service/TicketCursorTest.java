@@ -0,0 +1,81 @@
+package com.ticket.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketCursorTest {
+
+    // ==================== ENCODE / DECODE TESTS ====================
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        TicketCursor cursor = new TicketCursor(LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123_000_000),
+                "65a1f0c2e4b0a1b2c3d4e5f6");
+
+        // Act
+        TicketCursor decoded = TicketCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void testEncodeDecode_WithNullSortValue_RoundTrip() {
+        // Arrange
+        TicketCursor cursor = new TicketCursor(null, "65a1f0c2e4b0a1b2c3d4e5f6");
+
+        // Act
+        TicketCursor decoded = TicketCursor.decode(cursor.encode());
+
+        // Assert
+        assertNull(decoded.sortValue());
+        assertEquals("65a1f0c2e4b0a1b2c3d4e5f6", decoded.ticketId());
+    }
+
+    @Test
+    void testDecode_WithBlankCursor_ReturnsNull() {
+        assertNull(TicketCursor.decode(""));
+        assertNull(TicketCursor.decode(null));
+    }
+
+    @Test
+    void testDecode_WithGarbage_ThrowsInvalidCursorException() {
+        assertThrows(TicketCursor.InvalidCursorException.class, () -> TicketCursor.decode("not-a-cursor!"));
+        assertThrows(TicketCursor.InvalidCursorException.class, () -> TicketCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    // ==================== CRITERIA TESTS ====================
+
+    @Test
+    void testAfter_WithSortValue_IncludesTieBreakAndUndatedTickets() {
+        // Arrange
+        TicketCursor cursor = new TicketCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "65a1f0c2e4b0a1b2c3d4e5f6");
+
+        // Act
+        Document criteria = cursor.after("createdAt").getCriteriaObject();
+
+        // Assert
+        List<?> branches = (List<?>) criteria.get("$or");
+        assertEquals(3, branches.size());
+    }
+
+    @Test
+    void testAfter_WithNullSortValue_OnlyPagesThroughUndatedTickets() {
+        // Arrange
+        TicketCursor cursor = new TicketCursor(null, "65a1f0c2e4b0a1b2c3d4e5f6");
+
+        // Act
+        Document criteria = cursor.after("assignedAt").getCriteriaObject();
+
+        // Assert
+        List<?> clauses = (List<?>) criteria.get("$and");
+        assertEquals(2, clauses.size());
+        assertTrue(((Document) clauses.get(0)).containsKey("assignedAt"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.ticket.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticket.dto.AdminTicketDTO;
+import com.ticket.dto.TicketFilterRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketExportServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private AdminTicketService adminTicketService;
+
+    private ObjectMapper objectMapper;
+    private TicketExportService ticketExportService;
+    private TicketFilterRequest filterRequest;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ticketExportService = new TicketExportService(adminTicketService, objectMapper, BATCH_SIZE);
+        filterRequest = new TicketFilterRequest(0, 0, "OPEN", null, null, null, null, null);
+    }
+
+    private static AdminTicketDTO ticket(int n, String title) {
+        return new AdminTicketDTO("id-" + n, "TKT-20240101-0000" + n, title, "desc", "OPEN", "TECHNICAL_ISSUE",
+                "HIGH", "user1", "testuser", null, null, null, null, null, List.of("a", "b"), 0, 0,
+                LocalDateTime.of(2024, 1, 1, 10, 0), null, null, null, null, null);
+    }
+
+    // ==================== NDJSON TESTS ====================
+
+    @Test
+    void testExport_Ndjson_OneJsonObjectPerLine() throws Exception {
+        // Arrange
+        List<AdminTicketDTO> tickets = IntStream.rangeClosed(1, 5).mapToObj(n -> ticket(n, "Title " + n)).toList();
+        when(adminTicketService.streamTickets(filterRequest, BATCH_SIZE)).thenReturn(tickets.stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = ticketExportService.export(filterRequest, TicketExportService.Format.NDJSON, out);
+
+        // Assert
+        assertEquals(5, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("id-1", first.get("ticketId").asText());
+        assertEquals("2024-01-01T10:00:00", first.get("createdAt").asText());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    void testExport_NoTickets_WritesNothing() throws Exception {
+        // Arrange
+        when(adminTicketService.streamTickets(filterRequest, BATCH_SIZE)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = ticketExportService.export(filterRequest, TicketExportService.Format.NDJSON, out);
+
+        // Assert
+        assertEquals(0, written);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testExport_ClosesCursorStream() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(adminTicketService.streamTickets(any(), anyInt()))
+                .thenReturn(Stream.of(ticket(1, "Title")).onClose(() -> closed.set(true)));
+
+        // Act
+        ticketExportService.export(filterRequest, TicketExportService.Format.CSV, new ByteArrayOutputStream());
+
+        // Assert
+        assertTrue(closed.get());
+    }
+
+    // ==================== CSV TESTS ====================
+
+    @Test
+    void testExport_Csv_WritesHeaderAndEscapedRows() throws Exception {
+        // Arrange
+        when(adminTicketService.streamTickets(filterRequest, BATCH_SIZE))
+                .thenReturn(Stream.of(ticket(1, "Login fails, \"sometimes\"")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ticketExportService.export(filterRequest, TicketExportService.Format.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("ticketId,ticketNumber,title,"));
+        assertTrue(lines[1].startsWith("id-1,TKT-20240101-00001,\"Login fails, \"\"sometimes\"\"\",desc,OPEN,"));
+        assertTrue(lines[1].contains(",a;b,"));
+    }
+
+    @Test
+    void testEscapeCsv() {
+        assertEquals("", TicketExportService.escapeCsv(null));
+        assertEquals("plain", TicketExportService.escapeCsv("plain"));
+        assertEquals("\"two\nlines\"", TicketExportService.escapeCsv("two\nlines"));
+    }
+
+    // ==================== FORMAT TESTS ====================
+
+    @Test
+    void testFormatFromString_IsCaseInsensitive() {
+        assertEquals(TicketExportService.Format.CSV, TicketExportService.Format.fromString("csv"));
+        assertEquals(TicketExportService.Format.NDJSON, TicketExportService.Format.fromString("NDJSON"));
+    }
+
+    @Test
+    void testFormatFromString_Unknown_ThrowsException() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> TicketExportService.Format.fromString("xml"));
+        assertTrue(exception.getMessage().contains("Unsupported export format"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.ticket.service;
+
+import com.ticket.entity.TicketSequence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketNumberGeneratorTest {
+
+    private static final int BLOCK_SIZE = 50;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private TicketNumberGenerator ticketNumberGenerator;
+
+    // Stands in for the counter document; findAndModify applies $inc atomically like the server does
+    private final AtomicLong counter = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ticketNumberGenerator = new TicketNumberGenerator(mongoTemplate, BLOCK_SIZE);
+    }
+
+    private void stubCounter() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(TicketSequence.class)))
+                .thenAnswer(invocation -> {
+                    TicketSequence sequence = new TicketSequence();
+                    sequence.setValue(counter.addAndGet(BLOCK_SIZE));
+                    return sequence;
+                });
+    }
+
+    // ==================== FORMAT TESTS ====================
+
+    @Test
+    void testNextTicketNumber_UsesTodayAndPaddedSequence() {
+        // Arrange
+        stubCounter();
+        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+        // Act
+        String first = ticketNumberGenerator.nextTicketNumber();
+        String second = ticketNumberGenerator.nextTicketNumber();
+
+        // Assert
+        assertEquals("TKT-" + today + "-00001", first);
+        assertEquals("TKT-" + today + "-00002", second);
+    }
+
+    // ==================== BLOCK RESERVATION TESTS ====================
+
+    @Test
+    void testNextValue_ReservesOneBlockPerBlockSizeNumbers() {
+        // Arrange
+        stubCounter();
+
+        // Act
+        for (int i = 0; i < BLOCK_SIZE * 3; i++) {
+            ticketNumberGenerator.nextValue("20240101");
+        }
+
+        // Assert
+        verify(mongoTemplate, times(3)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(TicketSequence.class));
+        verify(mongoTemplate, never()).count(any(Query.class), any(Class.class));
+    }
+
+    @Test
+    void testNextValue_NewDay_ReservesFreshBlock() {
+        // Arrange
+        stubCounter();
+        ticketNumberGenerator.nextValue("20240101");
+
+        // Act
+        ticketNumberGenerator.nextValue("20240102");
+
+        // Assert
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(TicketSequence.class));
+    }
+
+    @Test
+    void testNextValue_UpsertRace_RetriesOnce() {
+        // Arrange
+        TicketSequence sequence = new TicketSequence();
+        sequence.setValue(BLOCK_SIZE);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(TicketSequence.class)))
+                .thenThrow(new DuplicateKeyException("E11000"))
+                .thenReturn(sequence);
+
+        // Act
+        long value = ticketNumberGenerator.nextValue("20240101");
+
+        // Assert
+        assertEquals(1, value);
+    }
+
+    @Test
+    void testConstructor_WithNonPositiveBlockSize_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketNumberGenerator(mongoTemplate, 0));
+    }
+
+    // ==================== CONCURRENCY TESTS ====================
+
+    @Test
+    void testNextValue_ConcurrentCallers_NoGapsOrDuplicates() throws Exception {
+        // Arrange
+        stubCounter();
+        int threads = 16;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    assertTrue(issued.add(ticketNumberGenerator.nextValue("20240101")), "duplicate number issued");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int total = threads * perThread;
+        assertEquals(total, issued.size());
+        for (long n = 1; n <= total; n++) {
+            assertTrue(issued.contains(n), "gap at " + n);
+        }
+        verify(mongoTemplate, times(total / BLOCK_SIZE)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(TicketSequence.class));
+    }
+}
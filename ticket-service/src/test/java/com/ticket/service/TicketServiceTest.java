@@ -3,6 +3,7 @@ package com.ticket.service;
 import com.ticket.dto.ChangeStatusRequest;
 import com.ticket.dto.CreateTicketRequest;
 import com.ticket.dto.TicketDTO;
+import com.ticket.dto.TicketSummaryDTO;
 import com.ticket.dto.UpdateTicketRequest;
 import com.ticket.entity.Comment;
 import com.ticket.entity.Ticket;
@@ -13,21 +14,31 @@ import com.ticket.enums.TicketStatus;
 import com.ticket.event.CommentAddedEvent;
 import com.ticket.event.TicketCreatedEvent;
 import com.ticket.event.TicketStatusChangedEvent;
+import com.ticket.service.TicketService.InvalidTicketStatusTransitionException;
 import com.ticket.repository.CommentRepository;
-import com.ticket.repository.TicketActivityRepository;
+import com.ticket.repository.TicketChanges;
 import com.ticket.repository.TicketRepository;
 
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,14 +47,15 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class TicketServiceTest {
 
-    @InjectMocks
+    private static final int MAX_LIST_RESULTS = 1000;
+
     private TicketService ticketService;
 
     @Mock
     private TicketRepository ticketRepository;
 
     @Mock
-    private TicketActivityRepository ticketActivityRepository;
+    private TicketActivityWriter ticketActivityWriter;
 
     @Mock
     private EventPublisherService eventPublisher;
@@ -51,12 +63,20 @@ public class TicketServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private TicketNumberGenerator ticketNumberGenerator;
+
+    @Mock
+    private TicketCache ticketCache;
+
     private Ticket testTicket;
     private CreateTicketRequest createRequest;
     private LocalDateTime now;
 
     @BeforeEach
     void setUp() {
+        ticketService = new TicketService(commentRepository, eventPublisher, ticketActivityWriter,
+                ticketRepository, ticketNumberGenerator, ticketCache, MAX_LIST_RESULTS);
         now = LocalDateTime.now();
         
         // Setup test ticket
@@ -84,13 +104,50 @@ public class TicketServiceTest {
         createRequest.setTags(List.of("urgent"));
     }
 
+    /**
+     * Answer applyChanges like Mongo would: the pre-image, and testTicket with the changes applied
+     */
+    private void stubApplyChanges() {
+        when(ticketRepository.applyChanges(eq("TKT-001"), any(TicketChanges.class)))
+                .thenAnswer(invocation -> Optional.of(applyToTestTicket(invocation.getArgument(1))));
+    }
+
+    /**
+     * Answer a status change like Mongo would: only while testTicket's status is one the filter allows
+     */
+    private void stubStatusChange() {
+        when(ticketRepository.applyChanges(eq("TKT-001"), any(Criteria.class), any(TicketChanges.class)))
+                .thenAnswer(invocation -> {
+                    if (!allowedStatuses(invocation.getArgument(1)).contains(testTicket.getStatus())) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(applyToTestTicket(invocation.getArgument(2)));
+                });
+    }
+
+    private TicketChanges.Applied applyToTestTicket(TicketChanges changes) {
+        Ticket before = new Ticket();
+        before.setTicketId(testTicket.getTicketId());
+        before.setTicketNumber(testTicket.getTicketNumber());
+        before.setPriority(testTicket.getPriority());
+        before.setCategory(testTicket.getCategory());
+        before.setStatus(testTicket.getStatus());
+        changes.applyTo(testTicket);
+        return new TicketChanges.Applied(before, testTicket);
+    }
+
+    private static Set<?> allowedStatuses(Criteria precondition) {
+        Document status = (Document) precondition.getCriteriaObject().get("status");
+        return Set.copyOf((java.util.Collection<?>) status.get("$in"));
+    }
+
     // ==================== CREATE TICKET TESTS ====================
 
     @Test
     void testCreateTicket_WithValidRequest_Success() {
         // Arrange
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
-        when(ticketRepository.count()).thenReturn(0L);
+        when(ticketNumberGenerator.nextTicketNumber()).thenReturn("TKT-20240101-00001");
 
         // Act
         TicketDTO result = ticketService.createTicket(createRequest, "user1", "testuser");
@@ -102,7 +159,7 @@ public class TicketServiceTest {
         assertEquals("OPEN", result.status());
         assertEquals("TECHNICAL_ISSUE", result.category());
         verify(ticketRepository, atLeastOnce()).save(any(Ticket.class)); // Once for save, once for increment counts
-        verify(ticketActivityRepository, times(1)).save(any(TicketActivity.class));
+        verify(ticketActivityWriter, times(1)).record(any(TicketActivity.class));
         verify(eventPublisher, times(1)).publishTicketCreated(any(TicketCreatedEvent.class));
     }
 
@@ -111,7 +168,7 @@ public class TicketServiceTest {
         // Arrange
         createRequest.setTags(null);
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
-        when(ticketRepository.count()).thenReturn(0L);
+        when(ticketNumberGenerator.nextTicketNumber()).thenReturn("TKT-20240101-00001");
 
         // Act
         TicketDTO result = ticketService.createTicket(createRequest, "user1", "testuser");
@@ -125,7 +182,7 @@ public class TicketServiceTest {
     void testCreateTicket_PublishesEvent() {
         // Arrange
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
-        when(ticketRepository.count()).thenReturn(0L);
+        when(ticketNumberGenerator.nextTicketNumber()).thenReturn("TKT-20240101-00001");
         ArgumentCaptor<TicketCreatedEvent> eventCaptor = ArgumentCaptor.forClass(TicketCreatedEvent.class);
 
         // Act
@@ -138,6 +195,22 @@ public class TicketServiceTest {
         assertEquals("TKT-001", event.getTicketId());
     }
 
+    @Test
+    void testCreateTicket_UsesSequenceAllocator_NotCollectionCount() {
+        // Arrange
+        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(ticketNumberGenerator.nextTicketNumber()).thenReturn("TKT-20240101-00042");
+        ArgumentCaptor<Ticket> ticketCaptor = ArgumentCaptor.forClass(Ticket.class);
+
+        // Act
+        ticketService.createTicket(createRequest, "user1", "testuser");
+
+        // Assert
+        verify(ticketRepository).save(ticketCaptor.capture());
+        assertEquals("TKT-20240101-00042", ticketCaptor.getValue().getTicketNumber());
+        verify(ticketRepository, never()).count();
+    }
+
     // ==================== GET TICKET TESTS ====================
 
     @Test
@@ -188,44 +261,109 @@ public class TicketServiceTest {
         assertThrows(RuntimeException.class, () -> ticketService.getTicketByNumber("INVALID"));
     }
 
+    // ==================== CACHE TESTS ====================
+
+    @Test
+    void testGetTicketById_CacheHit_SkipsRepository() {
+        // Arrange
+        TicketDTO cached = new TicketDTO("TKT-001", "TKT-20240101-00001", "Cached", null, "OPEN", null, null,
+                null, null, null, null, null, 0, 0, now, now, null, null, null);
+        when(ticketCache.getById("TKT-001")).thenReturn(Optional.of(cached));
+
+        // Act
+        TicketDTO result = ticketService.getTicketById("TKT-001");
+
+        // Assert
+        assertSame(cached, result);
+        verify(ticketRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testGetTicketById_CacheMiss_LoadsAndCachesWithStamp() {
+        // Arrange
+        when(ticketCache.stamp()).thenReturn(42L);
+        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
+
+        // Act
+        TicketDTO result = ticketService.getTicketById("TKT-001");
+
+        // Assert
+        verify(ticketCache).put(result, 42L);
+    }
+
+    @Test
+    void testGetTicketByNumber_CacheHit_SkipsRepository() {
+        // Arrange
+        TicketDTO cached = new TicketDTO("TKT-001", "TKT-20240101-00001", "Cached", null, "OPEN", null, null,
+                null, null, null, null, null, 0, 0, now, now, null, null, null);
+        when(ticketCache.getByNumber("TKT-20240101-00001")).thenReturn(Optional.of(cached));
+
+        // Act
+        TicketDTO result = ticketService.getTicketByNumber("TKT-20240101-00001");
+
+        // Assert
+        assertSame(cached, result);
+        verify(ticketRepository, never()).findByTicketNumber(anyString());
+    }
+
+    @Test
+    void testWritePaths_EvictCachedTicket() {
+        // Arrange
+        stubApplyChanges();
+        when(ticketRepository.incrementCommentCount("TKT-001", 1)).thenReturn(true);
+        when(ticketRepository.incrementAttachmentCount("TKT-001", 1)).thenReturn(true);
+        when(ticketRepository.setAttachmentCount("TKT-001", 3)).thenReturn(true);
+
+        // Act
+        ticketService.updateTicket("TKT-001", new UpdateTicketRequest("New title", null, null, null, null), "user1", "testuser");
+        ticketService.updateTicketPriority("TKT-001", "LOW", "reason", "mgr1", "manager");
+        ticketService.incrementCommentCount("TKT-001");
+        ticketService.incrementAttachmentCount("TKT-001");
+        ticketService.updateAttachmentCount("TKT-001", 3);
+        ticketService.deleteTicket("TKT-001");
+
+        // Assert
+        verify(ticketCache, times(6)).evict("TKT-001");
+    }
+
     // ==================== UPDATE TICKET TESTS ====================
 
     @Test
     void testUpdateTicket_WithValidRequest_Success() {
         // Arrange
         UpdateTicketRequest updateRequest = new UpdateTicketRequest("Updated Title", "Updated Desc", "FEATURE", "MEDIUM", List.of("new-tag"));
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubApplyChanges();
 
         // Act
         TicketDTO result = ticketService.updateTicket("TKT-001", updateRequest, "user2", "updater");
 
         // Assert
         assertNotNull(result);
-        verify(ticketRepository, times(1)).findById("TKT-001");
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
-        verify(ticketActivityRepository, times(1)).save(any(TicketActivity.class));
+        assertEquals("Updated Title", result.title());
+        verify(ticketRepository, never()).findById(anyString());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(ticketActivityWriter, times(1)).record(any(TicketActivity.class));
     }
 
     @Test
     void testUpdateTicket_WithPartialUpdate_KeepsExistingValues() {
         // Arrange
         UpdateTicketRequest updateRequest = new UpdateTicketRequest("Updated Title", null, null, null, null);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubApplyChanges();
 
         // Act
         ticketService.updateTicket("TKT-001", updateRequest, "user2", "updater");
 
-        // Assert
-        verify(ticketRepository, times(1)).save(argThat(t -> t.getTitle().equals("Updated Title")));
+        // Assert: only the title and the update time are written
+        verify(ticketRepository, times(1)).applyChanges(eq("TKT-001"),
+                argThat((TicketChanges changes) -> changes.fields().equals(Set.of("title", "updatedAt"))));
     }
 
     @Test
     void testUpdateTicket_WithInvalidId_ThrowsException() {
         // Arrange
         UpdateTicketRequest updateRequest = new UpdateTicketRequest("Updated Title", "Updated Desc", "FEATURE", "MEDIUM", null);
-        when(ticketRepository.findById("INVALID")).thenReturn(Optional.empty());
+        when(ticketRepository.applyChanges(eq("INVALID"), any(TicketChanges.class))).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> ticketService.updateTicket("INVALID", updateRequest, "user2", "updater"));
@@ -238,18 +376,38 @@ public class TicketServiceTest {
         // Arrange
         ChangeStatusRequest request = new ChangeStatusRequest("ASSIGNED", null);
         testTicket.setStatus(TicketStatus.OPEN);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubStatusChange();
 
         // Act
         TicketDTO result = ticketService.changeStatus("TKT-001", request, "user1", "testuser");
 
         // Assert
         assertNotNull(result);
-        verify(ticketRepository, times(1)).findById("TKT-001");
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
-        verify(ticketActivityRepository, times(1)).save(any(TicketActivity.class));
-        verify(eventPublisher, times(1)).publishTicketStatusChanged(any(TicketStatusChangedEvent.class));
+        assertEquals(TicketStatus.ASSIGNED, testTicket.getStatus());
+        assertNotNull(testTicket.getAssignedAt());
+        verify(ticketRepository, never()).findById("TKT-001");
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(ticketActivityWriter, times(1)).record(any(TicketActivity.class));
+        ArgumentCaptor<TicketStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher, times(1)).publishTicketStatusChanged(eventCaptor.capture());
+        assertEquals("OPEN", eventCaptor.getValue().getOldStatus());
+    }
+
+    @Test
+    void testChangeStatus_FiltersOnAllowedSourceStatuses() {
+        // Arrange
+        ChangeStatusRequest request = new ChangeStatusRequest("RESOLVED", null);
+        testTicket.setStatus(TicketStatus.IN_PROGRESS);
+        stubStatusChange();
+
+        // Act
+        ticketService.changeStatus("TKT-001", request, "user1", "testuser");
+
+        // Assert
+        ArgumentCaptor<Criteria> precondition =
+                ArgumentCaptor.forClass(Criteria.class);
+        verify(ticketRepository).applyChanges(eq("TKT-001"), precondition.capture(), any(TicketChanges.class));
+        assertEquals(TicketStatusTransitions.sourcesOf(TicketStatus.RESOLVED), allowedStatuses(precondition.getValue()));
     }
 
     @Test
@@ -262,15 +420,16 @@ public class TicketServiceTest {
         savedComment.setTicketId("TKT-001");
         savedComment.setCommentText("Assigned to team");
         
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
+        stubStatusChange();
         when(commentRepository.save(any(Comment.class))).thenReturn(savedComment);
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
 
         // Act
         TicketDTO result = ticketService.changeStatus("TKT-001", request, "user1", "testuser");
 
         // Assert
         assertNotNull(result);
+        assertEquals(1, result.commentCount());
+        verify(ticketRepository, times(1)).incrementCommentCount("TKT-001", 1);
         ArgumentCaptor<Comment> commentCaptor = ArgumentCaptor.forClass(Comment.class);
         verify(commentRepository).save(commentCaptor.capture());
         Comment savedCommentArg = commentCaptor.getValue();
@@ -283,8 +442,7 @@ public class TicketServiceTest {
         // Arrange
         ChangeStatusRequest request = new ChangeStatusRequest("ASSIGNED", "   ");
         testTicket.setStatus(TicketStatus.OPEN);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubStatusChange();
 
         // Act
         ticketService.changeStatus("TKT-001", request, "user1", "testuser");
@@ -298,17 +456,16 @@ public class TicketServiceTest {
         // Arrange
         ChangeStatusRequest request = new ChangeStatusRequest("RESOLVED", null);
         testTicket.setStatus(TicketStatus.IN_PROGRESS);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubStatusChange();
 
         // Act
         ticketService.changeStatus("TKT-001", request, "user1", "testuser");
 
         // Assert
-        ArgumentCaptor<Ticket> ticketCaptor = ArgumentCaptor.forClass(Ticket.class);
-        verify(ticketRepository, times(1)).save(ticketCaptor.capture());
-        Ticket savedTicket = ticketCaptor.getValue();
-        assertNotNull(savedTicket.getResolvedAt());
+        ArgumentCaptor<TicketChanges> changesCaptor = ArgumentCaptor.forClass(TicketChanges.class);
+        verify(ticketRepository).applyChanges(eq("TKT-001"), any(), changesCaptor.capture());
+        assertTrue(changesCaptor.getValue().fields().contains("resolvedAt"));
+        assertNotNull(testTicket.getResolvedAt());
     }
 
     @Test
@@ -316,17 +473,16 @@ public class TicketServiceTest {
         // Arrange
         ChangeStatusRequest request = new ChangeStatusRequest("CLOSED", null);
         testTicket.setStatus(TicketStatus.RESOLVED);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubStatusChange();
 
         // Act
         ticketService.changeStatus("TKT-001", request, "user1", "testuser");
 
         // Assert
-        ArgumentCaptor<Ticket> ticketCaptor = ArgumentCaptor.forClass(Ticket.class);
-        verify(ticketRepository, times(1)).save(ticketCaptor.capture());
-        Ticket savedTicket = ticketCaptor.getValue();
-        assertNotNull(savedTicket.getClosedAt());
+        ArgumentCaptor<TicketChanges> changesCaptor = ArgumentCaptor.forClass(TicketChanges.class);
+        verify(ticketRepository).applyChanges(eq("TKT-001"), any(), changesCaptor.capture());
+        assertTrue(changesCaptor.getValue().fields().contains("closedAt"));
+        assertNotNull(testTicket.getClosedAt());
     }
 
     @Test
@@ -334,10 +490,29 @@ public class TicketServiceTest {
         // Arrange
         ChangeStatusRequest request = new ChangeStatusRequest("OPEN", null);
         testTicket.setStatus(TicketStatus.CLOSED);
+        stubStatusChange();
         when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> ticketService.changeStatus("TKT-001", request, "user1", "testuser"));
+        InvalidTicketStatusTransitionException exception = assertThrows(InvalidTicketStatusTransitionException.class,
+                () -> ticketService.changeStatus("TKT-001", request, "user1", "testuser"));
+        assertEquals("Cannot transition from CLOSED to OPEN", exception.getMessage());
+        assertEquals(TicketStatus.CLOSED, testTicket.getStatus());
+        verify(ticketActivityWriter, never()).record(any(TicketActivity.class));
+        verify(eventPublisher, never()).publishTicketStatusChanged(any(TicketStatusChangedEvent.class));
+    }
+
+    @Test
+    void testChangeStatus_TicketNotFound_ThrowsException() {
+        // Arrange
+        ChangeStatusRequest request = new ChangeStatusRequest("ASSIGNED", null);
+        when(ticketRepository.applyChanges(eq("TKT-404"), any(), any(TicketChanges.class))).thenReturn(Optional.empty());
+        when(ticketRepository.findById("TKT-404")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> ticketService.changeStatus("TKT-404", request, "user1", "testuser"));
+        assertEquals("Ticket not found", exception.getMessage());
     }
 
     // ==================== GET TICKETS BY FILTER TESTS ====================
@@ -346,7 +521,8 @@ public class TicketServiceTest {
     void testGetMyTickets_ReturnsUserTickets() {
         // Arrange
         List<Ticket> tickets = List.of(testTicket);
-        when(ticketRepository.findByCreatedByUserId("user1")).thenReturn(tickets);
+        when(ticketRepository.findByCreatedByUserIdOrderByCreatedAtDesc("user1", Limit.of(MAX_LIST_RESULTS + 1)))
+                .thenReturn(tickets);
 
         // Act
         List<TicketDTO> result = ticketService.getMyTickets("user1");
@@ -354,7 +530,7 @@ public class TicketServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findByCreatedByUserId("user1");
+        verify(ticketRepository, times(1)).findByCreatedByUserIdOrderByCreatedAtDesc("user1", Limit.of(MAX_LIST_RESULTS + 1));
     }
 
     @Test
@@ -362,7 +538,8 @@ public class TicketServiceTest {
         // Arrange
         testTicket.setAssignedToUserId("user2");
         List<Ticket> tickets = List.of(testTicket);
-        when(ticketRepository.findByAssignedToUserId("user2")).thenReturn(tickets);
+        when(ticketRepository.findByAssignedToUserIdOrderByAssignedAtDesc("user2", Limit.of(MAX_LIST_RESULTS + 1)))
+                .thenReturn(tickets);
 
         // Act
         List<TicketDTO> result = ticketService.getAssignedTickets("user2");
@@ -370,14 +547,15 @@ public class TicketServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findByAssignedToUserId("user2");
+        verify(ticketRepository, times(1)).findByAssignedToUserIdOrderByAssignedAtDesc("user2", Limit.of(MAX_LIST_RESULTS + 1));
     }
 
     @Test
     void testGetTicketsByStatus_ReturnsTicketsWithStatus() {
         // Arrange
         List<Ticket> tickets = List.of(testTicket);
-        when(ticketRepository.findByStatus(TicketStatus.OPEN)).thenReturn(tickets);
+        when(ticketRepository.findByStatusOrderByCreatedAtDesc(TicketStatus.OPEN, Limit.of(MAX_LIST_RESULTS + 1)))
+                .thenReturn(tickets);
 
         // Act
         List<TicketDTO> result = ticketService.getTicketsByStatus("OPEN");
@@ -385,14 +563,14 @@ public class TicketServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findByStatus(TicketStatus.OPEN);
+        verify(ticketRepository, times(1)).findByStatusOrderByCreatedAtDesc(TicketStatus.OPEN, Limit.of(MAX_LIST_RESULTS + 1));
     }
 
     @Test
     void testGetAllTickets_ReturnsAllTickets() {
         // Arrange
         List<Ticket> tickets = List.of(testTicket);
-        when(ticketRepository.findAll()).thenReturn(tickets);
+        when(ticketRepository.findAllByOrderByCreatedAtDesc(Limit.of(MAX_LIST_RESULTS + 1))).thenReturn(tickets);
 
         // Act
         List<TicketDTO> result = ticketService.getAllTickets();
@@ -400,7 +578,77 @@ public class TicketServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findAll();
+        verify(ticketRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllTickets_MoreThanCap_TruncatesToCap() {
+        // Arrange
+        ticketService = new TicketService(commentRepository, eventPublisher, ticketActivityWriter,
+                ticketRepository, ticketNumberGenerator, ticketCache, 2);
+        when(ticketRepository.findAllByOrderByCreatedAtDesc(Limit.of(3)))
+                .thenReturn(List.of(testTicket, testTicket, testTicket));
+
+        // Act
+        List<TicketDTO> result = ticketService.getAllTickets();
+
+        // Assert
+        assertEquals(2, result.size());
+    }
+
+    // ==================== SUMMARY PAGE TESTS ====================
+
+    @Test
+    void testGetMyTicketSummaries_UsesProjectedSliceNewestFirst() {
+        // Arrange
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        when(ticketRepository.findSummariesByCreatedByUserId(eq("user1"), pageableCaptor.capture()))
+                .thenReturn(new SliceImpl<>(List.of(testTicket), PageRequest.of(0, 20), true));
+
+        // Act
+        Slice<TicketSummaryDTO> result = ticketService.getMyTicketSummaries("user1", 0, 20);
+
+        // Assert
+        assertEquals(1, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        TicketSummaryDTO summary = result.getContent().get(0);
+        assertEquals("TKT-20240101-00001", summary.ticketNumber());
+        assertEquals("OPEN", summary.status());
+        assertEquals("HIGH", summary.priority());
+        Pageable pageable = pageableCaptor.getValue();
+        assertEquals(Sort.Direction.DESC, pageable.getSort().getOrderFor("createdAt").getDirection());
+        assertNotNull(pageable.getSort().getOrderFor("_id"));
+        verify(ticketRepository, never()).findByCreatedByUserIdOrderByCreatedAtDesc(anyString(), any(Limit.class));
+    }
+
+    @Test
+    void testGetAssignedTicketSummaries_SortsByAssignedAtAndClampsSize() {
+        // Arrange
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        when(ticketRepository.findSummariesByAssignedToUserId(eq("agent1"), pageableCaptor.capture()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // Act
+        ticketService.getAssignedTicketSummaries("agent1", 3, 10_000);
+
+        // Assert
+        Pageable pageable = pageableCaptor.getValue();
+        assertEquals(3, pageable.getPageNumber());
+        assertEquals(100, pageable.getPageSize());
+        assertNotNull(pageable.getSort().getOrderFor("assignedAt"));
+    }
+
+    @Test
+    void testGetTicketSummariesByStatus_ParsesStatus() {
+        // Arrange
+        when(ticketRepository.findSummariesByStatus(eq(TicketStatus.IN_PROGRESS), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(testTicket)));
+
+        // Act
+        Slice<TicketSummaryDTO> result = ticketService.getTicketSummariesByStatus("in_progress", 0, 20);
+
+        // Assert
+        assertEquals(1, result.getNumberOfElements());
     }
 
     // ==================== DELETE & COUNT TESTS ====================
@@ -417,44 +665,51 @@ public class TicketServiceTest {
     @Test
     void testIncrementCommentCount_Success() {
         // Arrange
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(ticketRepository.incrementCommentCount("TKT-001", 1)).thenReturn(true);
 
         // Act
         ticketService.incrementCommentCount("TKT-001");
 
         // Assert
-        verify(ticketRepository, times(1)).findById("TKT-001");
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(ticketRepository, times(1)).incrementCommentCount("TKT-001", 1);
+        verify(ticketRepository, never()).findById(anyString());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void testIncrementCommentCount_WithInvalidId_ThrowsException() {
+        // Arrange
+        when(ticketRepository.incrementCommentCount("INVALID", 1)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> ticketService.incrementCommentCount("INVALID"));
     }
 
     @Test
     void testIncrementAttachmentCount_Success() {
         // Arrange
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(ticketRepository.incrementAttachmentCount("TKT-001", 1)).thenReturn(true);
 
         // Act
         ticketService.incrementAttachmentCount("TKT-001");
 
         // Assert
-        verify(ticketRepository, times(1)).findById("TKT-001");
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(ticketRepository, times(1)).incrementAttachmentCount("TKT-001", 1);
+        verify(ticketRepository, never()).findById(anyString());
+        verify(ticketRepository, never()).save(any(Ticket.class));
     }
 
     @Test
     void testUpdateAttachmentCount_Success() {
         // Arrange
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(ticketRepository.setAttachmentCount("TKT-001", 5)).thenReturn(true);
 
         // Act
         ticketService.updateAttachmentCount("TKT-001", 5);
 
         // Assert
-        ArgumentCaptor<Ticket> ticketCaptor = ArgumentCaptor.forClass(Ticket.class);
-        verify(ticketRepository).save(ticketCaptor.capture());
-        assertEquals(5, ticketCaptor.getValue().getAttachmentCount());
+        verify(ticketRepository).setAttachmentCount("TKT-001", 5);
+        verify(ticketRepository, never()).save(any(Ticket.class));
     }
 
     // ==================== UPDATE PRIORITY TESTS ====================
@@ -463,15 +718,15 @@ public class TicketServiceTest {
     void testUpdateTicketPriority_WhenPriorityIsNull_SetsPriorityAndPublishesEvent() {
         // Arrange
         testTicket.setPriority(null);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubApplyChanges();
 
         // Act
         ticketService.updateTicketPriority("TKT-001", "HIGH", "Urgent fix needed", "manager1", "manager");
 
         // Assert
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
-        verify(ticketActivityRepository, times(1)).save(any(TicketActivity.class));
+        verify(ticketRepository, times(1)).applyChanges(eq("TKT-001"), any(TicketChanges.class));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(ticketActivityWriter, times(1)).record(any(TicketActivity.class));
         verify(eventPublisher, times(1)).publishTicketCreated(any(TicketCreatedEvent.class));
     }
 
@@ -479,15 +734,15 @@ public class TicketServiceTest {
     void testUpdateTicketPriority_WhenPriorityExists_UpdatesWithoutEvent() {
         // Arrange
         testTicket.setPriority(TicketPriority.LOW);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubApplyChanges();
 
         // Act
         ticketService.updateTicketPriority("TKT-001", "HIGH", "Escalated", "manager1", "manager");
 
         // Assert
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
-        verify(ticketActivityRepository, times(1)).save(any(TicketActivity.class));
+        verify(ticketRepository, times(1)).applyChanges(eq("TKT-001"), any(TicketChanges.class));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(ticketActivityWriter, times(1)).record(any(TicketActivity.class));
         verify(eventPublisher, never()).publishTicketCreated(any(TicketCreatedEvent.class));
     }
 
@@ -495,15 +750,14 @@ public class TicketServiceTest {
     void testUpdateTicketPriority_WithNullReason_UsesDefault() {
         // Arrange
         testTicket.setPriority(null);
-        when(ticketRepository.findById("TKT-001")).thenReturn(Optional.of(testTicket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        stubApplyChanges();
 
         // Act
         ticketService.updateTicketPriority("TKT-001", "HIGH", null, "manager1", "manager");
 
         // Assert
         ArgumentCaptor<TicketActivity> activityCaptor = ArgumentCaptor.forClass(TicketActivity.class);
-        verify(ticketActivityRepository).save(activityCaptor.capture());
+        verify(ticketActivityWriter).record(activityCaptor.capture());
         TicketActivity activity = activityCaptor.getValue();
         assertTrue(activity.getDescription().contains("Not specified"));
     }
@@ -511,7 +765,7 @@ public class TicketServiceTest {
     @Test
     void testUpdateTicketPriority_WithInvalidId_ThrowsException() {
         // Arrange
-        when(ticketRepository.findById("INVALID")).thenReturn(Optional.empty());
+        when(ticketRepository.applyChanges(eq("INVALID"), any(TicketChanges.class))).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> 
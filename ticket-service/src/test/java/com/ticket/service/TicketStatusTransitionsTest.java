@@ -0,0 +1,45 @@
+package com.ticket.service;
+
+import com.ticket.enums.TicketStatus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStatusTransitionsTest {
+
+    // ==================== TRANSITION TABLE TESTS ====================
+
+    @Test
+    void testSourcesOf_MatchesCanTransitionTo() {
+        for (TicketStatus target : TicketStatus.values()) {
+            for (TicketStatus source : TicketStatus.values()) {
+                assertEquals(source.canTransitionTo(target),
+                        TicketStatusTransitions.sourcesOf(target).contains(source),
+                        source + " -> " + target);
+            }
+        }
+    }
+
+    @Test
+    void testSourcesOf_Examples() {
+        assertEquals(Set.of(TicketStatus.IN_PROGRESS), TicketStatusTransitions.sourcesOf(TicketStatus.RESOLVED));
+        assertEquals(Set.of(TicketStatus.OPEN, TicketStatus.ESCALATED),
+                TicketStatusTransitions.sourcesOf(TicketStatus.ASSIGNED));
+        assertEquals(Set.of(TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, TicketStatus.CLOSED),
+                TicketStatusTransitions.sourcesOf(TicketStatus.REOPENED));
+    }
+
+    @Test
+    void testSourcesOf_NoWayBackToOpen() {
+        assertTrue(TicketStatusTransitions.sourcesOf(TicketStatus.OPEN).isEmpty());
+    }
+
+    @Test
+    void testSourcesOf_IsUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> TicketStatusTransitions.sourcesOf(TicketStatus.OPEN).add(TicketStatus.CLOSED));
+    }
+}
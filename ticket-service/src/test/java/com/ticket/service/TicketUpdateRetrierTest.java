@@ -0,0 +1,137 @@
+package com.ticket.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketUpdateRetrierTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TicketUpdateRetrier retrier(int maxAttempts) {
+        return new TicketUpdateRetrier(meterRegistry, (PlatformTransactionManager) null, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(4));
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("operation", "escalate").counter().count();
+    }
+
+    // ==================== RETRY TESTS ====================
+
+    @Test
+    void testExecute_NoConflict_RunsOnce() {
+        // Act
+        String result = retrier(3).execute("escalate", () -> "saved");
+
+        // Assert
+        assertEquals("saved", result);
+        assertEquals(1.0, count("ticket.update.attempts"));
+        assertEquals(0.0, count("ticket.update.conflicts"));
+    }
+
+    @Test
+    void testExecute_Conflict_ReappliesMutation() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        Integer result = retrier(3).execute("escalate", () -> {
+            if (runs.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return runs.get();
+        });
+
+        // Assert
+        assertEquals(3, result);
+        assertEquals(3.0, count("ticket.update.attempts"));
+        assertEquals(2.0, count("ticket.update.conflicts"));
+    }
+
+    @Test
+    void testExecute_ConflictsEveryAttempt_RethrowsAndCountsExhausted() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> retrier(4).execute("escalate", () -> {
+            runs.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale version");
+        }));
+        assertEquals(4, runs.get());
+        assertEquals(4.0, count("ticket.update.conflicts"));
+        assertEquals(1.0, count("ticket.update.exhausted"));
+    }
+
+    @Test
+    void testExecute_OtherFailure_NotRetried() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> retrier(3).execute("escalate", () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("Ticket is already escalated");
+        }));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testExecute_WithTransactionManager_EachAttemptInItsOwnTransaction() {
+        // Arrange
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        TicketUpdateRetrier retrier = new TicketUpdateRetrier(meterRegistry, transactionManager, 3,
+                Duration.ofMillis(1), Duration.ofMillis(4));
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        retrier.execute("escalate", () -> {
+            if (runs.incrementAndGet() < 2) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return "saved";
+        });
+
+        // Assert
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    // ==================== BACKOFF TESTS ====================
+
+    @Test
+    void testJitteredBackoff_WithinExponentialCap() {
+        TicketUpdateRetrier retrier = new TicketUpdateRetrier(meterRegistry, (PlatformTransactionManager) null, 5, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(retrier.jitteredBackoff(1).compareTo(Duration.ofMillis(10)) <= 0);
+            assertTrue(retrier.jitteredBackoff(2).compareTo(Duration.ofMillis(20)) <= 0);
+            assertTrue(retrier.jitteredBackoff(10).compareTo(Duration.ofMillis(50)) <= 0);
+            assertFalse(retrier.jitteredBackoff(10).isNegative());
+        }
+    }
+
+    @Test
+    void testJitteredBackoff_Spreads() {
+        TicketUpdateRetrier retrier = new TicketUpdateRetrier(meterRegistry, (PlatformTransactionManager) null, 5, Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        long distinct = IntStream.range(0, 50)
+                .mapToObj(i -> retrier.jitteredBackoff(3))
+                .distinct()
+                .count();
+
+        assertTrue(distinct > 1);
+    }
+}